@@ -0,0 +1,18 @@
+plugins {
+    id("cloud-discord.base-conventions")
+    alias(libs.plugins.jmh)
+}
+
+dependencies {
+    jmhImplementation(projects.cloudDiscordCommon)
+}
+
+jmh {
+    jmhVersion = libs.versions.jmh
+
+    // ./gradlew :cloud-discord-benchmarks:jmh -Pjmh.includes=CommandScope -Pjmh.profilers=gc
+    providers.gradleProperty("jmh.includes").orNull?.let { includes.addAll(it.split(',')) }
+    providers.gradleProperty("jmh.profilers").orNull?.let { profilers.addAll(it.split(',')) }
+
+    resultFormat = "JSON"
+}
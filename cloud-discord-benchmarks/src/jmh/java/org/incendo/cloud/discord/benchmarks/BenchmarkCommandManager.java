@@ -0,0 +1,83 @@
+//
+// MIT License
+//
+// Copyright (c) 2024 Incendo
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+// SOFTWARE.
+//
+package org.incendo.cloud.discord.benchmarks;
+
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.incendo.cloud.CommandManager;
+import org.incendo.cloud.discord.slash.CommandScope;
+import org.incendo.cloud.discord.slash.ListenableRegistrationHandler;
+import org.incendo.cloud.execution.ExecutionCoordinator;
+
+import static org.incendo.cloud.parser.standard.IntegerParser.integerParser;
+import static org.incendo.cloud.parser.standard.StringParser.stringParser;
+
+/**
+ * Command manager used by the benchmarks.
+ */
+public final class BenchmarkCommandManager extends CommandManager<Object> {
+
+    /**
+     * Number of guilds that the guild-scoped commands are spread over.
+     */
+    public static final int GUILDS = 100;
+
+    /**
+     * Creates a new command manager.
+     */
+    public BenchmarkCommandManager() {
+        super(ExecutionCoordinator.simpleCoordinator(), new ListenableRegistrationHandler<>());
+    }
+
+    /**
+     * Creates a command manager with a synthetic tree of {@code commands} leaf commands.
+     *
+     * <p>Each root command has ten subcommands with a required integer argument and an optional string argument.
+     * Every other root command is scoped to one of {@link #GUILDS} guilds, and the rest are global.</p>
+     *
+     * @param commands number of leaf commands
+     * @return the command manager
+     */
+    public static @NonNull BenchmarkCommandManager withCommands(final int commands) {
+        final BenchmarkCommandManager commandManager = new BenchmarkCommandManager();
+        for (int i = 0; i < commands; i++) {
+            final int root = i / 10;
+            final CommandScope<Object> scope = root % 2 == 0
+                    ? CommandScope.global()
+                    : CommandScope.guilds(root % GUILDS + 1);
+            commandManager.command(
+                    commandManager.commandBuilder("root" + root)
+                            .literal("sub" + (i % 10))
+                            .required("integer", integerParser(0, 100))
+                            .optional("string", stringParser())
+                            .apply(scope)
+            );
+        }
+        return commandManager;
+    }
+
+    @Override
+    public boolean hasPermission(final @NonNull Object sender, final @NonNull String permission) {
+        return true;
+    }
+}
@@ -0,0 +1,101 @@
+//
+// MIT License
+//
+// Copyright (c) 2024 Incendo
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+// SOFTWARE.
+//
+package org.incendo.cloud.discord.benchmarks;
+
+import java.util.Collection;
+import java.util.concurrent.TimeUnit;
+import org.incendo.cloud.discord.slash.NodeProcessor;
+import org.incendo.cloud.discord.slash.OptionRegistry;
+import org.incendo.cloud.discord.slash.StandardDiscordCommandFactory;
+import org.incendo.cloud.discord.slash.StandardOptionRegistry;
+import org.incendo.cloud.internal.CommandNode;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Benchmarks {@link StandardDiscordCommandFactory#create(CommandNode)} for every root node of a synthetic tree.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CommandFactoryBenchmark {
+
+    @Param({"10", "100", "1000", "5000"})
+    public int commands;
+
+    private Collection<CommandNode<Object>> rootNodes;
+    private OptionRegistry<Object> optionRegistry;
+    private StandardDiscordCommandFactory<Object> commandFactory;
+
+    /**
+     * Builds the tree.
+     */
+    @Setup
+    public void setup() {
+        final BenchmarkCommandManager commandManager = BenchmarkCommandManager.withCommands(this.commands);
+        new NodeProcessor<>(commandManager).prepareTree();
+
+        this.rootNodes = commandManager.commandTree().rootNodes();
+        this.optionRegistry = new StandardOptionRegistry<>();
+        this.commandFactory = new StandardDiscordCommandFactory<>(this.optionRegistry);
+    }
+
+    /**
+     * Compiles the tree using a factory that has compiled it before.
+     *
+     * @param blackhole blackhole
+     */
+    @Benchmark
+    public void createWarm(final Blackhole blackhole) {
+        for (final CommandNode<Object> rootNode : this.rootNodes) {
+            blackhole.consume(this.commandFactory.create(rootNode));
+        }
+    }
+
+    /**
+     * Compiles the tree using a new factory.
+     *
+     * @param blackhole blackhole
+     */
+    @Benchmark
+    public void createCold(final Blackhole blackhole) {
+        final StandardDiscordCommandFactory<Object> commandFactory = new StandardDiscordCommandFactory<>(this.optionRegistry);
+        for (final CommandNode<Object> rootNode : this.rootNodes) {
+            blackhole.consume(commandFactory.create(rootNode));
+        }
+    }
+}
@@ -0,0 +1,107 @@
+//
+// MIT License
+//
+// Copyright (c) 2024 Incendo
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+// SOFTWARE.
+//
+package org.incendo.cloud.discord.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+import org.incendo.cloud.discord.slash.CommandScope;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks {@link CommandScope.Guilds#overlaps(CommandScope)}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CommandScopeBenchmark {
+
+    @Param({"1", "100", "10000"})
+    public int guilds;
+
+    private CommandScope<Object> commandScope;
+    private CommandScope<Object> matchingScope;
+    private CommandScope<Object> missingScope;
+    private CommandScope<Object> largeScope;
+
+    /**
+     * Creates the scopes.
+     */
+    @Setup
+    public void setup() {
+        final long[] guildIds = new long[this.guilds];
+        final long[] otherGuildIds = new long[this.guilds];
+        for (int i = 0; i < this.guilds; i++) {
+            guildIds[i] = 2L * i + 2;
+            otherGuildIds[i] = 2L * i + 1;
+        }
+        this.commandScope = CommandScope.guilds(guildIds);
+        this.largeScope = CommandScope.guilds(otherGuildIds);
+
+        // This is what the platforms query with when a guild becomes available.
+        this.matchingScope = CommandScope.guilds(-1, guildIds[guildIds.length - 1]);
+        this.missingScope = CommandScope.guilds(-1, 3);
+    }
+
+    /**
+     * Checks a guild query that overlaps the scope.
+     *
+     * @return whether the scopes overlap
+     */
+    @Benchmark
+    public boolean guildQueryMatching() {
+        return this.commandScope.overlaps(this.matchingScope);
+    }
+
+    /**
+     * Checks a guild query that does not overlap the scope.
+     *
+     * @return whether the scopes overlap
+     */
+    @Benchmark
+    public boolean guildQueryMissing() {
+        return this.commandScope.overlaps(this.missingScope);
+    }
+
+    /**
+     * Checks two disjoint scopes of the same size.
+     *
+     * @return whether the scopes overlap
+     */
+    @Benchmark
+    public boolean disjointScopes() {
+        return this.commandScope.overlaps(this.largeScope);
+    }
+}
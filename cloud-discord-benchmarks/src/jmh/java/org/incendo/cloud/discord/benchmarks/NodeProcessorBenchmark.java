@@ -0,0 +1,108 @@
+//
+// MIT License
+//
+// Copyright (c) 2024 Incendo
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+// SOFTWARE.
+//
+package org.incendo.cloud.discord.benchmarks;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.incendo.cloud.discord.slash.CommandScope;
+import org.incendo.cloud.discord.slash.NodeProcessor;
+import org.incendo.cloud.internal.CommandNode;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks {@link NodeProcessor#prepareTree()} and {@link NodeProcessor#rootNodes(CommandScope)}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class NodeProcessorBenchmark {
+
+    @Param({"10", "100", "1000", "5000"})
+    public int commands;
+
+    private NodeProcessor<Object> fullProcessor;
+    private NodeProcessor<Object> trackingProcessor;
+    private CommandScope<Object> guildScope;
+
+    /**
+     * Builds the tree.
+     */
+    @Setup
+    public void setup() {
+        final BenchmarkCommandManager commandManager = BenchmarkCommandManager.withCommands(this.commands);
+        this.fullProcessor = new NodeProcessor<>(commandManager.commandTree());
+        this.trackingProcessor = new NodeProcessor<>(commandManager);
+        this.trackingProcessor.prepareTree();
+        this.guildScope = CommandScope.guilds(-1, BenchmarkCommandManager.GUILDS / 2);
+    }
+
+    /**
+     * Processes the entire tree.
+     */
+    @Benchmark
+    public void prepareTreeFull() {
+        this.fullProcessor.prepareTree();
+    }
+
+    /**
+     * Prepares a tree that has not changed since it was last prepared.
+     */
+    @Benchmark
+    public void prepareTreeUnchanged() {
+        this.trackingProcessor.prepareTree();
+    }
+
+    /**
+     * Looks up the root nodes of a single guild.
+     *
+     * @return the root nodes
+     */
+    @Benchmark
+    public List<CommandNode<Object>> rootNodesForGuild() {
+        return this.trackingProcessor.rootNodes(this.guildScope);
+    }
+
+    /**
+     * Looks up the global root nodes.
+     *
+     * @return the root nodes
+     */
+    @Benchmark
+    public List<CommandNode<Object>> rootNodesGlobal() {
+        return this.trackingProcessor.rootNodes(CommandScope.global());
+    }
+}
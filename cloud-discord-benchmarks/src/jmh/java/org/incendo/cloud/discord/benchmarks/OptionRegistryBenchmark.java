@@ -0,0 +1,96 @@
+//
+// MIT License
+//
+// Copyright (c) 2024 Incendo
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+// SOFTWARE.
+//
+package org.incendo.cloud.discord.benchmarks;
+
+import io.leangen.geantyref.TypeToken;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import org.incendo.cloud.discord.slash.DiscordOptionType;
+import org.incendo.cloud.discord.slash.StandardOptionRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks {@link StandardOptionRegistry#getOption(TypeToken)}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class OptionRegistryBenchmark {
+
+    private static final TypeToken<String> STRING = TypeToken.get(String.class);
+    private static final TypeToken<Integer> PRIMITIVE_INTEGER = TypeToken.get(int.class);
+    private static final TypeToken<UUID> UNMAPPED = TypeToken.get(UUID.class);
+
+    private StandardOptionRegistry<Object> optionRegistry;
+
+    /**
+     * Creates the registry.
+     */
+    @Setup
+    public void setup() {
+        this.optionRegistry = new StandardOptionRegistry<>();
+    }
+
+    /**
+     * Looks up a mapped type.
+     *
+     * @return the option type
+     */
+    @Benchmark
+    public DiscordOptionType<?> mapped() {
+        return this.optionRegistry.getOption(STRING);
+    }
+
+    /**
+     * Looks up a primitive type, which has to be boxed.
+     *
+     * @return the option type
+     */
+    @Benchmark
+    public DiscordOptionType<?> primitive() {
+        return this.optionRegistry.getOption(PRIMITIVE_INTEGER);
+    }
+
+    /**
+     * Looks up a type that falls back to the default option type.
+     *
+     * @return the option type
+     */
+    @Benchmark
+    public DiscordOptionType<?> unmapped() {
+        return this.optionRegistry.getOption(UNMAPPED);
+    }
+}
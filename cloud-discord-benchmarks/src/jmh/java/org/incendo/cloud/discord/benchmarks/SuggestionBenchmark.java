@@ -0,0 +1,112 @@
+//
+// MIT License
+//
+// Copyright (c) 2024 Incendo
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+// SOFTWARE.
+//
+package org.incendo.cloud.discord.benchmarks;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import org.incendo.cloud.context.CommandContext;
+import org.incendo.cloud.context.StandardCommandContextFactory;
+import org.incendo.cloud.discord.slash.DiscordSuggestions;
+import org.incendo.cloud.suggestion.Suggestion;
+import org.incendo.cloud.suggestion.Suggestions;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import static org.incendo.cloud.parser.standard.StringParser.greedyStringParser;
+
+/**
+ * Benchmarks the suggestion handling that the platform listeners perform for autocomplete interactions.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SuggestionBenchmark {
+
+    private static final String INPUT = "command text some words ";
+
+    @Param({"5", "25", "100"})
+    public int suggestions;
+
+    private BenchmarkCommandManager commandManager;
+    private StandardCommandContextFactory<Object> contextFactory;
+    private Suggestions<Object, ? extends Suggestion> result;
+
+    /**
+     * Registers a command with multi-word suggestions.
+     */
+    @Setup
+    public void setup() {
+        final List<Suggestion> suggestions = new ArrayList<>(this.suggestions);
+        for (int i = 0; i < this.suggestions; i++) {
+            suggestions.add(Suggestion.suggestion("some words suggestion" + i));
+        }
+
+        this.commandManager = new BenchmarkCommandManager();
+        this.commandManager.command(
+                this.commandManager.commandBuilder("command")
+                        .required("text", greedyStringParser(), (context, input) -> CompletableFuture.completedFuture(suggestions))
+        );
+        this.contextFactory = new StandardCommandContextFactory<>(this.commandManager);
+        this.result = this.suggest();
+    }
+
+    /**
+     * Maps already computed suggestions to choice values.
+     *
+     * @return the choice values
+     */
+    @Benchmark
+    public List<String> postProcess() {
+        return DiscordSuggestions.values(this.result);
+    }
+
+    /**
+     * Computes the suggestions and maps them to choice values, like the listeners do.
+     *
+     * @return the choice values
+     */
+    @Benchmark
+    public List<String> suggestAndPostProcess() {
+        return DiscordSuggestions.values(this.suggest());
+    }
+
+    private Suggestions<Object, ? extends Suggestion> suggest() {
+        final CommandContext<Object> context = this.contextFactory.create(true, new Object());
+        return this.commandManager.suggestionFactory().suggest(context, INPUT).join();
+    }
+}
@@ -0,0 +1,4 @@
+/**
+ * JMH benchmarks for the hot paths of the slash command integrations.
+ */
+package org.incendo.cloud.discord.benchmarks;
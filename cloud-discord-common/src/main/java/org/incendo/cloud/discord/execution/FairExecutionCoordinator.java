@@ -0,0 +1,171 @@
+//
+// MIT License
+//
+// Copyright (c) 2024 Incendo
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+// SOFTWARE.
+//
+package org.incendo.cloud.discord.execution;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.apiguardian.api.API;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.incendo.cloud.CommandTree;
+import org.incendo.cloud.context.CommandContext;
+import org.incendo.cloud.context.CommandInput;
+import org.incendo.cloud.execution.CommandResult;
+import org.incendo.cloud.execution.ExecutionCoordinator;
+import org.incendo.cloud.key.CloudKey;
+import org.incendo.cloud.suggestion.Suggestion;
+import org.incendo.cloud.suggestion.SuggestionMapper;
+import org.incendo.cloud.suggestion.Suggestions;
+
+/**
+ * Execution coordinator that prevents a single guild from starving the others.
+ *
+ * <p>Parsing, suggestions and command execution are queued per guild and the queues are served round-robin by a
+ * bounded number of workers. A guild that floods the bot with interactions therefore only delays its own
+ * interactions. Interactions outside of guilds are queued per user.</p>
+ *
+ * <p>The queue key is read from {@link #CONTEXT_QUEUE_KEY}, which the JDA5, Discord4J and Kord listeners populate.
+ * Commands without a key share a single queue.</p>
+ *
+ * @param <C> command sender type
+ * @since 1.0.0
+ */
+@API(status = API.Status.STABLE, since = "1.0.0")
+public final class FairExecutionCoordinator<C> implements ExecutionCoordinator<C> {
+
+    /**
+     * The ID of the guild that the interaction belongs to, or the ID of the user for interactions outside of guilds.
+     */
+    public static final CloudKey<Long> CONTEXT_QUEUE_KEY = CloudKey.of("cloud:fair_queue_key", Long.class);
+
+    private static final AtomicInteger WORKER_ID = new AtomicInteger();
+
+    private final FairExecutor executor;
+    private final ExecutionCoordinator<C> delegate;
+
+    private FairExecutionCoordinator(final @NonNull FairExecutor executor) {
+        this.executor = executor;
+        this.delegate = ExecutionCoordinator.<C>builder().executor(executor).build();
+    }
+
+    /**
+     * Returns a new coordinator that runs on up to {@code workers} daemon threads.
+     *
+     * @param <C>     command sender type
+     * @param workers maximum number of concurrently running tasks
+     * @return the coordinator
+     */
+    public static <C> @NonNull FairExecutionCoordinator<C> create(final int workers) {
+        final ExecutorService workerExecutor = Executors.newCachedThreadPool(runnable -> {
+            final Thread thread = new Thread(runnable, "cloud-discord-fair-executor-" + WORKER_ID.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        return create(workerExecutor, workers);
+    }
+
+    /**
+     * Returns a new coordinator that runs its workers on the given {@code workerExecutor}.
+     *
+     * <p>The worker executor must be able to run {@code workers} tasks concurrently.</p>
+     *
+     * @param <C>            command sender type
+     * @param workerExecutor executor that runs the workers
+     * @param workers        maximum number of concurrently running tasks
+     * @return the coordinator
+     */
+    public static <C> @NonNull FairExecutionCoordinator<C> create(final @NonNull Executor workerExecutor, final int workers) {
+        return new FairExecutionCoordinator<>(new FairExecutor(workerExecutor, workers));
+    }
+
+    @Override
+    public @NonNull CompletableFuture<@NonNull CommandResult<C>> coordinateExecution(
+            final @NonNull CommandTree<C> commandTree,
+            final @NonNull CommandContext<C> commandContext,
+            final @NonNull CommandInput commandInput
+    ) {
+        return this.executor.withKey(
+                queueKey(commandContext),
+                () -> this.delegate.coordinateExecution(commandTree, commandContext, commandInput)
+        );
+    }
+
+    @Override
+    public <S extends Suggestion> @NonNull CompletableFuture<@NonNull Suggestions<C, S>> coordinateSuggestions(
+            final @NonNull CommandTree<C> commandTree,
+            final @NonNull CommandContext<C> context,
+            final @NonNull CommandInput commandInput,
+            final @NonNull SuggestionMapper<S> mapper
+    ) {
+        return this.executor.withKey(
+                queueKey(context),
+                () -> this.delegate.coordinateSuggestions(commandTree, context, commandInput, mapper)
+        );
+    }
+
+    /**
+     * Returns the number of tasks that are queued for the given guild or user.
+     *
+     * @param key guild or user ID
+     * @return the number of queued tasks
+     */
+    public int queueDepth(final long key) {
+        return this.executor.queueDepth(key);
+    }
+
+    /**
+     * Returns a snapshot of the number of queued tasks per guild or user. Keys without queued tasks are omitted.
+     *
+     * @return the queue depths
+     */
+    public @NonNull Map<@NonNull Long, @NonNull Integer> queueDepths() {
+        return this.executor.queueDepths();
+    }
+
+    /**
+     * Returns the total number of queued tasks.
+     *
+     * @return the number of queued tasks
+     */
+    public int queuedTasks() {
+        return this.executor.queuedTasks();
+    }
+
+    /**
+     * Returns the number of workers that are currently running.
+     *
+     * @return the number of workers
+     */
+    public int activeWorkers() {
+        return this.executor.activeWorkers();
+    }
+
+    private static long queueKey(final @NonNull CommandContext<?> context) {
+        return Objects.requireNonNull(context, "context").getOrDefault(CONTEXT_QUEUE_KEY, FairExecutor.DEFAULT_KEY);
+    }
+}
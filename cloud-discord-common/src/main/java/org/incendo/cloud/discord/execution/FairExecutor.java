@@ -0,0 +1,240 @@
+//
+// MIT License
+//
+// Copyright (c) 2024 Incendo
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+// SOFTWARE.
+//
+package org.incendo.cloud.discord.execution;
+
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Supplier;
+import org.apiguardian.api.API;
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+/**
+ * Executor that keeps a queue per key and serves the queues round-robin using a bounded number of workers.
+ *
+ * <p>The key of a task is the key of the thread that submits it: either the key passed to
+ * {@link #withKey(long, Supplier)}, or the key of the task that the submitting worker is running. Tasks that are
+ * submitted from any other thread are queued under {@link #DEFAULT_KEY}.</p>
+ *
+ * @since 1.0.0
+ */
+@API(status = API.Status.INTERNAL, since = "1.0.0")
+final class FairExecutor implements Executor {
+
+    static final long DEFAULT_KEY = 0L;
+
+    private final ThreadLocal<Long> currentKey = new ThreadLocal<>();
+    private final Object lock = new Object();
+    private final Map<Long, KeyQueue> queues = new HashMap<>();
+    private final ArrayDeque<KeyQueue> ready = new ArrayDeque<>();
+    private final Executor workerExecutor;
+    private final int maxWorkers;
+
+    private int activeWorkers;
+    private int queuedTasks;
+
+    FairExecutor(final @NonNull Executor workerExecutor, final int maxWorkers) {
+        if (maxWorkers < 1) {
+            throw new IllegalArgumentException("maxWorkers must be positive");
+        }
+        this.workerExecutor = Objects.requireNonNull(workerExecutor, "workerExecutor");
+        this.maxWorkers = maxWorkers;
+    }
+
+    /**
+     * Invokes the {@code action} with tasks submitted by the current thread being queued under the given {@code key}.
+     *
+     * @param <T>    result type
+     * @param key    queue key
+     * @param action action to invoke
+     * @return the result of the action
+     */
+    <T> T withKey(final long key, final @NonNull Supplier<T> action) {
+        final Long previous = this.currentKey.get();
+        this.currentKey.set(key);
+        try {
+            return action.get();
+        } finally {
+            if (previous == null) {
+                this.currentKey.remove();
+            } else {
+                this.currentKey.set(previous);
+            }
+        }
+    }
+
+    @Override
+    public void execute(final @NonNull Runnable command) {
+        Objects.requireNonNull(command, "command");
+        final Long currentKey = this.currentKey.get();
+        final long key = currentKey == null ? DEFAULT_KEY : currentKey;
+
+        final boolean startWorker;
+        synchronized (this.lock) {
+            KeyQueue queue = this.queues.get(key);
+            if (queue == null) {
+                queue = new KeyQueue(key);
+                this.queues.put(key, queue);
+                this.ready.addLast(queue);
+            }
+            queue.tasks.addLast(command);
+            this.queuedTasks++;
+            startWorker = this.activeWorkers < this.maxWorkers;
+            if (startWorker) {
+                this.activeWorkers++;
+            }
+        }
+
+        if (startWorker) {
+            try {
+                this.workerExecutor.execute(this::runWorker);
+            } catch (final RejectedExecutionException exception) {
+                synchronized (this.lock) {
+                    this.activeWorkers--;
+                }
+                throw exception;
+            }
+        }
+    }
+
+    /**
+     * Returns the number of tasks that are queued under the given {@code key}.
+     *
+     * @param key queue key
+     * @return the number of queued tasks
+     */
+    int queueDepth(final long key) {
+        synchronized (this.lock) {
+            final KeyQueue queue = this.queues.get(key);
+            return queue == null ? 0 : queue.tasks.size();
+        }
+    }
+
+    /**
+     * Returns a snapshot of the number of queued tasks per key. Keys without queued tasks are omitted.
+     *
+     * @return the queue depths
+     */
+    @NonNull Map<@NonNull Long, @NonNull Integer> queueDepths() {
+        synchronized (this.lock) {
+            final Map<Long, Integer> depths = new HashMap<>();
+            this.queues.forEach((key, queue) -> depths.put(key, queue.tasks.size()));
+            return Collections.unmodifiableMap(depths);
+        }
+    }
+
+    /**
+     * Returns the total number of queued tasks.
+     *
+     * @return the number of queued tasks
+     */
+    int queuedTasks() {
+        synchronized (this.lock) {
+            return this.queuedTasks;
+        }
+    }
+
+    /**
+     * Returns the number of workers that are currently running.
+     *
+     * @return the number of workers
+     */
+    int activeWorkers() {
+        synchronized (this.lock) {
+            return this.activeWorkers;
+        }
+    }
+
+    private void runWorker() {
+        boolean exited = false;
+        try {
+            while (true) {
+                final KeyQueue queue;
+                final Runnable task;
+                synchronized (this.lock) {
+                    queue = this.ready.pollFirst();
+                    if (queue == null) {
+                        this.activeWorkers--;
+                        exited = true;
+                        return;
+                    }
+                    task = queue.tasks.pollFirst();
+                    this.queuedTasks--;
+                    if (queue.tasks.isEmpty()) {
+                        this.queues.remove(queue.key);
+                    } else {
+                        // Move the queue to the back so that every other key gets a turn first.
+                        this.ready.addLast(queue);
+                    }
+                }
+
+                this.currentKey.set(queue.key);
+                try {
+                    task.run();
+                } catch (final RuntimeException exception) {
+                    final Thread thread = Thread.currentThread();
+                    thread.getUncaughtExceptionHandler().uncaughtException(thread, exception);
+                } finally {
+                    this.currentKey.remove();
+                }
+            }
+        } finally {
+            if (!exited) {
+                // An error escaped from a task. The error is propagated, but the slot of this worker is handed to
+                // a replacement so that the remaining tasks are still served.
+                this.replaceWorker();
+            }
+        }
+    }
+
+    private void replaceWorker() {
+        synchronized (this.lock) {
+            if (this.ready.isEmpty()) {
+                this.activeWorkers--;
+                return;
+            }
+        }
+        try {
+            this.workerExecutor.execute(this::runWorker);
+        } catch (final RejectedExecutionException exception) {
+            synchronized (this.lock) {
+                this.activeWorkers--;
+            }
+        }
+    }
+
+    private static final class KeyQueue {
+
+        private final long key;
+        private final ArrayDeque<Runnable> tasks = new ArrayDeque<>();
+
+        private KeyQueue(final long key) {
+            this.key = key;
+        }
+    }
+}
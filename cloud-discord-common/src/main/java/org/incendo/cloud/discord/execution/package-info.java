@@ -0,0 +1,4 @@
+/**
+ * Command execution utilities.
+ */
+package org.incendo.cloud.discord.execution;
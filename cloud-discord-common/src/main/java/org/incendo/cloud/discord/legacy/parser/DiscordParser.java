@@ -23,6 +23,7 @@
 //
 package org.incendo.cloud.discord.legacy.parser;
 
+import java.util.concurrent.CompletionException;
 import org.apiguardian.api.API;
 import org.checkerframework.checker.nullness.qual.NonNull;
 import org.checkerframework.checker.nullness.qual.Nullable;
@@ -51,4 +52,17 @@ abstract class DiscordParser<C, G, T> implements ArgumentParser<C, T> {
     protected abstract @NonNull DiscordRepository<G, T> repository(@NonNull CommandContext<C> context);
 
     protected abstract @Nullable ArgumentParseResult<T> preProcess(@NonNull CommandContext<C> context);
+
+    /**
+     * Returns the cause of the given {@code throwable} if it is a {@link CompletionException}, else the throwable itself.
+     *
+     * @param throwable throwable to unwrap
+     * @return the unwrapped throwable
+     */
+    static @NonNull Throwable unwrap(final @NonNull Throwable throwable) {
+        if (throwable instanceof CompletionException && throwable.getCause() != null) {
+            return throwable.getCause();
+        }
+        return throwable;
+    }
 }
@@ -26,12 +26,14 @@ package org.incendo.cloud.discord.legacy.parser;
 import java.util.Collection;
 import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 import org.apiguardian.api.API;
 import org.checkerframework.checker.nullness.qual.NonNull;
 import org.incendo.cloud.context.CommandContext;
 import org.incendo.cloud.context.CommandInput;
 import org.incendo.cloud.discord.legacy.repository.DiscordRepository;
 import org.incendo.cloud.parser.ArgumentParseResult;
+import org.incendo.cloud.parser.ArgumentParser;
 
 /**
  * Parser for Discord users.
@@ -42,7 +44,8 @@ import org.incendo.cloud.parser.ArgumentParseResult;
  * @since 1.0.0
  */
 @API(status = API.Status.INTERNAL, since = "1.0.0")
-public abstract class DiscordUserParser<C, G, T> extends MentionableDiscordParser<C, G, T> {
+public abstract class DiscordUserParser<C, G, T> extends MentionableDiscordParser<C, G, T>
+        implements ArgumentParser.FutureArgumentParser<C, T> {
 
     private final Isolation isolation;
 
@@ -64,66 +67,80 @@ public abstract class DiscordUserParser<C, G, T> extends MentionableDiscordParse
     }
 
     @Override
-    public final @NonNull ArgumentParseResult<@NonNull T> parse(
+    public final @NonNull CompletableFuture<@NonNull ArgumentParseResult<@NonNull T>> parseFuture(
             final @NonNull CommandContext<@NonNull C> commandContext,
             final @NonNull CommandInput commandInput
     ) {
         final ArgumentParseResult<T> preProcessed = this.preProcess(commandContext);
         if (preProcessed != null) {
-            return preProcessed;
+            return CompletableFuture.completedFuture(preProcessed);
         }
 
         final String input = commandInput.readString();
         final DiscordRepository<G, T> repository = this.repository(commandContext);
 
         Exception exception = null;
+        String id = null;
 
         if (this.modes().contains(DiscordParserMode.MENTION)) {
             if (input.startsWith("<@") && input.endsWith(">")) {
-                final String id;
                 if (input.startsWith("<@!")) {
                     id = input.substring(3, input.length() - 1);
                 } else {
                     id = input.substring(2, input.length() - 1);
                 }
-
-                try {
-                    final T result = repository.getById(id);
-                    if (result != null) {
-                        return ArgumentParseResult.success(result);
-                    }
-                } catch (final UserNotFoundParseException | NumberFormatException e) {
-                    exception = e;
-                }
             } else {
                 exception = new IllegalArgumentException(String.format("Input '%s' is not a User mention.", input));
             }
         }
 
-        if (this.modes().contains(DiscordParserMode.ID)) {
+        if (id == null && this.modes().contains(DiscordParserMode.ID)) {
+            id = input;
+        }
+
+        // The lookup by ID may have to request the user from Discord, so it must not block the parsing thread.
+        CompletableFuture<T> byId = CompletableFuture.completedFuture(null);
+        if (id != null) {
             try {
-                final T result = repository.getById(input);
-                if (result != null) {
-                    return ArgumentParseResult.success(result);
-                }
-            } catch (final UserNotFoundParseException | NumberFormatException e) {
+                byId = repository.retrieveById(Long.parseLong(id));
+            } catch (final NumberFormatException e) {
                 exception = e;
+                id = null;
             }
         }
 
-        if (this.modes().contains(DiscordParserMode.NAME)) {
-            final Collection<? extends T> users = repository.getByName(input);
+        final String parsedId = id;
+        final Exception previousException = exception;
+        return MentionableDiscordParser.<T, ArgumentParseResult<T>>handleOnParsingExecutor(commandContext, byId, (result, throwable) -> {
+            if (result != null) {
+                return ArgumentParseResult.success(result);
+            }
 
-            if (users.isEmpty()) {
-                exception = new UserNotFoundParseException(input);
-            } else if (users.size() > 1) {
-                exception = new TooManyUsersFoundParseException(input);
-            } else {
-                return ArgumentParseResult.success(users.stream().findFirst().get());
+            Exception failure = previousException;
+            if (throwable != null) {
+                final Throwable cause = unwrap(throwable);
+                if (!(cause instanceof UserNotFoundParseException)) {
+                    return ArgumentParseResult.failure(cause);
+                }
+                failure = (UserNotFoundParseException) cause;
+            } else if (parsedId != null) {
+                failure = new UserNotFoundParseException(parsedId);
+            }
+
+            if (this.modes().contains(DiscordParserMode.NAME)) {
+                final Collection<? extends T> users = repository.getByName(input);
+
+                if (users.isEmpty()) {
+                    failure = new UserNotFoundParseException(input);
+                } else if (users.size() > 1) {
+                    failure = new TooManyUsersFoundParseException(input);
+                } else {
+                    return ArgumentParseResult.success(users.stream().findFirst().get());
+                }
             }
-        }
 
-        return ArgumentParseResult.failure(Objects.requireNonNull(exception, "exception"));
+            return ArgumentParseResult.failure(Objects.requireNonNull(failure, "exception"));
+        });
     }
 
 
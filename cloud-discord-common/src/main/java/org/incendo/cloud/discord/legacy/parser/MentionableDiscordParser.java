@@ -26,12 +26,26 @@ package org.incendo.cloud.discord.legacy.parser;
 import java.util.Collections;
 import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.function.BiFunction;
 import org.apiguardian.api.API;
 import org.checkerframework.checker.nullness.qual.NonNull;
+import org.incendo.cloud.context.CommandContext;
+import org.incendo.cloud.key.CloudKey;
 
 @API(status = API.Status.INTERNAL, since = "1.0.0")
 public abstract class MentionableDiscordParser<C, G, T> extends DiscordParser<C, G, T> {
 
+    /**
+     * Context key of the executor that the parsers continue on once a member or user has been retrieved. If it is not
+     * stored in the context, the parsers continue on the default asynchronous executor of {@link CompletableFuture}.
+     */
+    public static final CloudKey<Executor> CONTEXT_PARSING_EXECUTOR = CloudKey.of(
+            "cloud:discord_parsing_executor",
+            Executor.class
+    );
+
     private final Set<DiscordParserMode> modes;
 
     protected MentionableDiscordParser(final @NonNull Set<DiscordParserMode> modes) {
@@ -50,4 +64,28 @@ public abstract class MentionableDiscordParser<C, G, T> extends DiscordParser<C,
     public @NonNull Set<DiscordParserMode> modes() {
         return Collections.unmodifiableSet(this.modes);
     }
+
+    /**
+     * Handles the completion of the given {@code future} on the {@link #CONTEXT_PARSING_EXECUTOR parsing executor}, so
+     * that the {@code handler} does not run on the thread that completed a request to Discord. Futures that are
+     * already done are handled on the calling thread.
+     *
+     * @param <R>            result type of the future
+     * @param <U>            result type of the handler
+     * @param commandContext command context
+     * @param future         future to handle
+     * @param handler        handler of the result or the failure
+     * @return future that completes with the result of the handler
+     */
+    protected static <R, U> @NonNull CompletableFuture<U> handleOnParsingExecutor(
+            final @NonNull CommandContext<?> commandContext,
+            final @NonNull CompletableFuture<R> future,
+            final @NonNull BiFunction<? super R, Throwable, ? extends U> handler
+    ) {
+        if (future.isDone()) {
+            return future.handle(handler);
+        }
+        final Executor executor = commandContext.getOrDefault(CONTEXT_PARSING_EXECUTOR, null);
+        return executor == null ? future.handleAsync(handler) : future.handleAsync(handler, executor);
+    }
 }
@@ -0,0 +1,441 @@
+//
+// MIT License
+//
+// Copyright (c) 2024 Incendo
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+// SOFTWARE.
+//
+package org.incendo.cloud.discord.legacy.prefix;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongFunction;
+import java.util.function.LongSupplier;
+import org.apiguardian.api.API;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * Store of per-guild command prefixes.
+ *
+ * <p>The prefixes are stored in striped, copy-on-write hash tables that are keyed by primitive guild IDs, so looking up
+ * a stored prefix neither locks nor allocates. Prefixes are written when they are {@link #prefix(long, String) set},
+ * {@link #preload(Map) preloaded} or loaded by the loader. Guilds without a prefix use the default prefix.</p>
+ *
+ * <p>Every write copies the table of one of the 64 stripes, so storing the prefixes of {@code N} guilds one at a
+ * time, by setting them or by loading them lazily, costs {@code O(N^2 / 64)}. Prefixes that are known up front should be
+ * stored using {@link #preload(Map)}, which copies every stripe at most once.</p>
+ *
+ * <p>If a time-to-live is configured, prefixes expire after they have been stored for that long. Expired prefixes are
+ * loaded again, or replaced by the default prefix if there is no loader.</p>
+ *
+ * @since 1.0.0
+ */
+@API(status = API.Status.STABLE, since = "1.0.0")
+public final class GuildPrefixStore {
+
+    /**
+     * Guild ID used for messages that are not sent in a guild. These messages always use the default prefix.
+     */
+    public static final long NO_GUILD = 0L;
+
+    private static final int STRIPE_BITS = 6;
+    private static final long NEVER = Long.MAX_VALUE;
+
+    private final String defaultPrefix;
+    private final @Nullable LongFunction<@Nullable String> loader;
+    private final long timeToLiveNanos;
+    private final LongSupplier clock;
+    private final Stripe[] stripes = new Stripe[1 << STRIPE_BITS];
+    private final Map<Long, CompletableFuture<String>> loading = new ConcurrentHashMap<>();
+
+    GuildPrefixStore(
+            final @NonNull String defaultPrefix,
+            final @Nullable LongFunction<@Nullable String> loader,
+            final @Nullable Duration timeToLive,
+            final @NonNull LongSupplier clock
+    ) {
+        this.defaultPrefix = Objects.requireNonNull(defaultPrefix, "defaultPrefix");
+        this.loader = loader;
+        if (timeToLive != null && (timeToLive.isNegative() || timeToLive.isZero())) {
+            throw new IllegalArgumentException("timeToLive must be positive");
+        }
+        this.timeToLiveNanos = timeToLive == null ? NEVER : timeToLive.toNanos();
+        this.clock = Objects.requireNonNull(clock, "clock");
+        for (int i = 0; i < this.stripes.length; i++) {
+            this.stripes[i] = new Stripe();
+        }
+    }
+
+    /**
+     * Creates a new store without a loader. Guilds use the default prefix until a prefix is set for them.
+     *
+     * @param defaultPrefix prefix used by guilds without a prefix
+     * @return the store
+     */
+    public static @NonNull GuildPrefixStore create(final @NonNull String defaultPrefix) {
+        return new GuildPrefixStore(defaultPrefix, null, null, System::nanoTime);
+    }
+
+    /**
+     * Creates a new store that loads the prefixes of unknown guilds using the given {@code loader}.
+     *
+     * <p>The loader is invoked on the thread that handles the message. Concurrent lookups of the same guild wait for
+     * that invocation instead of invoking the loader again. It may return {@code null} if the guild has no custom
+     * prefix, in which case the default prefix is stored for the guild.</p>
+     *
+     * @param defaultPrefix prefix used by guilds without a prefix
+     * @param loader        function that loads the prefix of a guild
+     * @param timeToLive    time after which stored prefixes expire, or {@code null} if they never expire
+     * @return the store
+     */
+    public static @NonNull GuildPrefixStore create(
+            final @NonNull String defaultPrefix,
+            final @NonNull LongFunction<@Nullable String> loader,
+            final @Nullable Duration timeToLive
+    ) {
+        return new GuildPrefixStore(defaultPrefix, Objects.requireNonNull(loader, "loader"), timeToLive, System::nanoTime);
+    }
+
+    /**
+     * Returns the prefix used by guilds without a prefix.
+     *
+     * @return the default prefix
+     */
+    public @NonNull String defaultPrefix() {
+        return this.defaultPrefix;
+    }
+
+    /**
+     * Returns the prefix of the guild with the given {@code guildId}, loading it if necessary.
+     *
+     * @param guildId guild ID, or {@link #NO_GUILD}
+     * @return the prefix
+     */
+    public @NonNull String prefix(final long guildId) {
+        if (guildId == NO_GUILD) {
+            return this.defaultPrefix;
+        }
+
+        final Entry entry = this.stripe(guildId).table.get(guildId);
+        if (this.isValid(entry)) {
+            return entry.prefix;
+        }
+
+        final LongFunction<String> loader = this.loader;
+        if (loader == null) {
+            if (entry != null) {
+                this.remove(guildId, entry);
+            }
+            return this.defaultPrefix;
+        }
+
+        // Concurrent misses for the same guild wait for the first load instead of invoking the loader again.
+        final CompletableFuture<String> loading = new CompletableFuture<>();
+        final CompletableFuture<String> existing = this.loading.putIfAbsent(guildId, loading);
+        if (existing != null) {
+            return await(existing);
+        }
+        try {
+            final String prefix = this.load(guildId, loader);
+            loading.complete(prefix);
+            return prefix;
+        } catch (final RuntimeException | Error e) {
+            loading.completeExceptionally(e);
+            throw e;
+        } finally {
+            this.loading.remove(guildId, loading);
+        }
+    }
+
+    /**
+     * Sets the prefix of the guild with the given {@code guildId}.
+     *
+     * @param guildId guild ID
+     * @param prefix  the prefix
+     */
+    public void prefix(final long guildId, final @NonNull String prefix) {
+        Objects.requireNonNull(prefix, "prefix");
+        if (guildId == NO_GUILD) {
+            throw new IllegalArgumentException("Cannot set the prefix of NO_GUILD");
+        }
+        final Stripe stripe = this.stripe(guildId);
+        final Entry entry = new Entry(prefix, this.expiresAt());
+        synchronized (stripe) {
+            stripe.table = stripe.table.with(guildId, entry);
+        }
+    }
+
+    /**
+     * Sets the prefixes of all the guilds in the given {@code prefixes} map.
+     *
+     * @param prefixes map of guild IDs to prefixes
+     */
+    public void preload(final @NonNull Map<@NonNull Long, @NonNull String> prefixes) {
+        Objects.requireNonNull(prefixes, "prefixes");
+        final long expiresAt = this.expiresAt();
+        final int[] counts = new int[this.stripes.length];
+        for (final Map.Entry<Long, String> prefix : prefixes.entrySet()) {
+            Objects.requireNonNull(prefix.getValue(), "prefix");
+            if (prefix.getKey() != NO_GUILD) {
+                counts[stripeIndex(prefix.getKey())]++;
+            }
+        }
+        for (int i = 0; i < this.stripes.length; i++) {
+            if (counts[i] == 0) {
+                continue;
+            }
+            final Stripe stripe = this.stripes[i];
+            synchronized (stripe) {
+                // The copy is not published until every prefix of the stripe has been inserted.
+                final Table current = stripe.table;
+                final Table table = current.copy(Table.capacity(current.size + counts[i]), NO_GUILD);
+                int size = current.size;
+                for (final Map.Entry<Long, String> prefix : prefixes.entrySet()) {
+                    final long guildId = prefix.getKey();
+                    if (guildId == NO_GUILD || stripeIndex(guildId) != i) {
+                        continue;
+                    }
+                    if (table.insert(guildId, new Entry(prefix.getValue(), expiresAt))) {
+                        size++;
+                    }
+                }
+                stripe.table = new Table(table.keys, table.entries, size);
+            }
+        }
+    }
+
+    /**
+     * Removes the prefix of the guild with the given {@code guildId}. The next lookup loads the prefix again, or uses
+     * the default prefix if there is no loader.
+     *
+     * @param guildId guild ID
+     */
+    public void invalidate(final long guildId) {
+        final Stripe stripe = this.stripe(guildId);
+        synchronized (stripe) {
+            stripe.table = stripe.table.without(guildId);
+        }
+    }
+
+    /**
+     * Removes all prefixes.
+     */
+    public void invalidateAll() {
+        for (final Stripe stripe : this.stripes) {
+            synchronized (stripe) {
+                stripe.table = Table.EMPTY;
+            }
+        }
+    }
+
+    /**
+     * Returns the number of stored prefixes, including expired prefixes that have not been replaced yet.
+     *
+     * @return the number of stored prefixes
+     */
+    public int size() {
+        int size = 0;
+        for (final Stripe stripe : this.stripes) {
+            size += stripe.table.size;
+        }
+        return size;
+    }
+
+    private @NonNull String load(final long guildId, final @NonNull LongFunction<@Nullable String> loader) {
+        // Another thread may have finished loading the prefix since it was looked up.
+        final Stripe stripe = this.stripe(guildId);
+        final Entry entry = stripe.table.get(guildId);
+        if (this.isValid(entry)) {
+            return entry.prefix;
+        }
+
+        final String loaded = loader.apply(guildId);
+        final Entry loadedEntry = new Entry(loaded == null ? this.defaultPrefix : loaded, this.expiresAt());
+        synchronized (stripe) {
+            // A prefix that was set while the loader was running takes precedence over the loaded prefix.
+            final Entry current = stripe.table.get(guildId);
+            if (current != entry && current != null) {
+                return current.prefix;
+            }
+            stripe.table = stripe.table.with(guildId, loadedEntry);
+        }
+        return loadedEntry.prefix;
+    }
+
+    private boolean isValid(final @Nullable Entry entry) {
+        return entry != null && (entry.expiresAt == NEVER || entry.expiresAt - this.clock.getAsLong() > 0);
+    }
+
+    private static @NonNull String await(final @NonNull CompletableFuture<String> loading) {
+        try {
+            return loading.join();
+        } catch (final CompletionException e) {
+            final Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            } else if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw e;
+        }
+    }
+
+    private void remove(final long guildId, final @NonNull Entry expected) {
+        // Only the expired entry is removed, so that a prefix that was set concurrently is kept.
+        final Stripe stripe = this.stripe(guildId);
+        synchronized (stripe) {
+            stripe.table = stripe.table.without(guildId, expected);
+        }
+    }
+
+    private long expiresAt() {
+        if (this.timeToLiveNanos == NEVER) {
+            return NEVER;
+        }
+        final long expiresAt = this.clock.getAsLong() + this.timeToLiveNanos;
+        return expiresAt == NEVER ? NEVER - 1 : expiresAt;
+    }
+
+    private @NonNull Stripe stripe(final long guildId) {
+        return this.stripes[stripeIndex(guildId)];
+    }
+
+    private static int stripeIndex(final long guildId) {
+        return (int) (mix(guildId) >>> (Long.SIZE - STRIPE_BITS));
+    }
+
+    private static long mix(final long guildId) {
+        final long hash = guildId * 0x9E3779B97F4A7C15L;
+        return hash ^ (hash >>> 32);
+    }
+
+    private static final class Stripe {
+
+        private volatile Table table = Table.EMPTY;
+    }
+
+    private static final class Entry {
+
+        private final String prefix;
+        private final long expiresAt;
+
+        private Entry(final @NonNull String prefix, final long expiresAt) {
+            this.prefix = prefix;
+            this.expiresAt = expiresAt;
+        }
+    }
+
+    /**
+     * Immutable open addressing hash table. {@link #NO_GUILD} marks empty slots.
+     */
+    private static final class Table {
+
+        private static final Table EMPTY = new Table(new long[4], new Entry[4], 0);
+
+        private final long[] keys;
+        private final Entry[] entries;
+        private final int size;
+
+        private Table(final long @NonNull[] keys, final @Nullable Entry @NonNull[] entries, final int size) {
+            this.keys = keys;
+            this.entries = entries;
+            this.size = size;
+        }
+
+        private @Nullable Entry get(final long key) {
+            final int mask = this.keys.length - 1;
+            for (int index = (int) mix(key) & mask; ; index = (index + 1) & mask) {
+                final long candidate = this.keys[index];
+                if (candidate == key) {
+                    return this.entries[index];
+                } else if (candidate == NO_GUILD) {
+                    return null;
+                }
+            }
+        }
+
+        private @NonNull Table with(final long key, final @NonNull Entry entry) {
+            final int slot = this.slot(key);
+            if (this.keys[slot] == key) {
+                final Entry[] entries = this.entries.clone();
+                entries[slot] = entry;
+                return new Table(this.keys, entries, this.size);
+            }
+
+            final Table table = this.copy(Math.max(this.keys.length, capacity(this.size + 1)), NO_GUILD);
+            table.insert(key, entry);
+            return new Table(table.keys, table.entries, this.size + 1);
+        }
+
+        private @NonNull Table without(final long key) {
+            return this.without(key, null);
+        }
+
+        private @NonNull Table without(final long key, final @Nullable Entry expected) {
+            final int slot = this.slot(key);
+            if (this.keys[slot] != key || (expected != null && this.entries[slot] != expected)) {
+                return this;
+            }
+            final Table table = this.copy(this.keys.length, key);
+            return new Table(table.keys, table.entries, this.size - 1);
+        }
+
+        private int slot(final long key) {
+            final int mask = this.keys.length - 1;
+            int index = (int) mix(key) & mask;
+            while (this.keys[index] != key && this.keys[index] != NO_GUILD) {
+                index = (index + 1) & mask;
+            }
+            return index;
+        }
+
+        private @NonNull Table copy(final int capacity, final long excludedKey) {
+            final Table table = new Table(new long[capacity], new Entry[capacity], 0);
+            for (int i = 0; i < this.keys.length; i++) {
+                final long key = this.keys[i];
+                if (key != NO_GUILD && key != excludedKey) {
+                    table.insert(key, this.entries[i]);
+                }
+            }
+            return table;
+        }
+
+        private boolean insert(final long key, final @NonNull Entry entry) {
+            final int slot = this.slot(key);
+            final boolean added = this.keys[slot] != key;
+            this.keys[slot] = key;
+            this.entries[slot] = entry;
+            return added;
+        }
+
+        private static int capacity(final int size) {
+            // Keep the load factor at or below one half, so that probe sequences stay short.
+            int capacity = EMPTY.keys.length;
+            while (capacity < size * 2) {
+                capacity *= 2;
+            }
+            return capacity;
+        }
+    }
+}
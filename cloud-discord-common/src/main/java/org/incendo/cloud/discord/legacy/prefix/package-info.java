@@ -0,0 +1,4 @@
+/**
+ * Command prefixes for message based commands.
+ */
+package org.incendo.cloud.discord.legacy.prefix;
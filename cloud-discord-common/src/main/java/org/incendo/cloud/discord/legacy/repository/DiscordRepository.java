@@ -24,6 +24,7 @@
 package org.incendo.cloud.discord.legacy.repository;
 
 import java.util.Collection;
+import java.util.concurrent.CompletableFuture;
 import org.apiguardian.api.API;
 import org.checkerframework.checker.nullness.qual.NonNull;
 import org.checkerframework.checker.nullness.qual.Nullable;
@@ -57,6 +58,25 @@ public interface DiscordRepository<G, T> {
         return this.getById(Long.parseLong(id));
     }
 
+    /**
+     * Retrieves the object by its {@code id} without blocking the calling thread.
+     *
+     * <p>The default implementation completes with the result of {@link #getById(long)}. Repositories that may need to
+     * request the object from Discord should override this method.</p>
+     *
+     * @param id id to retrieve object by
+     * @return future that completes with the result, or {@code null}
+     */
+    default @NonNull CompletableFuture<@Nullable T> retrieveById(final long id) {
+        try {
+            return CompletableFuture.completedFuture(this.getById(id));
+        } catch (final RuntimeException e) {
+            final CompletableFuture<T> future = new CompletableFuture<>();
+            future.completeExceptionally(e);
+            return future;
+        }
+    }
+
     /**
      * Returns all objects with the given {@code name}.
      *
@@ -0,0 +1,180 @@
+//
+// MIT License
+//
+// Copyright (c) 2024 Incendo
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+// SOFTWARE.
+//
+package org.incendo.cloud.discord.legacy.repository;
+
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import org.apiguardian.api.API;
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+/**
+ * Index of the names of Discord objects, such as the members, roles or channels of a guild.
+ *
+ * <p>Names are {@link #normalize(String) normalized} and kept in sorted order, so objects can be looked up by their
+ * exact name or by a name prefix without scanning every object. The index is updated incrementally using
+ * {@link #put(long, String)} and {@link #remove(long)}. Lookups do not lock and may run concurrently with updates.</p>
+ *
+ * @since 1.0.0
+ */
+@API(status = API.Status.STABLE, since = "1.0.0")
+public final class NameIndex {
+
+    private static final long[] EMPTY = new long[0];
+
+    private final ConcurrentSkipListMap<String, long[]> ids = new ConcurrentSkipListMap<>();
+    private final Map<Long, String> names = new ConcurrentHashMap<>();
+
+    private NameIndex() {
+    }
+
+    /**
+     * Creates a new empty index.
+     *
+     * @return the index
+     */
+    public static @NonNull NameIndex create() {
+        return new NameIndex();
+    }
+
+    /**
+     * Returns the normalized form of the given {@code name}, which is used to compare names.
+     *
+     * @param name name to normalize
+     * @return the normalized name
+     */
+    public static @NonNull String normalize(final @NonNull String name) {
+        return name.toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Sets the name of the object with the given {@code id}, replacing its previous name.
+     *
+     * @param id   object ID
+     * @param name object name
+     */
+    public synchronized void put(final long id, final @NonNull String name) {
+        final String normalized = normalize(Objects.requireNonNull(name, "name"));
+        final String previous = this.names.put(id, normalized);
+        if (normalized.equals(previous)) {
+            return;
+        }
+        if (previous != null) {
+            this.removeId(previous, id);
+        }
+        this.ids.merge(normalized, new long[]{id}, (existing, added) -> {
+            final long[] merged = Arrays.copyOf(existing, existing.length + 1);
+            merged[existing.length] = id;
+            return merged;
+        });
+    }
+
+    /**
+     * Removes the object with the given {@code id}.
+     *
+     * @param id object ID
+     */
+    public synchronized void remove(final long id) {
+        final String previous = this.names.remove(id);
+        if (previous != null) {
+            this.removeId(previous, id);
+        }
+    }
+
+    /**
+     * Removes all objects.
+     */
+    public synchronized void clear() {
+        this.names.clear();
+        this.ids.clear();
+    }
+
+    /**
+     * Returns the IDs of the objects whose normalized name equals the normalized {@code name}.
+     *
+     * @param name name to look up
+     * @return the IDs
+     */
+    public long @NonNull[] named(final @NonNull String name) {
+        final long[] ids = this.ids.get(normalize(name));
+        return ids == null ? EMPTY : ids.clone();
+    }
+
+    /**
+     * Returns the IDs of the objects whose normalized name starts with the normalized {@code prefix}.
+     *
+     * @param prefix name prefix to look up
+     * @return the IDs
+     */
+    public long @NonNull[] startingWith(final @NonNull String prefix) {
+        final String normalized = normalize(prefix);
+        final ConcurrentNavigableMap<String, long[]> candidates = this.ids.tailMap(normalized, true);
+
+        long[] result = EMPTY;
+        int size = 0;
+        for (final Map.Entry<String, long[]> entry : candidates.entrySet()) {
+            if (!entry.getKey().startsWith(normalized)) {
+                break;
+            }
+            final long[] ids = entry.getValue();
+            if (size + ids.length > result.length) {
+                result = Arrays.copyOf(result, Math.max(size + ids.length, result.length * 2));
+            }
+            System.arraycopy(ids, 0, result, size, ids.length);
+            size += ids.length;
+        }
+        return size == result.length ? result : Arrays.copyOf(result, size);
+    }
+
+    /**
+     * Returns the number of indexed objects.
+     *
+     * @return the number of objects
+     */
+    public int size() {
+        return this.names.size();
+    }
+
+    private void removeId(final @NonNull String name, final long id) {
+        this.ids.computeIfPresent(name, (key, existing) -> {
+            for (int i = 0; i < existing.length; i++) {
+                if (existing[i] != id) {
+                    continue;
+                }
+                if (existing.length == 1) {
+                    return null;
+                }
+                final long[] remaining = new long[existing.length - 1];
+                System.arraycopy(existing, 0, remaining, 0, i);
+                System.arraycopy(existing, i + 1, remaining, i, remaining.length - i);
+                return remaining;
+            }
+            return existing;
+        });
+    }
+}
@@ -0,0 +1,172 @@
+//
+// MIT License
+//
+// Copyright (c) 2024 Incendo
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+// SOFTWARE.
+//
+package org.incendo.cloud.discord.metrics;
+
+import java.util.Objects;
+import org.apiguardian.api.API;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.incendo.cloud.CommandManager;
+import org.incendo.cloud.context.CommandContext;
+import org.incendo.cloud.key.CloudKey;
+
+/**
+ * Tracks the {@link DiscordTimer#DISPATCH}, {@link DiscordTimer#PARSE} and {@link DiscordTimer#EXECUTION} timers
+ * of a single command invocation.
+ *
+ * <p>The listener calls {@link #start(DiscordMetrics, String, String)} when it receives the event, attaches the
+ * timings to the command context and calls {@link #completed()} once the execution future completes. The
+ * processors registered by {@link #install(CommandManager)} record the time at which parsing starts and ends.
+ * When the metrics are disabled a shared instance that ignores all calls is returned.</p>
+ *
+ * @since 1.0.0
+ */
+@API(status = API.Status.STABLE, since = "1.0.0")
+public final class CommandTimings {
+
+    public static final CloudKey<CommandTimings> CONTEXT_KEY = CloudKey.of(
+            "cloud:command_timings",
+            CommandTimings.class
+    );
+
+    private static final CommandTimings DISABLED = new CommandTimings(DiscordMetrics.noop(), "", null, 0L);
+
+    private final DiscordMetrics metrics;
+    private final String platform;
+    private final long receivedAt;
+
+    private volatile @Nullable String rootCommand;
+    private volatile long parseStartedAt;
+    private volatile long executionStartedAt;
+
+    private CommandTimings(
+            final @NonNull DiscordMetrics metrics,
+            final @NonNull String platform,
+            final @Nullable String rootCommand,
+            final long receivedAt
+    ) {
+        this.metrics = metrics;
+        this.platform = platform;
+        this.rootCommand = rootCommand;
+        this.receivedAt = receivedAt;
+    }
+
+    /**
+     * Starts tracking a command invocation.
+     *
+     * <p>If the {@code rootCommand} is not known up front, such as for message commands, it is resolved from the
+     * parsed command and no dispatch or parse timings are recorded for input that fails to parse.</p>
+     *
+     * @param metrics     metrics to record to
+     * @param platform    platform that received the command
+     * @param rootCommand root command, or {@code null} if it should be resolved from the parsed command
+     * @return the timings
+     */
+    public static @NonNull CommandTimings start(
+            final @NonNull DiscordMetrics metrics,
+            final @NonNull String platform,
+            final @Nullable String rootCommand
+    ) {
+        return start(metrics, platform, rootCommand, metrics.startTimer());
+    }
+
+    /**
+     * Starts tracking a command invocation that was received at {@code receivedAt}.
+     *
+     * @param metrics     metrics to record to
+     * @param platform    platform that received the command
+     * @param rootCommand root command, or {@code null} if it should be resolved from the parsed command
+     * @param receivedAt  time at which the event was received, as returned by {@link DiscordMetrics#startTimer()}
+     * @return the timings
+     */
+    public static @NonNull CommandTimings start(
+            final @NonNull DiscordMetrics metrics,
+            final @NonNull String platform,
+            final @Nullable String rootCommand,
+            final long receivedAt
+    ) {
+        if (!metrics.enabled()) {
+            return DISABLED;
+        }
+        return new CommandTimings(metrics, Objects.requireNonNull(platform, "platform"), rootCommand, receivedAt);
+    }
+
+    /**
+     * Registers the processors that record the parse and execution start times on the given {@code commandManager}.
+     *
+     * @param <C>            command sender type
+     * @param commandManager command manager
+     */
+    public static <C> void install(final @NonNull CommandManager<C> commandManager) {
+        commandManager.registerCommandPreProcessor(context ->
+                context.commandContext().optional(CONTEXT_KEY).ifPresent(CommandTimings::parseStarted));
+        commandManager.registerCommandPostProcessor(context ->
+                context.commandContext().optional(CONTEXT_KEY).ifPresent(timings ->
+                        timings.executionStarted(context.command().rootComponent().name())));
+    }
+
+    /**
+     * Stores the timings in the given {@code context}.
+     *
+     * @param context command context
+     */
+    public void attach(final @NonNull CommandContext<?> context) {
+        if (this != DISABLED) {
+            context.store(CONTEXT_KEY, this);
+        }
+    }
+
+    /**
+     * Records the execution time. Does nothing if the command never started executing.
+     */
+    public void completed() {
+        final long executionStartedAt = this.executionStartedAt;
+        final String rootCommand = this.rootCommand;
+        if (executionStartedAt == 0L || rootCommand == null) {
+            return;
+        }
+        this.metrics.record(DiscordTimer.EXECUTION, this.platform, rootCommand, System.nanoTime() - executionStartedAt);
+    }
+
+    private void parseStarted() {
+        final long now = System.nanoTime();
+        this.parseStartedAt = now;
+        final String rootCommand = this.rootCommand;
+        if (rootCommand != null) {
+            this.metrics.record(DiscordTimer.DISPATCH, this.platform, rootCommand, now - this.receivedAt);
+        }
+    }
+
+    private void executionStarted(final @NonNull String parsedRootCommand) {
+        final long now = System.nanoTime();
+        String rootCommand = this.rootCommand;
+        if (rootCommand == null) {
+            rootCommand = parsedRootCommand;
+            this.rootCommand = rootCommand;
+            this.metrics.record(DiscordTimer.DISPATCH, this.platform, rootCommand, this.parseStartedAt - this.receivedAt);
+        }
+        this.metrics.record(DiscordTimer.PARSE, this.platform, rootCommand, now - this.parseStartedAt);
+        this.executionStartedAt = now;
+    }
+}
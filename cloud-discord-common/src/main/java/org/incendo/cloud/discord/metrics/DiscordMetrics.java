@@ -0,0 +1,136 @@
+//
+// MIT License
+//
+// Copyright (c) 2024 Incendo
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+// SOFTWARE.
+//
+package org.incendo.cloud.discord.metrics;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+import org.apiguardian.api.API;
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+/**
+ * Receives latency measurements from the command managers.
+ *
+ * <p>Every measurement is tagged with the platform that recorded it (e.g. {@code jda5}) and the root command it
+ * belongs to. Measurements that do not belong to a single command, such as command registration, use
+ * {@link #ALL_COMMANDS} as the root command.</p>
+ *
+ * <p>The managers use {@link #noop()} by default. Callers check {@link #enabled()} before reading the clock, so the
+ * disabled implementation costs no more than a virtual call per measurement.</p>
+ *
+ * @since 1.0.0
+ */
+@API(status = API.Status.STABLE, since = "1.0.0")
+public interface DiscordMetrics {
+
+    /**
+     * Root command tag used for measurements that are not tied to a single command.
+     */
+    String ALL_COMMANDS = "*";
+
+    /**
+     * Returns a metrics instance that discards all measurements.
+     *
+     * @return the no-op instance
+     */
+    static @NonNull DiscordMetrics noop() {
+        return NoOpDiscordMetrics.INSTANCE;
+    }
+
+    /**
+     * Returns whether measurements should be taken. The returned value must not change over the lifetime of the
+     * instance.
+     *
+     * @return {@code true} if measurements are recorded, else {@code false}
+     */
+    boolean enabled();
+
+    /**
+     * Records a measurement.
+     *
+     * @param timer         timer to record to
+     * @param platform      platform that took the measurement
+     * @param rootCommand   root command the measurement belongs to, or {@link #ALL_COMMANDS}
+     * @param durationNanos measured duration in nanoseconds
+     */
+    void record(
+            @NonNull DiscordTimer timer,
+            @NonNull String platform,
+            @NonNull String rootCommand,
+            long durationNanos
+    );
+
+    /**
+     * Returns the start time of a measurement, or {@code 0} if the metrics are disabled.
+     *
+     * @return the start time, in {@link System#nanoTime()} units
+     */
+    default long startTimer() {
+        return this.enabled() ? System.nanoTime() : 0L;
+    }
+
+    /**
+     * Records the time that has passed since {@code startedAt}, if the metrics are enabled.
+     *
+     * @param timer       timer to record to
+     * @param platform    platform that took the measurement
+     * @param rootCommand root command the measurement belongs to, or {@link #ALL_COMMANDS}
+     * @param startedAt   start time returned by {@link #startTimer()}
+     */
+    default void recordSince(
+            final @NonNull DiscordTimer timer,
+            final @NonNull String platform,
+            final @NonNull String rootCommand,
+            final long startedAt
+    ) {
+        if (this.enabled()) {
+            this.record(timer, platform, rootCommand, System.nanoTime() - startedAt);
+        }
+    }
+
+    /**
+     * Starts the given {@code action} and records the time until the returned future completes, whether it
+     * completes normally or exceptionally.
+     *
+     * @param <T>         future result type
+     * @param timer       timer to record to
+     * @param platform    platform that took the measurement
+     * @param rootCommand root command the measurement belongs to, or {@link #ALL_COMMANDS}
+     * @param action      action to time
+     * @return the future returned by the {@code action}
+     */
+    default <T> @NonNull CompletableFuture<T> time(
+            final @NonNull DiscordTimer timer,
+            final @NonNull String platform,
+            final @NonNull String rootCommand,
+            final @NonNull Supplier<@NonNull CompletableFuture<T>> action
+    ) {
+        if (!this.enabled()) {
+            return action.get();
+        }
+        final long startedAt = System.nanoTime();
+        final CompletableFuture<T> future = action.get();
+        future.whenComplete((result, throwable) -> this.record(timer, platform, rootCommand, System.nanoTime() - startedAt));
+        return future;
+    }
+}
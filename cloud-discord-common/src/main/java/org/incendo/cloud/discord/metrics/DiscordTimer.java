@@ -0,0 +1,60 @@
+//
+// MIT License
+//
+// Copyright (c) 2024 Incendo
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+// SOFTWARE.
+//
+package org.incendo.cloud.discord.metrics;
+
+import org.apiguardian.api.API;
+
+/**
+ * Timers that are recorded by the command managers.
+ *
+ * @since 1.0.0
+ */
+@API(status = API.Status.STABLE, since = "1.0.0")
+public enum DiscordTimer {
+    /**
+     * Time from receiving the interaction or message until the command starts parsing. This includes sender mapping
+     * and the hand-off to the execution coordinator.
+     */
+    DISPATCH,
+    /**
+     * Time spent parsing the command arguments and running the command preprocessors.
+     */
+    PARSE,
+    /**
+     * Time spent in the command postprocessors and the command handler.
+     */
+    EXECUTION,
+    /**
+     * Time from receiving an autocomplete interaction until the suggestions are ready to be sent.
+     */
+    AUTOCOMPLETE,
+    /**
+     * Time spent registering slash commands with Discord.
+     */
+    REGISTRATION,
+    /**
+     * Time until Discord acknowledges a reply or deferral sent by the command manager.
+     */
+    ACKNOWLEDGEMENT
+}
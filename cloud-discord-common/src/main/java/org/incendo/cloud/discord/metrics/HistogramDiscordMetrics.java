@@ -0,0 +1,201 @@
+//
+// MIT License
+//
+// Copyright (c) 2024 Incendo
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+// SOFTWARE.
+//
+package org.incendo.cloud.discord.metrics;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import org.apiguardian.api.API;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * {@link DiscordMetrics} implementation that records every measurement into a {@link LatencyHistogram}.
+ *
+ * <p>A histogram is created per combination of timer, platform and root command the first time it is recorded to.
+ * Recording to an existing histogram does not allocate. Use {@link #snapshot()} to export the histograms to a
+ * metrics library.</p>
+ *
+ * @since 1.0.0
+ */
+@API(status = API.Status.STABLE, since = "1.0.0")
+public final class HistogramDiscordMetrics implements DiscordMetrics {
+
+    private final Map<DiscordTimer, Map<String, Map<String, LatencyHistogram>>> histograms = new EnumMap<>(DiscordTimer.class);
+
+    private HistogramDiscordMetrics() {
+        for (final DiscordTimer timer : DiscordTimer.values()) {
+            this.histograms.put(timer, new ConcurrentHashMap<>());
+        }
+    }
+
+    /**
+     * Returns a new instance without any recorded values.
+     *
+     * @return the instance
+     */
+    public static @NonNull HistogramDiscordMetrics create() {
+        return new HistogramDiscordMetrics();
+    }
+
+    @Override
+    public boolean enabled() {
+        return true;
+    }
+
+    @Override
+    public void record(
+            final @NonNull DiscordTimer timer,
+            final @NonNull String platform,
+            final @NonNull String rootCommand,
+            final long durationNanos
+    ) {
+        Map<String, LatencyHistogram> byCommand = this.histograms.get(timer).get(platform);
+        if (byCommand == null) {
+            byCommand = this.histograms.get(timer).computeIfAbsent(platform, key -> new ConcurrentHashMap<>());
+        }
+        LatencyHistogram histogram = byCommand.get(rootCommand);
+        if (histogram == null) {
+            histogram = byCommand.computeIfAbsent(rootCommand, key -> new LatencyHistogram());
+        }
+        histogram.record(durationNanos);
+    }
+
+    /**
+     * Returns the histogram for the given tags, if anything has been recorded to it.
+     *
+     * @param timer       timer
+     * @param platform    platform
+     * @param rootCommand root command, or {@link #ALL_COMMANDS}
+     * @return the histogram, or {@code null}
+     */
+    public @Nullable LatencyHistogram histogram(
+            final @NonNull DiscordTimer timer,
+            final @NonNull String platform,
+            final @NonNull String rootCommand
+    ) {
+        Objects.requireNonNull(timer, "timer");
+        final Map<String, LatencyHistogram> byCommand = this.histograms.get(timer).get(Objects.requireNonNull(platform, "platform"));
+        if (byCommand == null) {
+            return null;
+        }
+        return byCommand.get(Objects.requireNonNull(rootCommand, "rootCommand"));
+    }
+
+    /**
+     * Returns snapshots of all histograms that have been recorded to.
+     *
+     * @return the snapshots
+     */
+    public @NonNull List<@NonNull TimerSnapshot> snapshot() {
+        final List<TimerSnapshot> snapshots = new ArrayList<>();
+        this.histograms.forEach((timer, byPlatform) -> byPlatform.forEach((platform, byCommand) ->
+                byCommand.forEach((rootCommand, histogram) ->
+                        snapshots.add(new TimerSnapshot(timer, platform, rootCommand, histogram.snapshot())))));
+        return Collections.unmodifiableList(snapshots);
+    }
+
+    /**
+     * Removes all histograms.
+     */
+    public void reset() {
+        this.histograms.values().forEach(Map::clear);
+    }
+
+    /**
+     * Snapshot of the histogram of a single timer.
+     *
+     * @since 1.0.0
+     */
+    @API(status = API.Status.STABLE, since = "1.0.0")
+    public static final class TimerSnapshot {
+
+        private final DiscordTimer timer;
+        private final String platform;
+        private final String rootCommand;
+        private final HistogramSnapshot histogram;
+
+        private TimerSnapshot(
+                final @NonNull DiscordTimer timer,
+                final @NonNull String platform,
+                final @NonNull String rootCommand,
+                final @NonNull HistogramSnapshot histogram
+        ) {
+            this.timer = timer;
+            this.platform = platform;
+            this.rootCommand = rootCommand;
+            this.histogram = histogram;
+        }
+
+        /**
+         * Returns the timer.
+         *
+         * @return the timer
+         */
+        public @NonNull DiscordTimer timer() {
+            return this.timer;
+        }
+
+        /**
+         * Returns the platform that recorded the values.
+         *
+         * @return the platform
+         */
+        public @NonNull String platform() {
+            return this.platform;
+        }
+
+        /**
+         * Returns the root command, or {@link DiscordMetrics#ALL_COMMANDS}.
+         *
+         * @return the root command
+         */
+        public @NonNull String rootCommand() {
+            return this.rootCommand;
+        }
+
+        /**
+         * Returns the histogram snapshot.
+         *
+         * @return the histogram
+         */
+        public @NonNull HistogramSnapshot histogram() {
+            return this.histogram;
+        }
+
+        @Override
+        public @NonNull String toString() {
+            return "TimerSnapshot{"
+                    + "timer=" + this.timer
+                    + ", platform='" + this.platform + '\''
+                    + ", rootCommand='" + this.rootCommand + '\''
+                    + ", histogram=" + this.histogram
+                    + '}';
+        }
+    }
+}
@@ -0,0 +1,127 @@
+//
+// MIT License
+//
+// Copyright (c) 2024 Incendo
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+// SOFTWARE.
+//
+package org.incendo.cloud.discord.metrics;
+
+import org.apiguardian.api.API;
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+/**
+ * Immutable snapshot of a {@link LatencyHistogram}.
+ *
+ * @since 1.0.0
+ */
+@API(status = API.Status.STABLE, since = "1.0.0")
+public final class HistogramSnapshot {
+
+    private final long[] counts;
+    private final long count;
+    private final long totalNanos;
+    private final long maxNanos;
+
+    HistogramSnapshot(
+            final long @NonNull[] counts,
+            final long count,
+            final long totalNanos,
+            final long maxNanos
+    ) {
+        this.counts = counts;
+        this.count = count;
+        this.totalNanos = totalNanos;
+        this.maxNanos = maxNanos;
+    }
+
+    /**
+     * Returns the number of recorded values.
+     *
+     * @return the number of values
+     */
+    public long count() {
+        return this.count;
+    }
+
+    /**
+     * Returns the sum of the recorded values.
+     *
+     * @return the sum, in nanoseconds
+     */
+    public long totalNanos() {
+        return this.totalNanos;
+    }
+
+    /**
+     * Returns the largest recorded value.
+     *
+     * @return the largest value, in nanoseconds
+     */
+    public long maxNanos() {
+        return this.maxNanos;
+    }
+
+    /**
+     * Returns the mean of the recorded values.
+     *
+     * @return the mean, in nanoseconds, or {@code 0} if no values have been recorded
+     */
+    public double meanNanos() {
+        return this.count == 0 ? 0.0D : (double) this.totalNanos / this.count;
+    }
+
+    /**
+     * Returns an upper bound for the value at the given {@code percentile}.
+     *
+     * <p>The returned value is the upper bound of the bucket that contains the percentile, capped at
+     * {@link #maxNanos()}.</p>
+     *
+     * @param percentile percentile between {@code 0} and {@code 100}
+     * @return the value, in nanoseconds, or {@code 0} if no values have been recorded
+     */
+    public long valueAtPercentile(final double percentile) {
+        if (percentile < 0.0D || percentile > 100.0D) {
+            throw new IllegalArgumentException("percentile must be between 0 and 100");
+        }
+        if (this.count == 0) {
+            return 0L;
+        }
+        final long rank = Math.max(1L, (long) Math.ceil(percentile / 100.0D * this.count));
+        long seen = 0;
+        for (int i = 0; i < this.counts.length; i++) {
+            seen += this.counts[i];
+            if (seen >= rank) {
+                return Math.min(LatencyHistogram.upperBound(i), this.maxNanos);
+            }
+        }
+        return this.maxNanos;
+    }
+
+    @Override
+    public @NonNull String toString() {
+        return "HistogramSnapshot{"
+                + "count=" + this.count
+                + ", meanNanos=" + this.meanNanos()
+                + ", p50Nanos=" + this.valueAtPercentile(50.0D)
+                + ", p99Nanos=" + this.valueAtPercentile(99.0D)
+                + ", maxNanos=" + this.maxNanos
+                + '}';
+    }
+}
@@ -0,0 +1,4 @@
+/**
+ * Latency metrics for the Discord command managers.
+ */
+package org.incendo.cloud.discord.metrics;
@@ -0,0 +1,186 @@
+//
+// MIT License
+//
+// Copyright (c) 2024 Incendo
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+// SOFTWARE.
+//
+package org.incendo.cloud.discord.ratelimit;
+
+import io.leangen.geantyref.TypeToken;
+import java.time.Duration;
+import java.util.Objects;
+import org.apiguardian.api.API;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.incendo.cloud.Command;
+import org.incendo.cloud.key.CloudKey;
+
+/**
+ * Limits how often a command may be invoked.
+ *
+ * <p>A rate limit allows {@link #permits()} invocations per {@link #period()} for every key of its {@link #scope()}.
+ * Permits are replenished continuously rather than all at once at the end of the period, so a user that is limited to
+ * three invocations per minute regains one invocation every twenty seconds.</p>
+ *
+ * <p>Rate limits are enforced by the {@link RateLimiter} installed by the command manager.</p>
+ *
+ * @param <C> command sender type
+ * @since 1.0.0
+ */
+@API(status = API.Status.STABLE, since = "1.0.0")
+public final class RateLimit<C> implements Command.Builder.Applicable<C> {
+
+    public static final CloudKey<RateLimit<?>> META_RATE_LIMIT = CloudKey.of(
+            "cloud:rate_limit",
+            new TypeToken<RateLimit<?>>() {
+            }
+    );
+
+    private final int permits;
+    private final Duration period;
+    private final Scope scope;
+
+    private RateLimit(final int permits, final @NonNull Duration period, final @NonNull Scope scope) {
+        this.permits = permits;
+        this.period = period;
+        this.scope = scope;
+    }
+
+    /**
+     * Returns a rate limit that allows {@code permits} invocations per {@code period} for every key of the given
+     * {@code scope}.
+     *
+     * @param <C>     command sender type
+     * @param permits number of invocations per period
+     * @param period  period
+     * @param scope   scope that the invocations are counted in
+     * @return the rate limit
+     */
+    public static <C> @NonNull RateLimit<C> of(final int permits, final @NonNull Duration period, final @NonNull Scope scope) {
+        Objects.requireNonNull(period, "period");
+        Objects.requireNonNull(scope, "scope");
+        if (permits < 1) {
+            throw new IllegalArgumentException("permits must be positive");
+        }
+        if (period.isNegative() || period.isZero()) {
+            throw new IllegalArgumentException("period must be positive");
+        }
+        return new RateLimit<>(permits, period, scope);
+    }
+
+    /**
+     * Returns a rate limit that allows every user to invoke the command once per {@code period}.
+     *
+     * @param <C>    command sender type
+     * @param period cooldown period
+     * @return the rate limit
+     */
+    public static <C> @NonNull RateLimit<C> cooldown(final @NonNull Duration period) {
+        return of(1, period, Scope.USER);
+    }
+
+    /**
+     * Returns the number of invocations that are allowed per {@link #period()}.
+     *
+     * @return the number of invocations
+     */
+    public int permits() {
+        return this.permits;
+    }
+
+    /**
+     * Returns the period.
+     *
+     * @return the period
+     */
+    public @NonNull Duration period() {
+        return this.period;
+    }
+
+    /**
+     * Returns the scope that the invocations are counted in.
+     *
+     * @return the scope
+     */
+    public @NonNull Scope scope() {
+        return this.scope;
+    }
+
+    @Override
+    public Command.@NonNull Builder<C> applyToCommandBuilder(final Command.@NonNull Builder<C> builder) {
+        return builder.meta(META_RATE_LIMIT, this);
+    }
+
+    long emissionIntervalNanos() {
+        return Math.max(1L, this.period.toNanos() / this.permits);
+    }
+
+    long toleranceNanos() {
+        return this.period.toNanos() - this.emissionIntervalNanos();
+    }
+
+    @Override
+    public boolean equals(final Object object) {
+        if (this == object) {
+            return true;
+        }
+        if (object == null || this.getClass() != object.getClass()) {
+            return false;
+        }
+        final RateLimit<?> that = (RateLimit<?>) object;
+        return this.permits == that.permits
+                && this.period.equals(that.period)
+                && this.scope == that.scope;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(this.permits, this.period, this.scope);
+    }
+
+    @Override
+    public @NonNull String toString() {
+        return "RateLimit{"
+                + "permits=" + this.permits
+                + ", period=" + this.period
+                + ", scope=" + this.scope
+                + '}';
+    }
+
+    /**
+     * Scope that the invocations of a rate limited command are counted in.
+     *
+     * @since 1.0.0
+     */
+    @API(status = API.Status.STABLE, since = "1.0.0")
+    public enum Scope {
+        /**
+         * Every user has their own limit.
+         */
+        USER,
+        /**
+         * Every guild shares a limit. Invocations outside of guilds are counted per user.
+         */
+        GUILD,
+        /**
+         * All invocations of the command share a single limit.
+         */
+        COMMAND
+    }
+}
@@ -0,0 +1,64 @@
+//
+// MIT License
+//
+// Copyright (c) 2024 Incendo
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+// SOFTWARE.
+//
+package org.incendo.cloud.discord.ratelimit;
+
+import java.time.Duration;
+import org.apiguardian.api.API;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.incendo.cloud.context.CommandContext;
+
+/**
+ * Handler that is invoked when an invocation is rejected by a {@link RateLimiter}.
+ *
+ * @param <C> command sender type
+ * @since 1.0.0
+ */
+@FunctionalInterface
+@API(status = API.Status.STABLE, since = "1.0.0")
+public interface RateLimitExceededHandler<C> {
+
+    /**
+     * Returns the default message that informs the sender that they have to wait.
+     *
+     * @param retryAfter time until the command may be invoked again
+     * @return the message
+     */
+    static @NonNull String defaultMessage(final @NonNull Duration retryAfter) {
+        final long seconds = Math.max(1L, (retryAfter.toMillis() + 999L) / 1000L);
+        return "You are using this command too often. Try again in " + seconds + (seconds == 1L ? " second." : " seconds.");
+    }
+
+    /**
+     * Handles the rejected invocation. This is usually invoked before the command input is parsed and should not block.
+     *
+     * @param context    command context
+     * @param rateLimit  rate limit that was exceeded
+     * @param retryAfter time until the command may be invoked again
+     */
+    void rateLimitExceeded(
+            @NonNull CommandContext<C> context,
+            @NonNull RateLimit<?> rateLimit,
+            @NonNull Duration retryAfter
+    );
+}
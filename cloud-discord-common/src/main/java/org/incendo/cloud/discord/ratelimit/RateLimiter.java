@@ -0,0 +1,416 @@
+//
+// MIT License
+//
+// Copyright (c) 2024 Incendo
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+// SOFTWARE.
+//
+package org.incendo.cloud.discord.ratelimit;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+import java.util.function.ToLongFunction;
+import org.apiguardian.api.API;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.incendo.cloud.Command;
+import org.incendo.cloud.CommandManager;
+import org.incendo.cloud.component.CommandComponent;
+import org.incendo.cloud.context.CommandContext;
+import org.incendo.cloud.context.CommandInput;
+import org.incendo.cloud.execution.postprocessor.CommandPostprocessingContext;
+import org.incendo.cloud.execution.preprocessor.CommandPreprocessingContext;
+import org.incendo.cloud.internal.CommandNode;
+import org.incendo.cloud.key.CloudKey;
+import org.incendo.cloud.services.type.ConsumerService;
+
+/**
+ * Enforces the {@link RateLimit rate limits} of commands.
+ *
+ * <p>The limiter resolves the invoked command by following the literals of the input through the command tree, and
+ * rejects the invocation before any arguments are parsed. If the input ends at a literal then the command of that
+ * literal is the command that will be invoked. Otherwise, the next token is an argument of that literal, and the
+ * invocation is charged against every rate limited command below its arguments, so an invocation that is rejected by
+ * any of them never reaches the parsers. Literal siblings of those arguments are not charged, because the next token
+ * did not match them.</p>
+ *
+ * <p>Rate limits are tracked using the generic cell rate algorithm, which stores a single timestamp per key. The
+ * timestamps are kept in striped maps and every stripe drops the timestamps that no longer affect the limit every
+ * {@value #SWEEP_INTERVAL} invocations, so idle keys do not accumulate.</p>
+ *
+ * @param <C> command sender type
+ * @since 1.0.0
+ */
+@API(status = API.Status.STABLE, since = "1.0.0")
+public final class RateLimiter<C> {
+
+    private static final CloudKey<Boolean> CONTEXT_CHECKED = CloudKey.of("cloud:rate_limit_checked", Boolean.class);
+    private static final int STRIPES = 16;
+    private static final int SWEEP_INTERVAL = 256;
+
+    private final Map<Command<?>, Buckets> buckets = new ConcurrentHashMap<>();
+    private final AtomicLong rejected = new AtomicLong();
+    private final ToLongFunction<CommandContext<C>> userId;
+    private final ToLongFunction<CommandContext<C>> guildId;
+    private final LongSupplier clock;
+
+    private volatile RateLimitExceededHandler<C> exceededHandler;
+
+    RateLimiter(
+            final @NonNull ToLongFunction<@NonNull CommandContext<C>> userId,
+            final @NonNull ToLongFunction<@NonNull CommandContext<C>> guildId,
+            final @NonNull RateLimitExceededHandler<C> exceededHandler,
+            final @NonNull LongSupplier clock
+    ) {
+        this.userId = Objects.requireNonNull(userId, "userId");
+        this.guildId = Objects.requireNonNull(guildId, "guildId");
+        this.exceededHandler = Objects.requireNonNull(exceededHandler, "exceededHandler");
+        this.clock = Objects.requireNonNull(clock, "clock");
+    }
+
+    /**
+     * Returns a new rate limiter.
+     *
+     * @param <C>             command sender type
+     * @param userId          function that extracts the ID of the invoking user from the command context
+     * @param guildId         function that extracts the ID of the guild from the command context, or {@code 0} if the
+     *                        command was not invoked in a guild
+     * @param exceededHandler handler that is invoked when an invocation is rejected
+     * @return the rate limiter
+     */
+    public static <C> @NonNull RateLimiter<C> create(
+            final @NonNull ToLongFunction<@NonNull CommandContext<C>> userId,
+            final @NonNull ToLongFunction<@NonNull CommandContext<C>> guildId,
+            final @NonNull RateLimitExceededHandler<C> exceededHandler
+    ) {
+        return new RateLimiter<>(userId, guildId, exceededHandler, System::nanoTime);
+    }
+
+    /**
+     * Registers the processors that enforce the rate limits on the given {@code commandManager}.
+     *
+     * @param commandManager command manager
+     */
+    public void install(final @NonNull CommandManager<C> commandManager) {
+        Objects.requireNonNull(commandManager, "commandManager");
+        commandManager.registerCommandPreProcessor(context -> this.preprocess(commandManager, context));
+        commandManager.registerCommandPostProcessor(this::postprocess);
+    }
+
+    /**
+     * Returns the handler that is invoked when an invocation is rejected.
+     *
+     * @return the handler
+     */
+    public @NonNull RateLimitExceededHandler<C> exceededHandler() {
+        return this.exceededHandler;
+    }
+
+    /**
+     * Sets the handler that is invoked when an invocation is rejected.
+     *
+     * @param exceededHandler the handler
+     */
+    public void exceededHandler(final @NonNull RateLimitExceededHandler<C> exceededHandler) {
+        this.exceededHandler = Objects.requireNonNull(exceededHandler, "exceededHandler");
+    }
+
+    /**
+     * Attempts to acquire a permit for an invocation of the given {@code command}.
+     *
+     * @param command   invoked command
+     * @param rateLimit rate limit of the command
+     * @param userId    ID of the invoking user
+     * @param guildId   ID of the guild, or {@code 0} if the command was not invoked in a guild
+     * @return {@link Duration#ZERO} if the invocation is allowed, else the time until it would be allowed
+     */
+    public @NonNull Duration tryAcquire(
+            final @NonNull Command<?> command,
+            final @NonNull RateLimit<?> rateLimit,
+            final long userId,
+            final long guildId
+    ) {
+        final long retryAfter = this.tryAcquireNanos(command, rateLimit, userId, guildId);
+        return retryAfter == 0L ? Duration.ZERO : Duration.ofNanos(retryAfter);
+    }
+
+    /**
+     * Returns the number of invocations that have been rejected.
+     *
+     * @return the number of rejected invocations
+     */
+    public long rejected() {
+        return this.rejected.get();
+    }
+
+    /**
+     * Returns the number of keys that are currently tracked, including keys that have expired but have not been
+     * removed yet.
+     *
+     * @return the number of keys
+     */
+    public int size() {
+        int size = 0;
+        for (final Buckets buckets : this.buckets.values()) {
+            size += buckets.size();
+        }
+        return size;
+    }
+
+    private long tryAcquireNanos(
+            final @NonNull Command<?> command,
+            final @NonNull RateLimit<?> rateLimit,
+            final long userId,
+            final long guildId
+    ) {
+        final long key;
+        switch (rateLimit.scope()) {
+            case USER:
+                key = userId;
+                break;
+            case GUILD:
+                // Snowflakes are unique across entity types, so user keys never collide with guild keys.
+                key = guildId == 0L ? userId : guildId;
+                break;
+            default:
+                key = 0L;
+                break;
+        }
+        Buckets buckets = this.buckets.get(command);
+        if (buckets == null) {
+            buckets = this.buckets.computeIfAbsent(command, ignored -> new Buckets());
+        }
+        return buckets.tryAcquire(key, this.clock.getAsLong(), rateLimit.emissionIntervalNanos(), rateLimit.toleranceNanos());
+    }
+
+    private void preprocess(
+            final @NonNull CommandManager<C> commandManager,
+            final @NonNull CommandPreprocessingContext<C> context
+    ) {
+        if (context.commandContext().isSuggestions()) {
+            return;
+        }
+        final LiteralPath<C> path = this.findLiteralPath(commandManager, context.commandInput());
+        if (path == null) {
+            return;
+        }
+        context.commandContext().store(CONTEXT_CHECKED, true);
+
+        final CommandNode<C> node = path.node;
+        if (path.exhausted) {
+            // The input ends at the literal, so the command of the literal is the one that gets invoked.
+            final Command<C> command = node.command();
+            if (command != null) {
+                this.enforce(context.commandContext(), command);
+            }
+            return;
+        }
+
+        // The command is only known once the arguments have been parsed, so every candidate is charged. The literal
+        // children did not match the next token, so the commands below them cannot be invoked.
+        final List<Command<C>> candidates = new ArrayList<>(1);
+        for (final CommandNode<C> child : node.children()) {
+            if (!isLiteral(child)) {
+                collectLimited(child, candidates);
+            }
+        }
+        for (final Command<C> candidate : candidates) {
+            this.enforce(context.commandContext(), candidate);
+        }
+    }
+
+    private void postprocess(final @NonNull CommandPostprocessingContext<C> context) {
+        if (context.commandContext().isSuggestions() || context.commandContext().contains(CONTEXT_CHECKED)) {
+            return;
+        }
+        this.enforce(context.commandContext(), context.command());
+    }
+
+    private void enforce(final @NonNull CommandContext<C> context, final @NonNull Command<C> command) {
+        final RateLimit<?> rateLimit = command.commandMeta().getOrDefault(RateLimit.META_RATE_LIMIT, null);
+        if (rateLimit == null) {
+            return;
+        }
+        final long retryAfter = this.tryAcquireNanos(
+                command,
+                rateLimit,
+                this.userId.applyAsLong(context),
+                this.guildId.applyAsLong(context)
+        );
+        if (retryAfter == 0L) {
+            return;
+        }
+        this.rejected.incrementAndGet();
+        this.exceededHandler.rateLimitExceeded(context, rateLimit, Duration.ofNanos(retryAfter));
+        ConsumerService.interrupt();
+    }
+
+    private @Nullable LiteralPath<C> findLiteralPath(
+            final @NonNull CommandManager<C> commandManager,
+            final @NonNull CommandInput commandInput
+    ) {
+        final CommandInput input = commandInput.copy();
+        input.skipWhitespace();
+        if (input.isEmpty()) {
+            return null;
+        }
+        CommandNode<C> node = findLiteral(commandManager.commandTree().rootNodes(), input.readString());
+        if (node == null) {
+            return null;
+        }
+        while (true) {
+            input.skipWhitespace();
+            if (input.isEmpty()) {
+                return new LiteralPath<>(node, true);
+            }
+            final CommandNode<C> child = findLiteral(node.children(), input.readString());
+            if (child == null) {
+                return new LiteralPath<>(node, false);
+            }
+            node = child;
+        }
+    }
+
+    private static <C> void collectLimited(
+            final @NonNull CommandNode<C> node,
+            final @NonNull List<@NonNull Command<C>> candidates
+    ) {
+        final Command<C> command = node.command();
+        if (command != null
+                && command.commandMeta().getOrDefault(RateLimit.META_RATE_LIMIT, null) != null
+                && !containsIdentity(candidates, command)) {
+            candidates.add(command);
+        }
+        for (final CommandNode<C> child : node.children()) {
+            collectLimited(child, candidates);
+        }
+    }
+
+    private static boolean isLiteral(final @NonNull CommandNode<?> node) {
+        final CommandComponent<?> component = node.component();
+        return component != null && component.type() == CommandComponent.ComponentType.LITERAL;
+    }
+
+    private static boolean containsIdentity(final @NonNull List<?> list, final @NonNull Object object) {
+        for (final Object element : list) {
+            if (element == object) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static <C> @Nullable CommandNode<C> findLiteral(
+            final @NonNull Collection<@NonNull CommandNode<C>> nodes,
+            final @NonNull String token
+    ) {
+        for (final CommandNode<C> node : nodes) {
+            if (!isLiteral(node)) {
+                continue;
+            }
+            final CommandComponent<C> component = node.component();
+            for (final String alias : component.aliases()) {
+                if (alias.equalsIgnoreCase(token)) {
+                    return node;
+                }
+            }
+        }
+        return null;
+    }
+
+    private static final class LiteralPath<C> {
+
+        private final CommandNode<C> node;
+        private final boolean exhausted;
+
+        private LiteralPath(final @NonNull CommandNode<C> node, final boolean exhausted) {
+            this.node = node;
+            this.exhausted = exhausted;
+        }
+    }
+
+    private static final class Buckets {
+
+        private final Stripe[] stripes = new Stripe[STRIPES];
+
+        private Buckets() {
+            for (int i = 0; i < STRIPES; i++) {
+                this.stripes[i] = new Stripe();
+            }
+        }
+
+        private long tryAcquire(final long key, final long now, final long interval, final long tolerance) {
+            final Stripe stripe = this.stripes[(int) (mix(key) & (STRIPES - 1))];
+            if ((stripe.operations.incrementAndGet() & (SWEEP_INTERVAL - 1)) == 0) {
+                stripe.sweep(now);
+            }
+            AtomicLong state = stripe.states.get(key);
+            if (state == null) {
+                state = stripe.states.computeIfAbsent(key, ignored -> new AtomicLong(now));
+            }
+            while (true) {
+                // The state is the theoretical arrival time: the time at which the key would be fully replenished
+                // if it had been invoked at the maximum rate.
+                final long arrival = state.get();
+                final long base = arrival - now > 0 ? arrival : now;
+                final long retryAfter = base - tolerance - now;
+                if (retryAfter > 0L) {
+                    return retryAfter;
+                }
+                if (state.compareAndSet(arrival, base + interval)) {
+                    return 0L;
+                }
+            }
+        }
+
+        private int size() {
+            int size = 0;
+            for (final Stripe stripe : this.stripes) {
+                size += stripe.states.size();
+            }
+            return size;
+        }
+
+        private static long mix(final long key) {
+            long mixed = key * 0x9E3779B97F4A7C15L;
+            mixed ^= mixed >>> 32;
+            return mixed ^ (mixed >>> 16);
+        }
+    }
+
+    private static final class Stripe {
+
+        private final Map<Long, AtomicLong> states = new ConcurrentHashMap<>();
+        private final AtomicInteger operations = new AtomicInteger();
+
+        private void sweep(final long now) {
+            // An invocation that races with the removal of its key may be counted against a fresh state, which can
+            // at most allow a single extra invocation for a key that had already been fully replenished.
+            this.states.values().removeIf(state -> state.get() - now <= 0);
+        }
+    }
+}
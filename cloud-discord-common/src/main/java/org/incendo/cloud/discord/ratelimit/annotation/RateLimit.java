@@ -0,0 +1,72 @@
+//
+// MIT License
+//
+// Copyright (c) 2024 Incendo
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+// SOFTWARE.
+//
+package org.incendo.cloud.discord.ratelimit.annotation;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+import java.time.temporal.ChronoUnit;
+import org.apiguardian.api.API;
+
+/**
+ * Annotation equivalent of {@link org.incendo.cloud.discord.ratelimit.RateLimit}.
+ *
+ * <p>This requires the installation of {@link RateLimitBuilderModifier}.</p>
+ *
+ * @since 1.0.0
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@API(status = API.Status.STABLE, since = "1.0.0")
+public @interface RateLimit {
+
+    /**
+     * Returns the number of invocations that are allowed per period.
+     *
+     * @return the number of invocations
+     */
+    int permits() default 1;
+
+    /**
+     * Returns the length of the period, in {@link #unit()}.
+     *
+     * @return the length of the period
+     */
+    long period();
+
+    /**
+     * Returns the unit of the {@link #period()}.
+     *
+     * @return the unit
+     */
+    ChronoUnit unit() default ChronoUnit.SECONDS;
+
+    /**
+     * Returns the scope that the invocations are counted in.
+     *
+     * @return the scope
+     */
+    org.incendo.cloud.discord.ratelimit.RateLimit.Scope scope() default org.incendo.cloud.discord.ratelimit.RateLimit.Scope.USER;
+}
@@ -0,0 +1,4 @@
+/**
+ * Utilities for declaring rate limits using cloud-annotations.
+ */
+package org.incendo.cloud.discord.ratelimit.annotation;
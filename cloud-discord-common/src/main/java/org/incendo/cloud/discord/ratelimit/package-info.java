@@ -0,0 +1,4 @@
+/**
+ * Rate limiting of command invocations.
+ */
+package org.incendo.cloud.discord.ratelimit;
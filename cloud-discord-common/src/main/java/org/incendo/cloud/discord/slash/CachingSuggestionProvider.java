@@ -0,0 +1,339 @@
+//
+// MIT License
+//
+// Copyright (c) 2024 Incendo
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+// SOFTWARE.
+//
+package org.incendo.cloud.discord.slash;
+
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+import org.apiguardian.api.API;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.incendo.cloud.context.CommandContext;
+import org.incendo.cloud.context.CommandInput;
+import org.incendo.cloud.suggestion.Suggestion;
+import org.incendo.cloud.suggestion.SuggestionProvider;
+
+/**
+ * Suggestion provider that caches the suggestions of another provider.
+ *
+ * <p>Discord sends an autocomplete interaction for nearly every keystroke, and the same input is often completed
+ * many times in a row. The suggestions are cached by the full command input (which contains the command path and
+ * all preceding options), the cursor position and a user-defined scope key, such as the guild or the user.
+ * Each wrapped provider has its own cache, which means that the focused option is implicitly part of the key.</p>
+ *
+ * <p>The cache holds at most {@code maximumSize} entries and evicts the least recently used entry when it is full.
+ * Entries expire {@code expireAfterWrite} after they were created. Concurrent requests for the same key share the
+ * same pending future, and failed futures are never cached.</p>
+ *
+ * <p>Caching is opt-in, and is enabled by using the caching provider as the suggestion provider of a component.
+ * The {@link DiscordCommandFactory} unwraps the provider when the command is registered, so native choices and
+ * auto-complete detection work the same as for the wrapped provider.</p>
+ *
+ * @param <C> command sender type
+ * @since 1.0.0
+ */
+@API(status = API.Status.STABLE, since = "1.0.0")
+public final class CachingSuggestionProvider<C> implements SuggestionProvider<C> {
+
+    private final SuggestionProvider<C> delegate;
+    private final int maximumSize;
+    private final long expireAfterWriteNanos;
+    private final Function<@NonNull CommandContext<C>, @Nullable Object> scopeKey;
+    private final LongSupplier clock;
+
+    private final Map<Key, Entry> entries;
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+
+    CachingSuggestionProvider(
+            final @NonNull SuggestionProvider<C> delegate,
+            final int maximumSize,
+            final @NonNull Duration expireAfterWrite,
+            final @NonNull Function<@NonNull CommandContext<C>, @Nullable Object> scopeKey,
+            final @NonNull LongSupplier clock
+    ) {
+        if (maximumSize < 1) {
+            throw new IllegalArgumentException("maximumSize must be positive");
+        }
+        if (expireAfterWrite.isNegative() || expireAfterWrite.isZero()) {
+            throw new IllegalArgumentException("expireAfterWrite must be positive");
+        }
+        this.delegate = Objects.requireNonNull(delegate, "delegate");
+        this.maximumSize = maximumSize;
+        this.expireAfterWriteNanos = expireAfterWrite.toNanos();
+        this.scopeKey = Objects.requireNonNull(scopeKey, "scopeKey");
+        this.clock = Objects.requireNonNull(clock, "clock");
+        this.entries = new LinkedHashMap<Key, Entry>(16, 0.75F, true) {
+            @Override
+            protected boolean removeEldestEntry(final Map.Entry<Key, Entry> eldest) {
+                if (this.size() > CachingSuggestionProvider.this.maximumSize) {
+                    CachingSuggestionProvider.this.evictions.incrementAndGet();
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    /**
+     * Returns a provider that caches the suggestions of the given {@code delegate} for all senders.
+     *
+     * @param <C>              command sender type
+     * @param delegate         provider to cache the suggestions of
+     * @param maximumSize      maximum number of cached inputs
+     * @param expireAfterWrite time after which cached suggestions expire
+     * @return the caching provider
+     */
+    public static <C> @NonNull CachingSuggestionProvider<C> of(
+            final @NonNull SuggestionProvider<C> delegate,
+            final int maximumSize,
+            final @NonNull Duration expireAfterWrite
+    ) {
+        return of(delegate, maximumSize, expireAfterWrite, context -> null);
+    }
+
+    /**
+     * Returns a provider that caches the suggestions of the given {@code delegate}, separately for every scope key.
+     *
+     * <p>The scope key should identify everything besides the input that the suggestions depend on, such as the
+     * guild or the user that the suggestions are for.</p>
+     *
+     * @param <C>              command sender type
+     * @param delegate         provider to cache the suggestions of
+     * @param maximumSize      maximum number of cached inputs
+     * @param expireAfterWrite time after which cached suggestions expire
+     * @param scopeKey         function that extracts the scope key from the context
+     * @return the caching provider
+     */
+    public static <C> @NonNull CachingSuggestionProvider<C> of(
+            final @NonNull SuggestionProvider<C> delegate,
+            final int maximumSize,
+            final @NonNull Duration expireAfterWrite,
+            final @NonNull Function<@NonNull CommandContext<C>, @Nullable Object> scopeKey
+    ) {
+        return new CachingSuggestionProvider<>(delegate, maximumSize, expireAfterWrite, scopeKey, System::nanoTime);
+    }
+
+    /**
+     * Returns the provider whose suggestions are cached.
+     *
+     * @return the delegate
+     */
+    public @NonNull SuggestionProvider<C> delegate() {
+        return this.delegate;
+    }
+
+    @Override
+    public @NonNull CompletableFuture<? extends @NonNull Iterable<? extends @NonNull Suggestion>> suggestionsFuture(
+            final @NonNull CommandContext<C> context,
+            final @NonNull CommandInput input
+    ) {
+        final Key key = new Key(this.scopeKey.apply(context), input.input(), input.cursor());
+        final long now = this.clock.getAsLong();
+
+        final Entry entry;
+        synchronized (this.entries) {
+            final Entry existing = this.entries.get(key);
+            if (existing != null && now - existing.createdAt < this.expireAfterWriteNanos) {
+                this.hits.incrementAndGet();
+                return existing.suggestions;
+            }
+            this.misses.incrementAndGet();
+            entry = new Entry(now);
+            this.entries.put(key, entry);
+        }
+
+        try {
+            this.delegate.suggestionsFuture(context, input).whenComplete((suggestions, throwable) -> {
+                if (throwable == null) {
+                    entry.suggestions.complete(suggestions);
+                } else {
+                    this.invalidate(key, entry);
+                    entry.suggestions.completeExceptionally(throwable);
+                }
+            });
+        } catch (final RuntimeException e) {
+            this.invalidate(key, entry);
+            entry.suggestions.completeExceptionally(e);
+        }
+        return entry.suggestions;
+    }
+
+    /**
+     * Removes all cached suggestions.
+     */
+    public void invalidateAll() {
+        synchronized (this.entries) {
+            this.entries.clear();
+        }
+    }
+
+    /**
+     * Removes the cached suggestions that have expired.
+     */
+    public void cleanUp() {
+        final long now = this.clock.getAsLong();
+        synchronized (this.entries) {
+            final Iterator<Entry> iterator = this.entries.values().iterator();
+            while (iterator.hasNext()) {
+                if (now - iterator.next().createdAt >= this.expireAfterWriteNanos) {
+                    iterator.remove();
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns the number of cached inputs.
+     *
+     * @return the number of cached inputs
+     */
+    public int size() {
+        synchronized (this.entries) {
+            return this.entries.size();
+        }
+    }
+
+    /**
+     * Returns the number of requests that were answered from the cache.
+     *
+     * @return the number of hits
+     */
+    public long hits() {
+        return this.hits.get();
+    }
+
+    /**
+     * Returns the number of requests that were forwarded to the delegate.
+     *
+     * @return the number of misses
+     */
+    public long misses() {
+        return this.misses.get();
+    }
+
+    /**
+     * Returns the number of entries that have been evicted because the cache was full.
+     *
+     * @return the number of evictions
+     */
+    public long evictions() {
+        return this.evictions.get();
+    }
+
+    /**
+     * Returns the ratio of requests that were answered from the cache, or {@code 0} if there have been no requests.
+     *
+     * @return the hit rate
+     */
+    public double hitRate() {
+        final long hits = this.hits.get();
+        final long requests = hits + this.misses.get();
+        return requests == 0 ? 0 : (double) hits / requests;
+    }
+
+    @Override
+    public String toString() {
+        return "CachingSuggestionProvider{"
+                + "delegate=" + this.delegate
+                + ", maximumSize=" + this.maximumSize
+                + ", expireAfterWrite=" + TimeUnit.NANOSECONDS.toMillis(this.expireAfterWriteNanos) + "ms"
+                + '}';
+    }
+
+    private void invalidate(final @NonNull Key key, final @NonNull Entry entry) {
+        synchronized (this.entries) {
+            this.entries.remove(key, entry);
+        }
+    }
+
+    /**
+     * Returns the provider that is wrapped by the given {@code provider}, or the provider itself if it is not a
+     * caching provider.
+     *
+     * @param <C>      command sender type
+     * @param provider provider to unwrap
+     * @return the unwrapped provider
+     */
+    static <C> @NonNull SuggestionProvider<C> unwrap(final @NonNull SuggestionProvider<C> provider) {
+        SuggestionProvider<C> unwrapped = provider;
+        while (unwrapped instanceof CachingSuggestionProvider) {
+            unwrapped = ((CachingSuggestionProvider<C>) unwrapped).delegate;
+        }
+        return unwrapped;
+    }
+
+    private static final class Key {
+
+        private final Object scope;
+        private final String input;
+        private final int cursor;
+        private final int hashCode;
+
+        private Key(final @Nullable Object scope, final @NonNull String input, final int cursor) {
+            this.scope = scope;
+            this.input = input;
+            this.cursor = cursor;
+            this.hashCode = Objects.hash(scope, input, cursor);
+        }
+
+        @Override
+        public boolean equals(final Object object) {
+            if (this == object) {
+                return true;
+            }
+            if (object == null || this.getClass() != object.getClass()) {
+                return false;
+            }
+            final Key that = (Key) object;
+            return this.cursor == that.cursor
+                    && this.hashCode == that.hashCode
+                    && this.input.equals(that.input)
+                    && Objects.equals(this.scope, that.scope);
+        }
+
+        @Override
+        public int hashCode() {
+            return this.hashCode;
+        }
+    }
+
+    private static final class Entry {
+
+        private final long createdAt;
+        private final CompletableFuture<Iterable<? extends Suggestion>> suggestions = new CompletableFuture<>();
+
+        private Entry(final long createdAt) {
+            this.createdAt = createdAt;
+        }
+    }
+}
@@ -0,0 +1,165 @@
+//
+// MIT License
+//
+// Copyright (c) 2024 Incendo
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+// SOFTWARE.
+//
+package org.incendo.cloud.discord.slash;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+import org.apiguardian.api.API;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.incendo.cloud.internal.CommandNode;
+
+/**
+ * Cache of platform command payloads, keyed by the signature of the root nodes that the payload was built from.
+ *
+ * <p>Most guilds see the exact same set of root nodes, so the payload is built once per distinct set rather than
+ * once per guild. The cache is cleared whenever the {@link NodeProcessor#revision() revision} of the tree or the revision
+ * of the configuration that the payloads are built with changes.</p>
+ *
+ * <p>The same payload instance is handed out to every caller that requests the same set of root nodes. Callers must
+ * therefore treat returned payloads as read-only, and must not mutate the objects contained in them.</p>
+ *
+ * @param <C> command sender type
+ * @param <T> payload type
+ * @since 1.0.0
+ */
+@API(status = API.Status.INTERNAL, since = "1.0.0")
+public final class CommandPayloadCache<C, T> {
+
+    private final NodeProcessor<C> nodeProcessor;
+    private final LongSupplier configurationRevision;
+    private final Map<Signature<C>, T> payloads = new HashMap<>();
+    private long revision = -1;
+    private long cachedConfigurationRevision;
+
+    /**
+     * Creates a new payload cache.
+     *
+     * @param nodeProcessor node processor that prepares the tree the payloads are built from
+     */
+    public CommandPayloadCache(final @NonNull NodeProcessor<C> nodeProcessor) {
+        this(nodeProcessor, () -> 0L);
+    }
+
+    /**
+     * Creates a new payload cache.
+     *
+     * @param nodeProcessor         node processor that prepares the tree the payloads are built from
+     * @param configurationRevision supplier of the revision of the configuration the payloads are built with, such as
+     *                              {@link DiscordCommandFactory#revision()}
+     */
+    public CommandPayloadCache(
+            final @NonNull NodeProcessor<C> nodeProcessor,
+            final @NonNull LongSupplier configurationRevision
+    ) {
+        this.nodeProcessor = Objects.requireNonNull(nodeProcessor, "nodeProcessor");
+        this.configurationRevision = Objects.requireNonNull(configurationRevision, "configurationRevision");
+    }
+
+    /**
+     * Returns the payload for the given {@code rootNodes}, building it using the {@code factory} if it is not cached.
+     *
+     * <p>The signature is made up of the identities and the order of the root nodes, so {@code rootNodes} should
+     * already have been filtered by any {@link CommandScopePredicate}.</p>
+     *
+     * <p>The returned payload may be shared with other callers and must not be mutated.</p>
+     *
+     * @param rootNodes root nodes that should be included in the payload
+     * @param factory   factory that builds the payload
+     * @return the shared payload
+     */
+    public synchronized @NonNull T payload(
+            final @NonNull List<@NonNull CommandNode<C>> rootNodes,
+            final @NonNull Function<@NonNull List<@NonNull CommandNode<C>>, @NonNull T> factory
+    ) {
+        final long revision = this.nodeProcessor.revision();
+        final long configurationRevision = this.configurationRevision.getAsLong();
+        if (revision != this.revision || configurationRevision != this.cachedConfigurationRevision) {
+            this.payloads.clear();
+            this.revision = revision;
+            this.cachedConfigurationRevision = configurationRevision;
+        }
+        return this.payloads.computeIfAbsent(new Signature<>(rootNodes), signature -> factory.apply(rootNodes));
+    }
+
+    /**
+     * Removes all cached payloads.
+     */
+    public synchronized void invalidate() {
+        this.payloads.clear();
+    }
+
+    /**
+     * Returns the number of cached payloads.
+     *
+     * @return the number of cached payloads
+     */
+    public synchronized int size() {
+        return this.payloads.size();
+    }
+
+    private static final class Signature<C> {
+
+        private final CommandNode<?>[] rootNodes;
+        private final int hashCode;
+
+        private Signature(final @NonNull List<@NonNull CommandNode<C>> rootNodes) {
+            this.rootNodes = rootNodes.toArray(new CommandNode<?>[0]);
+
+            int hashCode = 1;
+            for (final CommandNode<?> rootNode : this.rootNodes) {
+                hashCode = 31 * hashCode + System.identityHashCode(rootNode);
+            }
+            this.hashCode = hashCode;
+        }
+
+        @Override
+        public boolean equals(final Object object) {
+            if (this == object) {
+                return true;
+            }
+            if (object == null || this.getClass() != object.getClass()) {
+                return false;
+            }
+            final Signature<?> that = (Signature<?>) object;
+            if (this.hashCode != that.hashCode || this.rootNodes.length != that.rootNodes.length) {
+                return false;
+            }
+            for (int i = 0; i < this.rootNodes.length; i++) {
+                if (this.rootNodes[i] != that.rootNodes[i]) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        @Override
+        public int hashCode() {
+            return this.hashCode;
+        }
+    }
+}
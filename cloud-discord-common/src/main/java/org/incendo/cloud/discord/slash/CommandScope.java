@@ -24,11 +24,11 @@
 package org.incendo.cloud.discord.slash;
 
 import io.leangen.geantyref.TypeToken;
+import java.util.AbstractSet;
 import java.util.Arrays;
-import java.util.Collections;
-import java.util.HashSet;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
 import java.util.Set;
-import java.util.stream.Collectors;
 import org.apiguardian.api.API;
 import org.checkerframework.checker.nullness.qual.NonNull;
 import org.incendo.cloud.Command;
@@ -62,7 +62,7 @@ public interface CommandScope<C> extends Command.Builder.Applicable<C> {
      * @return guild scope
      */
     static <C> @NonNull CommandScope<C> guilds(final long @NonNull... guilds) {
-        return new Guilds<>(guilds);
+        return Guilds.of(guilds);
     }
 
     /**
@@ -72,7 +72,7 @@ public interface CommandScope<C> extends Command.Builder.Applicable<C> {
      * @return guild scope
      */
     static <C> @NonNull CommandScope<C> guilds() {
-        return new Guilds<>(-1);
+        return Guilds.of(-1);
     }
 
     /**
@@ -111,24 +111,24 @@ public interface CommandScope<C> extends Command.Builder.Applicable<C> {
     /**
      * Makes the command available in specific guilds.
      *
+     * <p>The guild IDs are stored in a sorted primitive array. Instances are immutable, and the {@code with} methods
+     * return the same instance if no new guilds are added.</p>
+     *
      * @param <C> command sender type
      * @since 1.0.0
      */
     @API(status = API.Status.STABLE, since = "1.0.0")
     final class Guilds<C> implements CommandScope<C> {
 
-        private final Set<Long> guilds;
-
-        private Guilds(final @NonNull Set<@NonNull Long> guilds) {
-            this.guilds = Collections.unmodifiableSet(guilds);
-        }
+        private final long[] guilds;
+        private volatile Set<Long> view;
 
-        private Guilds(final long @NonNull... guilds) {
-            this(Arrays.stream(guilds).boxed().collect(Collectors.toSet()));
+        private Guilds(final long @NonNull[] sortedGuilds) {
+            this.guilds = sortedGuilds;
         }
 
-        private Guilds(final long guildId) {
-            this.guilds = Collections.singleton(guildId);
+        private static <C> @NonNull Guilds<C> of(final long @NonNull... guilds) {
+            return new Guilds<>(sortedDistinct(guilds.clone()));
         }
 
         /**
@@ -137,18 +137,49 @@ public interface CommandScope<C> extends Command.Builder.Applicable<C> {
          * @return the guilds
          */
         public @NonNull Set<@NonNull Long> guilds() {
-            return this.guilds;
+            Set<Long> view = this.view;
+            if (view == null) {
+                view = new GuildSet(this.guilds);
+                this.view = view;
+            }
+            return view;
+        }
+
+        /**
+         * Returns whether the scope contains the given {@code guildId}.
+         *
+         * @param guildId guild ID
+         * @return {@code true} if the guild is part of the scope, else {@code false}
+         */
+        public boolean contains(final long guildId) {
+            return Arrays.binarySearch(this.guilds, guildId) >= 0;
+        }
+
+        /**
+         * Returns a copy of the guild IDs, sorted in ascending order.
+         *
+         * @return the guild IDs
+         */
+        public long @NonNull[] guildIds() {
+            return this.guilds.clone();
         }
 
         /**
          * Returns a new {@link Guilds} instance with the given {@code guildId} added.
          *
          * @param guildId guild to add
-         * @return the new instance
+         * @return the new instance, or {@code this} if the guild is already part of the scope
          */
         public @NonNull Guilds<C> withGuild(final long guildId) {
-            final Set<Long> guilds = new HashSet<>(this.guilds);
-            guilds.add(guildId);
+            final int index = Arrays.binarySearch(this.guilds, guildId);
+            if (index >= 0) {
+                return this;
+            }
+            final int insertionPoint = -(index + 1);
+            final long[] guilds = new long[this.guilds.length + 1];
+            System.arraycopy(this.guilds, 0, guilds, 0, insertionPoint);
+            guilds[insertionPoint] = guildId;
+            System.arraycopy(this.guilds, insertionPoint, guilds, insertionPoint + 1, this.guilds.length - insertionPoint);
             return new Guilds<>(guilds);
         }
 
@@ -156,12 +187,28 @@ public interface CommandScope<C> extends Command.Builder.Applicable<C> {
          * Returns a new {@link Guilds} instance with the given {@code guilds} added.
          *
          * @param guilds new guilds to add
-         * @return the new instance
+         * @return the new instance, or {@code this} if all the guilds are already part of the scope
          */
         public @NonNull Guilds<C> withGuild(final Set<@NonNull Long> guilds) {
-            final Set<Long> newGuilds = new HashSet<>(this.guilds);
-            newGuilds.addAll(guilds);
-            return new Guilds<>(newGuilds);
+            if (guilds instanceof GuildSet) {
+                return this.merge(((GuildSet) guilds).guilds);
+            }
+            final long[] newGuilds = new long[guilds.size()];
+            int index = 0;
+            for (final Long guild : guilds) {
+                newGuilds[index++] = guild;
+            }
+            return this.merge(sortedDistinct(newGuilds));
+        }
+
+        /**
+         * Returns a new {@link Guilds} instance with the guilds of the given {@code scope} added.
+         *
+         * @param scope scope to add the guilds of
+         * @return the new instance, or {@code this} if all the guilds are already part of the scope
+         */
+        public @NonNull Guilds<C> withGuilds(final @NonNull Guilds<C> scope) {
+            return this.merge(scope.guilds);
         }
 
         @Override
@@ -169,15 +216,166 @@ public interface CommandScope<C> extends Command.Builder.Applicable<C> {
             if (!(scope instanceof Guilds)) {
                 return false;
             }
-            final Guilds<C> guilds = (Guilds<C>) scope;
-            return this.guilds.stream().anyMatch(guildId -> guilds.guilds().contains(guildId));
+            final long[] other = ((Guilds<C>) scope).guilds;
+            final long[] smaller = this.guilds.length <= other.length ? this.guilds : other;
+            final long[] larger = smaller == this.guilds ? other : this.guilds;
+            if (smaller.length == 0) {
+                return false;
+            }
+
+            // Probing the larger array is cheaper when the sizes are skewed, which is the common case
+            // (a couple of guilds in the requested scope versus a large command scope).
+            if (smaller.length * 8 < larger.length) {
+                int from = 0;
+                for (final long guild : smaller) {
+                    final int index = Arrays.binarySearch(larger, from, larger.length, guild);
+                    if (index >= 0) {
+                        return true;
+                    }
+                    from = -(index + 1);
+                    if (from == larger.length) {
+                        return false;
+                    }
+                }
+                return false;
+            }
+
+            int i = 0;
+            int j = 0;
+            while (i < smaller.length && j < larger.length) {
+                if (smaller[i] == larger[j]) {
+                    return true;
+                } else if (smaller[i] < larger[j]) {
+                    i++;
+                } else {
+                    j++;
+                }
+            }
+            return false;
+        }
+
+        @Override
+        public boolean equals(final Object object) {
+            if (this == object) {
+                return true;
+            }
+            if (object == null || this.getClass() != object.getClass()) {
+                return false;
+            }
+            return Arrays.equals(this.guilds, ((Guilds<?>) object).guilds);
+        }
+
+        @Override
+        public int hashCode() {
+            return Arrays.hashCode(this.guilds);
         }
 
         @Override
         public @NonNull String toString() {
             return "Guilds{"
-                    + "guilds=" + this.guilds
+                    + "guilds=" + Arrays.toString(this.guilds)
                     + '}';
         }
+
+        private @NonNull Guilds<C> merge(final long @NonNull[] other) {
+            // Merging a subset is the common case, so it is detected without allocating anything.
+            if (this.containsAll(other)) {
+                return this;
+            }
+
+            final long[] merged = new long[this.guilds.length + other.length];
+            int i = 0;
+            int j = 0;
+            int length = 0;
+            while (i < this.guilds.length && j < other.length) {
+                if (this.guilds[i] == other[j]) {
+                    merged[length++] = this.guilds[i++];
+                    j++;
+                } else if (this.guilds[i] < other[j]) {
+                    merged[length++] = this.guilds[i++];
+                } else {
+                    merged[length++] = other[j++];
+                }
+            }
+            while (i < this.guilds.length) {
+                merged[length++] = this.guilds[i++];
+            }
+            while (j < other.length) {
+                merged[length++] = other[j++];
+            }
+            return new Guilds<>(length == merged.length ? merged : Arrays.copyOf(merged, length));
+        }
+
+        private boolean containsAll(final long @NonNull[] other) {
+            if (other.length > this.guilds.length) {
+                return false;
+            }
+            int i = 0;
+            for (final long guild : other) {
+                while (i < this.guilds.length && this.guilds[i] < guild) {
+                    i++;
+                }
+                if (i == this.guilds.length || this.guilds[i] != guild) {
+                    return false;
+                }
+                i++;
+            }
+            return true;
+        }
+
+        private static long @NonNull[] sortedDistinct(final long @NonNull[] guilds) {
+            if (guilds.length < 2) {
+                return guilds;
+            }
+            Arrays.sort(guilds);
+            int length = 1;
+            for (int i = 1; i < guilds.length; i++) {
+                if (guilds[i] != guilds[length - 1]) {
+                    guilds[length++] = guilds[i];
+                }
+            }
+            return length == guilds.length ? guilds : Arrays.copyOf(guilds, length);
+        }
+
+
+        private static final class GuildSet extends AbstractSet<Long> {
+
+            private final long[] guilds;
+
+            private GuildSet(final long @NonNull[] guilds) {
+                this.guilds = guilds;
+            }
+
+            @Override
+            public boolean contains(final Object object) {
+                return object instanceof Long && Arrays.binarySearch(this.guilds, (Long) object) >= 0;
+            }
+
+            @Override
+            public @NonNull Iterator<@NonNull Long> iterator() {
+                return new Iterator<Long>() {
+
+                    private int index;
+
+                    @Override
+                    public boolean hasNext() {
+                        return this.index < GuildSet.this.guilds.length;
+                    }
+
+                    @Override
+                    public @NonNull Long next() {
+                        if (!this.hasNext()) {
+                            throw new NoSuchElementException();
+                        }
+                        return GuildSet.this.guilds[this.index++];
+                    }
+                };
+            }
+
+            @Override
+            public int size() {
+                return this.guilds.length;
+            }
+        }
     }
 }
@@ -0,0 +1,57 @@
+//
+// MIT License
+//
+// Copyright (c) 2024 Incendo
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+// SOFTWARE.
+//
+package org.incendo.cloud.discord.slash;
+
+import org.apiguardian.api.API;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.incendo.cloud.Command;
+import org.incendo.cloud.component.CommandComponent;
+
+/**
+ * Listener that gets notified about changes to the command tree.
+ *
+ * @param <C> command sender type
+ * @since 1.0.0
+ * @see ListenableRegistrationHandler
+ */
+@API(status = API.Status.INTERNAL, since = "1.0.0")
+public interface CommandTreeListener<C> {
+
+    /**
+     * Invoked when the given {@code command} has been inserted into the command tree.
+     *
+     * <p>This may be invoked several times for the same command.</p>
+     *
+     * @param command registered command
+     */
+    void commandRegistered(@NonNull Command<C> command);
+
+    /**
+     * Invoked when the root command represented by the given {@code rootComponent} is about to be removed
+     * from the command tree.
+     *
+     * @param rootComponent component of the root command
+     */
+    void rootCommandUnregistered(@NonNull CommandComponent<C> rootComponent);
+}
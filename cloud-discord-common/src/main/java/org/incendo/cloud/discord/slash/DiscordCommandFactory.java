@@ -60,4 +60,14 @@ public interface DiscordCommandFactory<C> {
      * @return The current set suggestion registration mapper.
      */
     @NonNull Function<SuggestionProvider<C>, SuggestionProvider<C>> suggestionRegistrationMapper();
+
+    /**
+     * Returns the revision of the configuration that the created commands depend on, such as the option mappings
+     * and the suggestion registration mapper. Commands created under an older revision may be outdated.
+     *
+     * @return the current revision
+     */
+    default long revision() {
+        return 0L;
+    }
 }
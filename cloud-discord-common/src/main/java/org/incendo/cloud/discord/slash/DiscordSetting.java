@@ -48,5 +48,13 @@ public enum DiscordSetting implements Setting {
     /**
      * Always defer replies.
      */
-    FORCE_DEFER_EPHEMERAL
+    FORCE_DEFER_EPHEMERAL,
+    /**
+     * Whether slash command registration should compare the generated commands to the registered commands,
+     * and only send the commands that have changed.
+     *
+     * <p>This is the single switch for command diffing, and is honoured by every platform that registers slash
+     * commands.</p>
+     */
+    DIFF_SLASH_COMMANDS
 }
@@ -0,0 +1,71 @@
+//
+// MIT License
+//
+// Copyright (c) 2024 Incendo
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+// SOFTWARE.
+//
+package org.incendo.cloud.discord.slash;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.apiguardian.api.API;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.incendo.cloud.suggestion.Suggestion;
+import org.incendo.cloud.suggestion.Suggestions;
+import org.incendo.cloud.util.StringUtils;
+
+/**
+ * Utilities for mapping Cloud suggestions to Discord autocomplete choices.
+ *
+ * @since 1.0.0
+ */
+@API(status = API.Status.INTERNAL, since = "1.0.0")
+public final class DiscordSuggestions {
+
+    private DiscordSuggestions() {
+    }
+
+    /**
+     * Returns the values of the given {@code suggestions} that should be sent to Discord as autocomplete choices.
+     *
+     * <p>Discord only replaces the focused option, so suggestions that span multiple words are trimmed to the words
+     * that are part of the focused option. Empty suggestions are removed.</p>
+     *
+     * @param <S>         suggestion type
+     * @param suggestions suggestions to map
+     * @return the choice values
+     */
+    public static <S extends Suggestion> @NonNull List<@NonNull String> values(
+            final @NonNull Suggestions<?, S> suggestions
+    ) {
+        final List<S> list = suggestions.list();
+        final List<String> values = new ArrayList<>(list.size());
+        for (final S suggestion : list) {
+            String value = suggestion.suggestion();
+            if (value.indexOf(' ') != -1) {
+                value = StringUtils.trimBeforeLastSpace(value, suggestions.commandInput());
+            }
+            if (value != null && !value.isEmpty()) {
+                values.add(value);
+            }
+        }
+        return values;
+    }
+}
@@ -0,0 +1,81 @@
+//
+// MIT License
+//
+// Copyright (c) 2024 Incendo
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+// SOFTWARE.
+//
+package org.incendo.cloud.discord.slash;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CopyOnWriteArrayList;
+import org.apiguardian.api.API;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.incendo.cloud.Command;
+import org.incendo.cloud.component.CommandComponent;
+import org.incendo.cloud.internal.CommandRegistrationHandler;
+
+/**
+ * Registration handler that forwards command tree changes to {@link CommandTreeListener listeners}.
+ *
+ * <p>Slash commands are registered with Discord by the platform listeners, so this handler does not register
+ * anything by itself. It only lets the registration pipeline know which parts of the tree have changed.</p>
+ *
+ * @param <C> command sender type
+ * @since 1.0.0
+ */
+@API(status = API.Status.INTERNAL, since = "1.0.0")
+public final class ListenableRegistrationHandler<C> implements CommandRegistrationHandler<C> {
+
+    private final List<CommandTreeListener<C>> listeners = new CopyOnWriteArrayList<>();
+
+    /**
+     * Adds the given {@code listener}.
+     *
+     * @param listener listener to add
+     */
+    public void addListener(final @NonNull CommandTreeListener<C> listener) {
+        this.listeners.add(Objects.requireNonNull(listener, "listener"));
+    }
+
+    /**
+     * Removes the given {@code listener}.
+     *
+     * @param listener listener to remove
+     */
+    public void removeListener(final @NonNull CommandTreeListener<C> listener) {
+        this.listeners.remove(Objects.requireNonNull(listener, "listener"));
+    }
+
+    @Override
+    public boolean registerCommand(final @NonNull Command<C> command) {
+        for (final CommandTreeListener<C> listener : this.listeners) {
+            listener.commandRegistered(command);
+        }
+        return true;
+    }
+
+    @Override
+    public void unregisterRootCommand(final @NonNull CommandComponent<C> rootCommand) {
+        for (final CommandTreeListener<C> listener : this.listeners) {
+            listener.rootCommandUnregistered(rootCommand);
+        }
+    }
+}
@@ -24,44 +24,248 @@
 package org.incendo.cloud.discord.slash;
 
 import io.leangen.geantyref.TypeToken;
+import java.util.ArrayList;
 import java.util.Collections;
-import java.util.LinkedList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
 import org.apiguardian.api.API;
 import org.checkerframework.checker.nullness.qual.NonNull;
-import org.checkerframework.checker.nullness.qual.Nullable;
+import org.incendo.cloud.Command;
+import org.incendo.cloud.CommandManager;
 import org.incendo.cloud.CommandTree;
+import org.incendo.cloud.component.CommandComponent;
 import org.incendo.cloud.internal.CommandNode;
+import org.incendo.cloud.internal.CommandRegistrationHandler;
 import org.incendo.cloud.key.CloudKey;
 
 /**
  * Processes {@link CommandNode nodes} and prepares them for mapping to Discord commands.
  *
+ * <p>When the processor is created from a {@link CommandManager} that uses a {@link ListenableRegistrationHandler},
+ * only the root commands that have changed since the last preparation are processed again. Otherwise, the entire
+ * tree is processed every time {@link #prepareTree()} is invoked.</p>
+ *
+ * <p>The processor also maintains an index from guild IDs to the root nodes that are scoped to them, which
+ * allows {@link #rootNodes(CommandScope)} to run in time proportional to the number of matching root nodes.</p>
+ *
  * @param <C> command sender type
  * @since 1.0.0
  */
 @API(status = API.Status.INTERNAL, since = "1.0.0")
-public final class NodeProcessor<C> {
+public final class NodeProcessor<C> implements CommandTreeListener<C> {
 
     public static final CloudKey<CommandScope<?>> NODE_META_SCOPE = CloudKey.of("scope", new TypeToken<CommandScope<?>>() {});
 
     private final CommandTree<C> commandTree;
+    private final boolean tracking;
+
+    private final Set<Command<C>> knownCommands = Collections.newSetFromMap(new IdentityHashMap<>());
+    private final Set<String> dirtyRoots = new LinkedHashSet<>();
+    private boolean fullRebuild = true;
+    private volatile long revision;
+
+    private final Map<String, IndexedRoot<C>> indexedRoots = new HashMap<>();
+    private final Set<CommandNode<C>> globalRoots = new LinkedHashSet<>();
+    private final Map<Long, Set<CommandNode<C>>> guildRoots = new HashMap<>();
+    private final Set<CommandNode<C>> otherRoots = new LinkedHashSet<>();
 
     /**
-     * Creates a new node processor.
+     * Creates a new node processor that processes the entire tree every time it is prepared.
      *
      * @param commandTree tree that should be processed
      */
     public NodeProcessor(final @NonNull CommandTree<C> commandTree) {
         this.commandTree = Objects.requireNonNull(commandTree, "commandTree");
+        this.tracking = false;
+    }
+
+    /**
+     * Creates a new node processor for the tree of the given {@code commandManager}.
+     *
+     * <p>If the manager uses a {@link ListenableRegistrationHandler} then the processor will only process the
+     * root commands that have changed since the tree was last prepared.</p>
+     *
+     * @param commandManager command manager that owns the tree that should be processed
+     */
+    @SuppressWarnings("unchecked")
+    public NodeProcessor(final @NonNull CommandManager<C> commandManager) {
+        Objects.requireNonNull(commandManager, "commandManager");
+        this.commandTree = commandManager.commandTree();
+
+        final CommandRegistrationHandler<C> registrationHandler = commandManager.commandRegistrationHandler();
+        if (registrationHandler instanceof ListenableRegistrationHandler) {
+            ((ListenableRegistrationHandler<C>) registrationHandler).addListener(this);
+            this.tracking = true;
+        } else {
+            this.tracking = false;
+        }
     }
 
     /**
      * Prepares the command tree.
+     *
+     * <p>This is a no-op if the processor tracks changes and nothing has changed since the last invocation.</p>
+     */
+    public synchronized void prepareTree() {
+        if (!this.tracking || this.fullRebuild) {
+            this.fullRebuild = false;
+            this.dirtyRoots.clear();
+            for (final CommandNode<C> leaf : this.commandTree.getLeavesRaw(this.commandTree.rootNode())) {
+                this.propagateRequirements(leaf);
+                if (this.tracking) {
+                    this.knownCommands.add(leaf.command());
+                }
+            }
+            this.rebuildIndex();
+            this.revision++;
+            return;
+        }
+
+        if (this.dirtyRoots.isEmpty()) {
+            return;
+        }
+
+        for (final String rootName : this.dirtyRoots) {
+            this.unindex(rootName);
+
+            final CommandNode<C> rootNode = this.commandTree.getNamedNode(rootName);
+            if (rootNode == null) {
+                continue;
+            }
+            this.commandTree.getLeavesRaw(rootNode).forEach(this::propagateRequirements);
+            this.index(rootNode);
+        }
+        this.dirtyRoots.clear();
+        this.revision++;
+    }
+
+    /**
+     * Returns the revision of the prepared tree.
+     *
+     * <p>The revision changes every time {@link #prepareTree()} processes any part of the tree, and can be used to
+     * invalidate data that has been derived from the tree.</p>
+     *
+     * @return the revision
      */
-    public void prepareTree() {
-        this.commandTree.getLeavesRaw(this.commandTree.rootNode()).forEach(this::propagateRequirements);
+    public long revision() {
+        return this.revision;
+    }
+
+    /**
+     * Returns the root nodes that should be registered to the given {@code scope}.
+     *
+     * <p>A root node matches if its propagated scope {@link CommandScope#overlaps(CommandScope) overlaps} the given
+     * scope. The tree must be {@link #prepareTree() prepared} before invoking this method.</p>
+     *
+     * @param scope scope to get the root nodes for
+     * @return the matching root nodes, sorted by name
+     */
+    @SuppressWarnings("unchecked")
+    public synchronized @NonNull List<@NonNull CommandNode<C>> rootNodes(final @NonNull CommandScope<C> scope) {
+        Objects.requireNonNull(scope, "scope");
+
+        final List<CommandNode<C>> rootNodes = new ArrayList<>();
+        if (scope instanceof CommandScope.Global) {
+            rootNodes.addAll(this.globalRoots);
+        } else if (scope instanceof CommandScope.Guilds) {
+            final long[] guildIds = ((CommandScope.Guilds<C>) scope).guildIds();
+            if (guildIds.length == 1) {
+                rootNodes.addAll(this.guildRoots.getOrDefault(guildIds[0], Collections.emptySet()));
+            } else {
+                final Set<CommandNode<C>> matches = Collections.newSetFromMap(new IdentityHashMap<>());
+                for (final long guildId : guildIds) {
+                    for (final CommandNode<C> rootNode : this.guildRoots.getOrDefault(guildId, Collections.emptySet())) {
+                        if (matches.add(rootNode)) {
+                            rootNodes.add(rootNode);
+                        }
+                    }
+                }
+            }
+        }
+        for (final CommandNode<C> rootNode : this.otherRoots) {
+            if (((CommandScope<C>) rootNode.nodeMeta().get(NODE_META_SCOPE)).overlaps(scope)) {
+                rootNodes.add(rootNode);
+            }
+        }
+
+        rootNodes.sort(Comparator.comparing(rootNode -> rootNode.component().name()));
+        return rootNodes;
+    }
+
+    @Override
+    public synchronized void commandRegistered(final @NonNull Command<C> command) {
+        // The registration handler is invoked for every command each time the tree is verified, so we only
+        // care about commands that we haven't seen before.
+        if (this.knownCommands.add(command)) {
+            this.dirtyRoots.add(command.rootComponent().name());
+        }
+    }
+
+    @Override
+    public synchronized void rootCommandUnregistered(final @NonNull CommandComponent<C> rootComponent) {
+        final String rootName = rootComponent.name();
+        this.knownCommands.removeIf(command -> command.rootComponent().name().equals(rootName));
+        this.dirtyRoots.add(rootName);
+    }
+
+    private void rebuildIndex() {
+        this.indexedRoots.clear();
+        this.globalRoots.clear();
+        this.guildRoots.clear();
+        this.otherRoots.clear();
+        for (final CommandNode<C> rootNode : this.commandTree.rootNodes()) {
+            this.index(rootNode);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private void index(final @NonNull CommandNode<C> rootNode) {
+        final CommandScope<C> scope = (CommandScope<C>) rootNode.nodeMeta().getOrNull(NODE_META_SCOPE);
+        if (scope == null) {
+            return;
+        }
+        this.indexedRoots.put(rootNode.component().name(), new IndexedRoot<>(rootNode, scope));
+
+        if (scope instanceof CommandScope.Global) {
+            this.globalRoots.add(rootNode);
+        } else if (scope instanceof CommandScope.Guilds) {
+            for (final long guildId : ((CommandScope.Guilds<C>) scope).guildIds()) {
+                this.guildRoots.computeIfAbsent(guildId, id -> new LinkedHashSet<>()).add(rootNode);
+            }
+        } else {
+            this.otherRoots.add(rootNode);
+        }
+    }
+
+    private void unindex(final @NonNull String rootName) {
+        final IndexedRoot<C> indexedRoot = this.indexedRoots.remove(rootName);
+        if (indexedRoot == null) {
+            return;
+        }
+
+        final CommandScope<C> scope = indexedRoot.scope;
+        if (scope instanceof CommandScope.Global) {
+            this.globalRoots.remove(indexedRoot.node);
+        } else if (scope instanceof CommandScope.Guilds) {
+            for (final long guildId : ((CommandScope.Guilds<C>) scope).guildIds()) {
+                final Set<CommandNode<C>> rootNodes = this.guildRoots.get(guildId);
+                if (rootNodes == null) {
+                    continue;
+                }
+                rootNodes.remove(indexedRoot.node);
+                if (rootNodes.isEmpty()) {
+                    this.guildRoots.remove(guildId);
+                }
+            }
+        } else {
+            this.otherRoots.remove(indexedRoot.node);
+        }
     }
 
     @SuppressWarnings("unchecked")
@@ -72,11 +276,7 @@ public final class NodeProcessor<C> {
         );
         leafNode.nodeMeta().set(NODE_META_SCOPE, parentScope);
 
-        List<CommandNode<C>> chain = this.getChain(leafNode);
-        Collections.reverse(chain);
-        chain = chain.subList(1, chain.size());
-
-        for (final CommandNode<C> commandNode : chain) {
+        for (CommandNode<C> commandNode = leafNode.parent(); commandNode != null; commandNode = commandNode.parent()) {
             final CommandScope<C> existingScope = (CommandScope<C>) commandNode.nodeMeta().getOrNull(NODE_META_SCOPE);
 
             CommandScope<C> scope;
@@ -87,7 +287,7 @@ public final class NodeProcessor<C> {
                 } else if (existingScope instanceof CommandScope.Guilds) {
                     if (parentScope instanceof CommandScope.Guilds) {
                         scope = ((CommandScope.Guilds<C>) existingScope)
-                                .withGuild(((CommandScope.Guilds<C>) parentScope).guilds());
+                                .withGuilds((CommandScope.Guilds<C>) parentScope);
                     } else {
                         scope = existingScope;
                     }
@@ -102,14 +302,14 @@ public final class NodeProcessor<C> {
         }
     }
 
-    private @NonNull List<@NonNull CommandNode<C>> getChain(final @Nullable CommandNode<C> end) {
-        final List<CommandNode<C>> chain = new LinkedList<>();
-        CommandNode<C> tail = end;
-        while (tail != null) {
-            chain.add(tail);
-            tail = tail.parent();
+    private static final class IndexedRoot<C> {
+
+        private final CommandNode<C> node;
+        private final CommandScope<C> scope;
+
+        private IndexedRoot(final @NonNull CommandNode<C> node, final @NonNull CommandScope<C> scope) {
+            this.node = node;
+            this.scope = scope;
         }
-        Collections.reverse(chain);
-        return chain;
     }
 }
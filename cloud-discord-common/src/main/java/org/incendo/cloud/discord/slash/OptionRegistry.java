@@ -67,6 +67,18 @@ public interface OptionRegistry<C> {
      */
     @NonNull Collection<@NonNull DiscordOptionType<?>> optionTypes();
 
+    /**
+     * Returns the revision of the registry. The revision changes whenever a mapping is registered, which lets
+     * consumers discard anything they derived from the previous mappings.
+     *
+     * <p>Registries that cannot be modified after they have been created may keep the default revision.</p>
+     *
+     * @return the current revision
+     */
+    default long revision() {
+        return 0L;
+    }
+
     /**
      * Returns the option type with the given {@code value}, if it exists.
      *
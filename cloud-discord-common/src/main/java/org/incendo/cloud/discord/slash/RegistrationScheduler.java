@@ -0,0 +1,428 @@
+//
+// MIT License
+//
+// Copyright (c) 2024 Incendo
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+// SOFTWARE.
+//
+package org.incendo.cloud.discord.slash;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+import org.apiguardian.api.API;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * Schedules slash command registrations so that they do not all hit Discord at once.
+ *
+ * <p>Registrations are queued by key, which is either a guild ID or {@link #GLOBAL_KEY}. A registration that is
+ * scheduled while another registration for the same key is still queued replaces the queued task, and both callers
+ * share the same future. At most {@code concurrency} registrations run at a time, and registrations are started at
+ * the rate of a token bucket that holds {@code burst} tokens and is refilled at {@code permitsPerSecond}.</p>
+ *
+ * <p>Each command manager owns its own scheduler, as the queue and the rate are per bot. Schedulers that are created
+ * without an explicit executor all share one process-wide daemon thread, so they do not need to be shut down.</p>
+ *
+ * @since 1.0.0
+ */
+@API(status = API.Status.STABLE, since = "1.0.0")
+public final class RegistrationScheduler {
+
+    /**
+     * Key used for global command registrations. Discord never assigns {@code 0} as a snowflake.
+     */
+    public static final long GLOBAL_KEY = 0L;
+
+    public static final int DEFAULT_CONCURRENCY = 4;
+    public static final double DEFAULT_PERMITS_PER_SECOND = 5.0D;
+    public static final int DEFAULT_BURST = 10;
+
+    private final ScheduledExecutorService executor;
+    private final int concurrency;
+    private final double permitsPerNano;
+    private final int burst;
+    private final LongSupplier clock;
+
+    private final Map<Long, Registration> queue = new LinkedHashMap<>();
+    private final Set<Long> running = new HashSet<>();
+
+    private double tokens;
+    private long lastRefill;
+    private boolean dispatchScheduled;
+
+    private long scheduled;
+    private long coalesced;
+    private long completed;
+    private long failed;
+
+    RegistrationScheduler(
+            final @NonNull ScheduledExecutorService executor,
+            final int concurrency,
+            final double permitsPerSecond,
+            final int burst,
+            final @NonNull LongSupplier clock
+    ) {
+        if (concurrency < 1) {
+            throw new IllegalArgumentException("concurrency must be positive");
+        }
+        if (permitsPerSecond <= 0) {
+            throw new IllegalArgumentException("permitsPerSecond must be positive");
+        }
+        if (burst < 1) {
+            throw new IllegalArgumentException("burst must be positive");
+        }
+        this.executor = Objects.requireNonNull(executor, "executor");
+        this.concurrency = concurrency;
+        this.permitsPerNano = permitsPerSecond / TimeUnit.SECONDS.toNanos(1);
+        this.burst = burst;
+        this.clock = Objects.requireNonNull(clock, "clock");
+        this.tokens = burst;
+        this.lastRefill = clock.getAsLong();
+    }
+
+    /**
+     * Returns a new scheduler using the default settings.
+     *
+     * @return the scheduler
+     */
+    public static @NonNull RegistrationScheduler create() {
+        return create(DEFAULT_CONCURRENCY, DEFAULT_PERMITS_PER_SECOND, DEFAULT_BURST);
+    }
+
+    /**
+     * Returns a new scheduler that runs on the shared daemon thread.
+     *
+     * @param concurrency      maximum number of registrations that may run at the same time
+     * @param permitsPerSecond rate at which registrations may be started
+     * @param burst            number of registrations that may be started at once before the rate applies
+     * @return the scheduler
+     */
+    public static @NonNull RegistrationScheduler create(
+            final int concurrency,
+            final double permitsPerSecond,
+            final int burst
+    ) {
+        return create(SharedExecutor.INSTANCE, concurrency, permitsPerSecond, burst);
+    }
+
+    /**
+     * Returns a new scheduler that runs on the given {@code executor}.
+     *
+     * @param executor         executor that starts the registrations
+     * @param concurrency      maximum number of registrations that may run at the same time
+     * @param permitsPerSecond rate at which registrations may be started
+     * @param burst            number of registrations that may be started at once before the rate applies
+     * @return the scheduler
+     */
+    public static @NonNull RegistrationScheduler create(
+            final @NonNull ScheduledExecutorService executor,
+            final int concurrency,
+            final double permitsPerSecond,
+            final int burst
+    ) {
+        return new RegistrationScheduler(executor, concurrency, permitsPerSecond, burst, System::nanoTime);
+    }
+
+    /**
+     * Schedules a registration.
+     *
+     * <p>If a registration for the same {@code key} is already queued then its task is replaced by the given
+     * {@code task}, and the future of the queued registration is returned.</p>
+     *
+     * @param key  guild ID, or {@link #GLOBAL_KEY}
+     * @param task task that performs the registration
+     * @return future that completes when the registration has completed
+     */
+    public @NonNull CompletableFuture<Void> schedule(
+            final long key,
+            final @NonNull Supplier<@NonNull CompletionStage<?>> task
+    ) {
+        Objects.requireNonNull(task, "task");
+        final CompletableFuture<Void> future;
+        synchronized (this) {
+            this.scheduled++;
+            final Registration existing = this.queue.get(key);
+            if (existing != null) {
+                this.coalesced++;
+                existing.task = task;
+                return existing.future;
+            }
+            final Registration registration = new Registration(key, task);
+            this.queue.put(key, registration);
+            future = registration.future;
+        }
+        this.executor.execute(this::dispatch);
+        return future;
+    }
+
+    /**
+     * Returns the number of registrations that are waiting to be started.
+     *
+     * @return the queue depth
+     */
+    public synchronized int queueDepth() {
+        return this.queue.size();
+    }
+
+    /**
+     * Returns the number of registrations that are currently running.
+     *
+     * @return the number of running registrations
+     */
+    public synchronized int inFlight() {
+        return this.running.size();
+    }
+
+    /**
+     * Returns a snapshot of the progress of the scheduler.
+     *
+     * @return the progress
+     */
+    public synchronized @NonNull Progress progress() {
+        return new Progress(
+                this.scheduled,
+                this.coalesced,
+                this.completed,
+                this.failed,
+                this.queue.size(),
+                this.running.size()
+        );
+    }
+
+    private void dispatch() {
+        final List<Registration> registrations = new ArrayList<>();
+        synchronized (this) {
+            this.dispatchScheduled = false;
+            this.refill();
+
+            final Iterator<Registration> iterator = this.queue.values().iterator();
+            while (iterator.hasNext() && this.running.size() < this.concurrency) {
+                final Registration registration = iterator.next();
+                if (this.running.contains(registration.key)) {
+                    // Registrations for the same key never run concurrently.
+                    continue;
+                }
+                if (this.tokens < 1) {
+                    this.scheduleDispatch((long) Math.ceil((1 - this.tokens) / this.permitsPerNano));
+                    break;
+                }
+                this.tokens--;
+                iterator.remove();
+                this.running.add(registration.key);
+                registrations.add(registration);
+            }
+        }
+        for (final Registration registration : registrations) {
+            this.executor.execute(() -> this.run(registration));
+        }
+    }
+
+    private void run(final @NonNull Registration registration) {
+        CompletionStage<?> stage = null;
+        Throwable failure = null;
+        try {
+            stage = Objects.requireNonNull(registration.task.get(), "stage");
+        } catch (final RuntimeException e) {
+            failure = e;
+        } catch (final Error e) {
+            failure = e;
+            throw e;
+        } finally {
+            // The slot of the key is released even if the task threw an Error, so that the key keeps syncing.
+            if (stage == null) {
+                this.finish(registration, failure);
+            }
+        }
+        stage.whenComplete((result, throwable) -> this.finish(registration, throwable));
+    }
+
+    private void finish(final @NonNull Registration registration, final @Nullable Throwable throwable) {
+        synchronized (this) {
+            this.running.remove(registration.key);
+            if (throwable == null) {
+                this.completed++;
+            } else {
+                this.failed++;
+            }
+        }
+        if (throwable == null) {
+            registration.future.complete(null);
+        } else {
+            registration.future.completeExceptionally(throwable);
+        }
+        this.executor.execute(this::dispatch);
+    }
+
+    private void refill() {
+        final long now = this.clock.getAsLong();
+        this.tokens = Math.min(this.burst, this.tokens + (now - this.lastRefill) * this.permitsPerNano);
+        this.lastRefill = now;
+    }
+
+    private void scheduleDispatch(final long delayNanos) {
+        if (this.dispatchScheduled) {
+            return;
+        }
+        this.dispatchScheduled = true;
+        this.executor.schedule(this::dispatch, Math.max(1, delayNanos), TimeUnit.NANOSECONDS);
+    }
+
+    private static final class SharedExecutor {
+
+        // Initialized on first use, so that the thread is only started once a scheduler is created.
+        private static final ScheduledThreadPoolExecutor INSTANCE = createExecutor();
+
+        private SharedExecutor() {
+        }
+
+        private static @NonNull ScheduledThreadPoolExecutor createExecutor() {
+            final ScheduledThreadPoolExecutor executor = new ScheduledThreadPoolExecutor(1, runnable -> {
+                final Thread thread = new Thread(runnable, "cloud-discord-registration");
+                thread.setDaemon(true);
+                return thread;
+            });
+            executor.setRemoveOnCancelPolicy(true);
+            return executor;
+        }
+    }
+
+    private static final class Registration {
+
+        private final long key;
+        private final CompletableFuture<Void> future = new CompletableFuture<>();
+        private Supplier<CompletionStage<?>> task;
+
+        private Registration(final long key, final @NonNull Supplier<@NonNull CompletionStage<?>> task) {
+            this.key = key;
+            this.task = task;
+        }
+    }
+
+    /**
+     * Snapshot of the progress of a {@link RegistrationScheduler}.
+     *
+     * @since 1.0.0
+     */
+    @API(status = API.Status.STABLE, since = "1.0.0")
+    public static final class Progress {
+
+        private final long scheduled;
+        private final long coalesced;
+        private final long completed;
+        private final long failed;
+        private final int queueDepth;
+        private final int inFlight;
+
+        private Progress(
+                final long scheduled,
+                final long coalesced,
+                final long completed,
+                final long failed,
+                final int queueDepth,
+                final int inFlight
+        ) {
+            this.scheduled = scheduled;
+            this.coalesced = coalesced;
+            this.completed = completed;
+            this.failed = failed;
+            this.queueDepth = queueDepth;
+            this.inFlight = inFlight;
+        }
+
+        /**
+         * Returns the number of registrations that have been scheduled, including coalesced registrations.
+         *
+         * @return the number of scheduled registrations
+         */
+        public long scheduled() {
+            return this.scheduled;
+        }
+
+        /**
+         * Returns the number of registrations that replaced an already queued registration for the same key.
+         *
+         * @return the number of coalesced registrations
+         */
+        public long coalesced() {
+            return this.coalesced;
+        }
+
+        /**
+         * Returns the number of registrations that have completed successfully.
+         *
+         * @return the number of completed registrations
+         */
+        public long completed() {
+            return this.completed;
+        }
+
+        /**
+         * Returns the number of registrations that have failed.
+         *
+         * @return the number of failed registrations
+         */
+        public long failed() {
+            return this.failed;
+        }
+
+        /**
+         * Returns the number of registrations that were waiting to be started.
+         *
+         * @return the queue depth
+         */
+        public int queueDepth() {
+            return this.queueDepth;
+        }
+
+        /**
+         * Returns the number of registrations that were running.
+         *
+         * @return the number of running registrations
+         */
+        public int inFlight() {
+            return this.inFlight;
+        }
+
+        @Override
+        public String toString() {
+            return "Progress{"
+                    + "scheduled=" + this.scheduled
+                    + ", coalesced=" + this.coalesced
+                    + ", completed=" + this.completed
+                    + ", failed=" + this.failed
+                    + ", queueDepth=" + this.queueDepth
+                    + ", inFlight=" + this.inFlight
+                    + '}';
+        }
+    }
+}
@@ -29,6 +29,7 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
@@ -57,9 +58,15 @@ import org.incendo.cloud.type.range.Range;
 public class StandardDiscordCommandFactory<C> implements DiscordCommandFactory<C> {
 
     private final OptionRegistry<C> optionRegistry;
+    private final @Nullable NodeProcessor<C> nodeProcessor;
     private final Map<Class<?>, RangeMapper<C, ?, ?>> rangeMappers = new HashMap<>();
+    private final Map<CommandComponent<C>, List<DiscordOption<C>>> variableCache =
+            Collections.synchronizedMap(new IdentityHashMap<>());
 
     private Function<SuggestionProvider<C>, SuggestionProvider<C>> suggestionRegistrationMapper = provider -> provider;
+    private volatile long mapperRevision;
+    private long cachedRevision;
+    private long cachedTreeRevision;
 
     /**
      * Creates a new factory instance.
@@ -67,7 +74,25 @@ public class StandardDiscordCommandFactory<C> implements DiscordCommandFactory<C
      * @param optionRegistry option registry to retrieve option types from
      */
     public StandardDiscordCommandFactory(final @NonNull OptionRegistry<C> optionRegistry) {
+        this(optionRegistry, null);
+    }
+
+    /**
+     * Creates a new factory instance.
+     *
+     * <p>The compiled variable options are memoized per component. The memoized options are discarded whenever the
+     * {@link NodeProcessor#revision() revision} of the {@code nodeProcessor} or the {@link #revision()} of this factory
+     * changes, so that components that were removed from the tree are not retained.</p>
+     *
+     * @param optionRegistry option registry to retrieve option types from
+     * @param nodeProcessor  node processor that prepares the tree the commands are created from, or {@code null}
+     */
+    public StandardDiscordCommandFactory(
+            final @NonNull OptionRegistry<C> optionRegistry,
+            final @Nullable NodeProcessor<C> nodeProcessor
+    ) {
         this.optionRegistry = Objects.requireNonNull(optionRegistry, "optionRegistry");
+        this.nodeProcessor = nodeProcessor;
 
         this.registerRangeMapper(new TypeToken<ByteParser<C>>() {});
         this.registerRangeMapper(new TypeToken<ShortParser<C>>() {});
@@ -93,6 +118,7 @@ public class StandardDiscordCommandFactory<C> implements DiscordCommandFactory<C
         Objects.requireNonNull(mapper, "mapper");
 
         this.rangeMappers.put(GenericTypeReflector.erase(parserClass.getType()), mapper);
+        this.mapperRevision++;
     }
 
     private <T extends Number, P extends NumberParser<C, T, ?>> void registerRangeMapper(
@@ -110,15 +136,62 @@ public class StandardDiscordCommandFactory<C> implements DiscordCommandFactory<C
     @Override
     public @NonNull DiscordCommand<C> create(final @NonNull CommandNode<C> node) {
         Objects.requireNonNull(node, "node");
+        this.discardStaleVariables();
 
         final CommandComponent<C> component = node.component();
+        return DiscordCommand.<C>builder()
+                .name(component.name())
+                .description(this.describe(component))
+                .addAllOptions(this.compileChain(node))
+                .build();
+    }
+
+    @Override
+    public void suggestionRegistrationMapper(
+            final @NonNull Function<SuggestionProvider<C>, SuggestionProvider<C>> suggestionRegistrationMapper
+    ) {
+        this.suggestionRegistrationMapper = Objects.requireNonNull(suggestionRegistrationMapper);
+        this.mapperRevision++;
+    }
+
+    @Override
+    public @NonNull Function<SuggestionProvider<C>, SuggestionProvider<C>> suggestionRegistrationMapper() {
+        return this.suggestionRegistrationMapper;
+    }
+
+    @Override
+    public long revision() {
+        // Both revisions only ever increase, so their sum changes whenever either of them does.
+        return this.mapperRevision + this.optionRegistry.revision();
+    }
+
+    private void discardStaleVariables() {
+        final long revision = this.revision();
+        final long treeRevision = this.nodeProcessor == null ? 0L : this.nodeProcessor.revision();
+        synchronized (this.variableCache) {
+            if (revision != this.cachedRevision || treeRevision != this.cachedTreeRevision) {
+                this.variableCache.clear();
+                this.cachedRevision = revision;
+                this.cachedTreeRevision = treeRevision;
+            }
+        }
+    }
+
+    /**
+     * Compiles the options that belong to the given {@code node}, walking down the first-child chain until a
+     * subcommand (group) takes over.
+     *
+     * @param node node to compile the children of
+     * @return the options
+     */
+    private @NonNull List<@NonNull DiscordOption<C>> compileChain(final @NonNull CommandNode<C> node) {
         final List<DiscordOption<C>> options = new ArrayList<>();
 
         CommandNode<C> currentNode = node;
         while (currentNode != null) {
             boolean subCommand = false;
             for (final CommandNode<C> child : currentNode.children()) {
-                final List<DiscordOption<C>> childOptions = this.createOptions(child);
+                final List<DiscordOption<C>> childOptions = this.compileNode(child);
                 subCommand = subCommand || (childOptions.size() == 1 && childOptions.get(0) instanceof DiscordOption.SubCommand);
                 options.addAll(childOptions);
             }
@@ -136,76 +209,49 @@ public class StandardDiscordCommandFactory<C> implements DiscordCommandFactory<C
             }
         }
 
-        final String description;
-        if (component.description().isEmpty()) {
-            description = component.name();
-        } else {
-            description = component.description().textDescription();
-        }
-
-        return DiscordCommand.<C>builder()
-                .name(component.name())
-                .description(description)
-                .addAllOptions(options)
-                .build();
+        return options;
     }
 
-    @Override
-    public void suggestionRegistrationMapper(
-            final @NonNull Function<SuggestionProvider<C>, SuggestionProvider<C>> suggestionRegistrationMapper
-    ) {
-        this.suggestionRegistrationMapper = Objects.requireNonNull(suggestionRegistrationMapper);
-    }
-
-    @Override
-    public @NonNull Function<SuggestionProvider<C>, SuggestionProvider<C>> suggestionRegistrationMapper() {
-        return this.suggestionRegistrationMapper;
-    }
-
-    @SuppressWarnings({"rawtypes", "unchecked"})
-    private @NonNull List<DiscordOption<C>> createOptions(final @NonNull CommandNode<C> node) {
+    /**
+     * Compiles the given {@code node}. Every node is visited at most once per compilation.
+     *
+     * @param node node to compile
+     * @return the options that represent the node
+     */
+    private @NonNull List<@NonNull DiscordOption<C>> compileNode(final @NonNull CommandNode<C> node) {
         final CommandComponent<C> component = node.component();
+        if (component.type() != CommandComponent.ComponentType.LITERAL) {
+            return this.variableCache.computeIfAbsent(component, this::compileVariables);
+        }
 
-        final String description;
-        if (component.description().isEmpty()) {
-            description = component.name();
-        } else {
-            description = component.description().textDescription();
+        // We need to determine whether to flatten the children into a sub-command
+        // or whether to recursively extract the arguments.
+        final List<DiscordOption<C>> children = new ArrayList<>();
+        for (final CommandNode<C> child : node.children()) {
+            children.addAll(this.compileNode(child));
         }
 
-        if (component.type() == CommandComponent.ComponentType.LITERAL) {
-            // We need to determine whether to flatten the children into a sub-command
-            // or whether to recursively extract the arguments.
-            List<DiscordOption<C>> children = new ArrayList<>(node.children()
-                    .stream()
-                    .flatMap(child -> this.createOptions(child).stream())
-                    .collect(Collectors.toList()));
-
-            // If there's only one child and the child isn't a sub-command, then we recursively find the children.
-            if (children.size() == 1 && children.get(0) instanceof DiscordOption.Variable) {
-                children.clear();
-
-                CommandNode<C> child = node.children().get(0);
-                while (child != null) {
-                    children.addAll(this.createOptions(child));
-
-                    if (child.isLeaf()) {
-                        child = null;
-                    } else {
-                        child = child.children().get(0);
-                    }
-                }
+        // If there's only one child and the child isn't a sub-command, then we keep walking down the chain
+        // of the child. The child itself has already been compiled, so we start from its first child.
+        if (children.size() == 1 && children.get(0) instanceof DiscordOption.Variable) {
+            CommandNode<C> child = node.children().get(0);
+            while (!child.isLeaf()) {
+                child = child.children().get(0);
+                children.addAll(this.compileNode(child));
             }
-
-            return Collections.singletonList(
-                    ImmutableSubCommand.<C>builder()
-                            .name(component.name())
-                            .description(description)
-                            .addAllOptions(children)
-                            .build()
-            );
         }
 
+        return Collections.singletonList(
+                ImmutableSubCommand.<C>builder()
+                        .name(component.name())
+                        .description(this.describe(component))
+                        .addAllOptions(children)
+                        .build()
+        );
+    }
+
+    @SuppressWarnings({"rawtypes", "unchecked"})
+    private @NonNull List<@NonNull DiscordOption<C>> compileVariables(final @NonNull CommandComponent<C> component) {
         final List<CommandComponent<C>> components;
         if (component.parser() instanceof AggregateParser) {
             final AggregateParser<C, ?> aggregateParser = (AggregateParser<C, ?>) component.parser();
@@ -214,39 +260,40 @@ public class StandardDiscordCommandFactory<C> implements DiscordCommandFactory<C
             components = Collections.singletonList(component);
         }
 
-        return components.stream()
-                .map(innerComponent -> {
-                    final SuggestionProvider<C> suggestionProvider = this.suggestionRegistrationMapper.apply(
-                            innerComponent.suggestionProvider()
-                    );
-                    final DiscordOptionType optionType = this.optionRegistry.getOption(innerComponent.valueType());
-                    final Collection choices = this.extractChoices(suggestionProvider);
-                    final Range<?> range = this.extractRange(innerComponent.parser());
-
-                    final boolean autoComplete;
-                    if (choices.isEmpty()) {
-                        autoComplete = DiscordOptionType.AUTOCOMPLETE.contains(optionType)
-                                        && !suggestionProvider.equals(SuggestionProvider.noSuggestions());
-                    } else {
-                        autoComplete = false;
-                    }
-
-                    final String innerDescription;
-                    if (innerComponent.description().isEmpty()) {
-                        innerDescription = innerComponent.name();
-                    } else {
-                        innerDescription = innerComponent.description().textDescription();
-                    }
-
-                    return (DiscordOption<C>) ImmutableVariable.<C>builder().name(innerComponent.name())
-                            .description(innerDescription)
-                            .type(optionType)
-                            .required(innerComponent.required())
-                            .autocomplete(autoComplete)
-                            .addAllChoices(choices)
-                            .range(range)
-                            .build();
-                }).collect(Collectors.toList());
+        final List<DiscordOption<C>> variables = new ArrayList<>(components.size());
+        for (final CommandComponent<C> innerComponent : components) {
+            final SuggestionProvider<C> suggestionProvider = CachingSuggestionProvider.unwrap(
+                    this.suggestionRegistrationMapper.apply(CachingSuggestionProvider.unwrap(innerComponent.suggestionProvider()))
+            );
+            final DiscordOptionType optionType = this.optionRegistry.getOption(innerComponent.valueType());
+            final Collection choices = this.extractChoices(suggestionProvider);
+            final Range<?> range = this.extractRange(innerComponent.parser());
+
+            final boolean autoComplete;
+            if (choices.isEmpty()) {
+                autoComplete = DiscordOptionType.AUTOCOMPLETE.contains(optionType)
+                                && !suggestionProvider.equals(SuggestionProvider.noSuggestions());
+            } else {
+                autoComplete = false;
+            }
+
+            variables.add(ImmutableVariable.<C>builder().name(innerComponent.name())
+                    .description(this.describe(innerComponent))
+                    .type(optionType)
+                    .required(innerComponent.required())
+                    .autocomplete(autoComplete)
+                    .addAllChoices(choices)
+                    .range(range)
+                    .build());
+        }
+        return Collections.unmodifiableList(variables);
+    }
+
+    private @NonNull String describe(final @NonNull CommandComponent<C> component) {
+        if (component.description().isEmpty()) {
+            return component.name();
+        }
+        return component.description().textDescription();
     }
 
     @SuppressWarnings({"rawtypes", "unchecked"})
@@ -51,6 +51,8 @@ public final class StandardOptionRegistry<C> implements OptionRegistry<C> {
     private final Map<DiscordOptionType<?>, ParserDescriptor<C, ?>> parserMap = new HashMap<>();
     private final Map<Class<?>, DiscordOptionType<?>> optionMap = new HashMap<>();
 
+    private volatile long revision;
+
     /**
      * Creates a new standard option registry.
      */
@@ -71,6 +73,7 @@ public final class StandardOptionRegistry<C> implements OptionRegistry<C> {
 
         this.parserMap.put(optionType, parser);
         this.optionMap.put(GenericTypeReflector.erase(parser.valueType().getType()), optionType);
+        this.revision++;
         return this;
     }
 
@@ -88,4 +91,9 @@ public final class StandardOptionRegistry<C> implements OptionRegistry<C> {
     public @NonNull Collection<@NonNull DiscordOptionType<?>> optionTypes() {
         return Collections.unmodifiableCollection(this.parserMap.keySet());
     }
+
+    @Override
+    public long revision() {
+        return this.revision;
+    }
 }
@@ -0,0 +1,126 @@
+//
+// MIT License
+//
+// Copyright (c) 2024 Incendo
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+// SOFTWARE.
+//
+package org.incendo.cloud.discord.execution;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class FairExecutorTest {
+
+    private ArrayDeque<Runnable> workers;
+    private FairExecutor executor;
+
+    @BeforeEach
+    void setup() {
+        this.workers = new ArrayDeque<>();
+        this.executor = new FairExecutor(this.workers::add, 1);
+    }
+
+    @Test
+    void testQueuesAreServedRoundRobin() {
+        // Arrange
+        final List<String> executed = new ArrayList<>();
+        this.executor.withKey(1L, () -> {
+            this.executor.execute(() -> executed.add("A1"));
+            this.executor.execute(() -> executed.add("A2"));
+            this.executor.execute(() -> executed.add("A3"));
+            return null;
+        });
+        this.executor.withKey(2L, () -> {
+            this.executor.execute(() -> executed.add("B1"));
+            return null;
+        });
+
+        // Act
+        this.workers.forEach(Runnable::run);
+
+        // Assert
+        assertThat(this.workers).hasSize(1);
+        assertThat(executed).containsExactly("A1", "B1", "A2", "A3").inOrder();
+        assertThat(this.executor.queuedTasks()).isEqualTo(0);
+        assertThat(this.executor.activeWorkers()).isEqualTo(0);
+    }
+
+    @Test
+    void testQueueDepths() {
+        // Act
+        this.executor.withKey(1L, () -> {
+            this.executor.execute(() -> {});
+            this.executor.execute(() -> {});
+            return null;
+        });
+        this.executor.execute(() -> {});
+
+        // Assert
+        assertThat(this.executor.queueDepth(1L)).isEqualTo(2);
+        assertThat(this.executor.queueDepth(2L)).isEqualTo(0);
+        assertThat(this.executor.queueDepths()).containsExactly(1L, 2, FairExecutor.DEFAULT_KEY, 1);
+        assertThat(this.executor.queuedTasks()).isEqualTo(3);
+    }
+
+    @Test
+    void testTasksSubmittedByWorkerInheritKey() {
+        // Arrange
+        final List<Integer> depths = new ArrayList<>();
+        this.executor.withKey(1L, () -> {
+            this.executor.execute(() -> {
+                this.executor.execute(() -> {});
+                depths.add(this.executor.queueDepth(1L));
+            });
+            return null;
+        });
+
+        // Act
+        this.workers.forEach(Runnable::run);
+
+        // Assert
+        assertThat(depths).containsExactly(1);
+    }
+
+    @Test
+    void testWorkerIsReplacedWhenTaskThrowsError() {
+        // Arrange
+        final List<String> executed = new ArrayList<>();
+        this.executor.execute(() -> {
+            throw new AssertionError("boom");
+        });
+        this.executor.execute(() -> executed.add("after"));
+
+        // Act
+        assertThrows(AssertionError.class, () -> this.workers.poll().run());
+        final Runnable replacement = this.workers.poll();
+        replacement.run();
+
+        // Assert
+        assertThat(executed).containsExactly("after");
+        assertThat(this.executor.queuedTasks()).isEqualTo(0);
+        assertThat(this.executor.activeWorkers()).isEqualTo(0);
+    }
+}
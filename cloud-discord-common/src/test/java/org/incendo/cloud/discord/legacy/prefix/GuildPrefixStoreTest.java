@@ -0,0 +1,199 @@
+//
+// MIT License
+//
+// Copyright (c) 2024 Incendo
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+// SOFTWARE.
+//
+package org.incendo.cloud.discord.legacy.prefix;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import org.junit.jupiter.api.Test;
+
+import static com.google.common.truth.Truth.assertThat;
+
+class GuildPrefixStoreTest {
+
+    @Test
+    void testDefaultPrefix() {
+        // Arrange
+        final GuildPrefixStore store = GuildPrefixStore.create("!");
+
+        // Act
+        store.prefix(1L, "?");
+
+        // Assert
+        assertThat(store.prefix(GuildPrefixStore.NO_GUILD)).isEqualTo("!");
+        assertThat(store.prefix(1L)).isEqualTo("?");
+        assertThat(store.prefix(2L)).isEqualTo("!");
+    }
+
+    @Test
+    void testPreloadAndInvalidate() {
+        // Arrange
+        final GuildPrefixStore store = GuildPrefixStore.create("!");
+        final Map<Long, String> prefixes = new HashMap<>();
+        for (long guild = 1; guild <= 1_000; guild++) {
+            prefixes.put(guild, "p" + guild);
+        }
+
+        // Act
+        store.preload(prefixes);
+        store.invalidate(500L);
+
+        // Assert
+        assertThat(store.size()).isEqualTo(999);
+        assertThat(store.prefix(500L)).isEqualTo("!");
+        for (long guild = 1; guild <= 1_000; guild++) {
+            if (guild != 500L) {
+                assertThat(store.prefix(guild)).isEqualTo("p" + guild);
+            }
+        }
+    }
+
+    @Test
+    void testLoaderIsOnlyInvokedOnce() {
+        // Arrange
+        final AtomicInteger loads = new AtomicInteger();
+        final GuildPrefixStore store = GuildPrefixStore.create("!", guild -> {
+            loads.incrementAndGet();
+            return guild == 1L ? "?" : null;
+        }, null);
+
+        // Act
+        store.prefix(1L);
+        store.prefix(2L);
+        final String first = store.prefix(1L);
+        final String second = store.prefix(2L);
+
+        // Assert
+        assertThat(first).isEqualTo("?");
+        assertThat(second).isEqualTo("!");
+        assertThat(loads.get()).isEqualTo(2);
+    }
+
+    @Test
+    void testExpiredPrefixIsReloaded() {
+        // Arrange
+        final AtomicLong clock = new AtomicLong();
+        final AtomicInteger loads = new AtomicInteger();
+        final GuildPrefixStore store = new GuildPrefixStore(
+                "!",
+                guild -> "p" + loads.incrementAndGet(),
+                Duration.ofNanos(10),
+                clock::get
+        );
+        store.prefix(1L);
+
+        // Act
+        clock.set(5);
+        final String cached = store.prefix(1L);
+        clock.set(10);
+        final String reloaded = store.prefix(1L);
+
+        // Assert
+        assertThat(cached).isEqualTo("p1");
+        assertThat(reloaded).isEqualTo("p2");
+    }
+
+    @Test
+    void testExpiredPrefixFallsBackToDefault() {
+        // Arrange
+        final AtomicLong clock = new AtomicLong();
+        final GuildPrefixStore store = new GuildPrefixStore("!", null, Duration.ofNanos(10), clock::get);
+        store.prefix(1L, "?");
+
+        // Act
+        clock.set(10);
+        final String prefix = store.prefix(1L);
+
+        // Assert
+        assertThat(prefix).isEqualTo("!");
+        assertThat(store.size()).isEqualTo(0);
+    }
+
+    @Test
+    void testPrefixSetAfterExpiryIsKept() {
+        // Arrange
+        final AtomicLong clock = new AtomicLong();
+        final GuildPrefixStore[] store = new GuildPrefixStore[1];
+        store[0] = new GuildPrefixStore("!", null, Duration.ofNanos(10), () -> {
+            final long now = clock.get();
+            if (now == 10) {
+                // Set a new prefix between the expiry check and the removal of the expired prefix.
+                clock.set(11);
+                store[0].prefix(1L, "#");
+            }
+            return now;
+        });
+        store[0].prefix(1L, "?");
+
+        // Act
+        clock.set(10);
+        final String expired = store[0].prefix(1L);
+
+        // Assert
+        assertThat(expired).isEqualTo("!");
+        assertThat(store[0].prefix(1L)).isEqualTo("#");
+    }
+
+    @Test
+    void testConcurrentMissesShareOneLoad() throws Exception {
+        // Arrange
+        final AtomicInteger loads = new AtomicInteger();
+        final CountDownLatch loading = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        final GuildPrefixStore store = GuildPrefixStore.create("!", guild -> {
+            loads.incrementAndGet();
+            loading.countDown();
+            try {
+                release.await();
+            } catch (final InterruptedException e) {
+                throw new IllegalStateException(e);
+            }
+            return "?";
+        }, null);
+        final AtomicReference<String> first = new AtomicReference<>();
+        final AtomicReference<String> second = new AtomicReference<>();
+        final Thread firstThread = new Thread(() -> first.set(store.prefix(1L)));
+        final Thread secondThread = new Thread(() -> second.set(store.prefix(1L)));
+
+        // Act
+        firstThread.start();
+        loading.await();
+        secondThread.start();
+        while (secondThread.getState() != Thread.State.WAITING) {
+            Thread.sleep(1L);
+        }
+        release.countDown();
+        firstThread.join();
+        secondThread.join();
+
+        // Assert
+        assertThat(first.get()).isEqualTo("?");
+        assertThat(second.get()).isEqualTo("?");
+        assertThat(loads.get()).isEqualTo(1);
+    }
+}
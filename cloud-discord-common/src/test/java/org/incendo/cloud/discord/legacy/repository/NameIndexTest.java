@@ -0,0 +1,86 @@
+//
+// MIT License
+//
+// Copyright (c) 2024 Incendo
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+// SOFTWARE.
+//
+package org.incendo.cloud.discord.legacy.repository;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static com.google.common.truth.Truth.assertThat;
+
+class NameIndexTest {
+
+    private NameIndex index;
+
+    @BeforeEach
+    void setup() {
+        this.index = NameIndex.create();
+        this.index.put(1L, "Alice");
+        this.index.put(2L, "alicia");
+        this.index.put(3L, "Bob");
+        this.index.put(4L, "alice");
+    }
+
+    @Test
+    void testNamed() {
+        // Act
+        final long[] result = this.index.named("ALICE");
+
+        // Assert
+        assertThat(result).asList().containsExactly(1L, 4L);
+    }
+
+    @Test
+    void testStartingWith() {
+        // Act
+        final long[] result = this.index.startingWith("Ali");
+
+        // Assert
+        assertThat(result).asList().containsExactly(1L, 2L, 4L);
+        assertThat(this.index.startingWith("c")).isEmpty();
+    }
+
+    @Test
+    void testRename() {
+        // Act
+        this.index.put(1L, "Carol");
+
+        // Assert
+        assertThat(this.index.named("alice")).asList().containsExactly(4L);
+        assertThat(this.index.named("carol")).asList().containsExactly(1L);
+        assertThat(this.index.size()).isEqualTo(4);
+    }
+
+    @Test
+    void testRemove() {
+        // Act
+        this.index.remove(4L);
+        this.index.remove(3L);
+        this.index.remove(5L);
+
+        // Assert
+        assertThat(this.index.named("alice")).asList().containsExactly(1L);
+        assertThat(this.index.named("bob")).isEmpty();
+        assertThat(this.index.size()).isEqualTo(2);
+    }
+}
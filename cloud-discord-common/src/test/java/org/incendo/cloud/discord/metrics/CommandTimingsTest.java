@@ -0,0 +1,78 @@
+//
+// MIT License
+//
+// Copyright (c) 2024 Incendo
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+// SOFTWARE.
+//
+package org.incendo.cloud.discord.metrics;
+
+import java.util.concurrent.atomic.AtomicReference;
+import org.incendo.cloud.context.CommandContext;
+import org.incendo.cloud.discord.util.TestCommandManager;
+import org.incendo.cloud.discord.util.TestCommandSender;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static com.google.common.truth.Truth.assertThat;
+
+class CommandTimingsTest {
+
+    private TestCommandManager commandManager;
+
+    @BeforeEach
+    void setup() {
+        this.commandManager = new TestCommandManager();
+        CommandTimings.install(this.commandManager);
+        this.commandManager.command(this.commandManager.commandBuilder("command").literal("literal"));
+    }
+
+    @Test
+    void testTimingsAreRecorded() {
+        // Arrange
+        final HistogramDiscordMetrics metrics = HistogramDiscordMetrics.create();
+        final CommandTimings timings = CommandTimings.start(metrics, "test", null);
+
+        // Act
+        this.commandManager.commandExecutor().executeCommand(new TestCommandSender() {}, "command literal", timings::attach).join();
+        timings.completed();
+
+        // Assert
+        assertThat(metrics.snapshot()).hasSize(3);
+        assertThat(metrics.histogram(DiscordTimer.DISPATCH, "test", "command").snapshot().count()).isEqualTo(1);
+        assertThat(metrics.histogram(DiscordTimer.PARSE, "test", "command").snapshot().count()).isEqualTo(1);
+        assertThat(metrics.histogram(DiscordTimer.EXECUTION, "test", "command").snapshot().count()).isEqualTo(1);
+    }
+
+    @Test
+    void testDisabledTimingsAreNotAttached() {
+        // Arrange
+        final CommandTimings timings = CommandTimings.start(DiscordMetrics.noop(), "test", "command");
+        final AtomicReference<CommandContext<TestCommandSender>> context = new AtomicReference<>();
+
+        // Act
+        this.commandManager.commandExecutor().executeCommand(new TestCommandSender() {}, "command literal", ctx -> {
+            timings.attach(ctx);
+            context.set(ctx);
+        }).join();
+
+        // Assert
+        assertThat(context.get().contains(CommandTimings.CONTEXT_KEY)).isFalse();
+    }
+}
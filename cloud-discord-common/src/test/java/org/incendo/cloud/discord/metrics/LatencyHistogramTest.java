@@ -0,0 +1,72 @@
+//
+// MIT License
+//
+// Copyright (c) 2024 Incendo
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+// SOFTWARE.
+//
+package org.incendo.cloud.discord.metrics;
+
+import org.junit.jupiter.api.Test;
+
+import static com.google.common.truth.Truth.assertThat;
+
+class LatencyHistogramTest {
+
+    @Test
+    void testBucketsContainTheirValues() {
+        for (long value = 0; value < 1_000_000; value += 7) {
+            // Act
+            final int index = LatencyHistogram.index(value);
+
+            // Assert
+            assertThat(LatencyHistogram.lowerBound(index)).isAtMost(value);
+            assertThat(LatencyHistogram.upperBound(index)).isAtLeast(value);
+        }
+    }
+
+    @Test
+    void testLargeValuesAreClamped() {
+        // Act
+        final int index = LatencyHistogram.index(Long.MAX_VALUE);
+
+        // Assert
+        assertThat(index).isEqualTo(LatencyHistogram.BUCKETS - 1);
+    }
+
+    @Test
+    void testPercentiles() {
+        // Arrange
+        final LatencyHistogram histogram = new LatencyHistogram();
+        for (int i = 1; i <= 100; i++) {
+            histogram.record(i * 1_000_000L);
+        }
+
+        // Act
+        final HistogramSnapshot snapshot = histogram.snapshot();
+
+        // Assert
+        assertThat(snapshot.count()).isEqualTo(100);
+        assertThat(snapshot.maxNanos()).isEqualTo(100_000_000L);
+        assertThat(snapshot.meanNanos()).isEqualTo(50_500_000D);
+        assertThat(snapshot.valueAtPercentile(50.0D)).isAtLeast(50_000_000L);
+        assertThat(snapshot.valueAtPercentile(50.0D)).isAtMost(56_250_000L);
+        assertThat(snapshot.valueAtPercentile(100.0D)).isEqualTo(100_000_000L);
+    }
+}
@@ -0,0 +1,218 @@
+//
+// MIT License
+//
+// Copyright (c) 2024 Incendo
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+// SOFTWARE.
+//
+package org.incendo.cloud.discord.ratelimit;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import org.incendo.cloud.Command;
+import org.incendo.cloud.discord.util.TestCommandManager;
+import org.incendo.cloud.discord.util.TestCommandSender;
+import org.incendo.cloud.parser.ArgumentParseResult;
+import org.incendo.cloud.parser.ParserDescriptor;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static com.google.common.truth.Truth.assertThat;
+
+class RateLimiterTest {
+
+    private final AtomicLong clock = new AtomicLong();
+    private final AtomicLong userId = new AtomicLong(1L);
+    private final AtomicInteger rejections = new AtomicInteger();
+    private final AtomicInteger parses = new AtomicInteger();
+    private final AtomicInteger executions = new AtomicInteger();
+
+    private TestCommandManager commandManager;
+    private RateLimiter<TestCommandSender> rateLimiter;
+
+    @BeforeEach
+    void setup() {
+        this.commandManager = new TestCommandManager();
+        this.rateLimiter = new RateLimiter<>(
+                context -> this.userId.get(),
+                context -> 0L,
+                (context, rateLimit, retryAfter) -> this.rejections.incrementAndGet(),
+                this.clock::get
+        );
+        this.rateLimiter.install(this.commandManager);
+    }
+
+    @Test
+    void testPermitsAreReplenished() {
+        // Arrange
+        final RateLimit<TestCommandSender> rateLimit = RateLimit.of(3, Duration.ofSeconds(3), RateLimit.Scope.USER);
+        final Command<TestCommandSender> command = this.commandManager.commandBuilder("command").build();
+
+        // Act & Assert
+        for (int i = 0; i < 3; i++) {
+            assertThat(this.rateLimiter.tryAcquire(command, rateLimit, 1L, 0L)).isEqualTo(Duration.ZERO);
+        }
+        assertThat(this.rateLimiter.tryAcquire(command, rateLimit, 1L, 0L)).isEqualTo(Duration.ofSeconds(1));
+        assertThat(this.rateLimiter.tryAcquire(command, rateLimit, 2L, 0L)).isEqualTo(Duration.ZERO);
+
+        this.clock.addAndGet(TimeUnit.SECONDS.toNanos(1));
+        assertThat(this.rateLimiter.tryAcquire(command, rateLimit, 1L, 0L)).isEqualTo(Duration.ZERO);
+        assertThat(this.rateLimiter.tryAcquire(command, rateLimit, 1L, 0L)).isGreaterThan(Duration.ZERO);
+    }
+
+    @Test
+    void testRejectedInvocationsAreNotParsed() {
+        // Arrange
+        this.commandManager.command(
+                this.commandManager.commandBuilder("command")
+                        .literal("sub")
+                        .required("value", ParserDescriptor.of((context, input) -> {
+                            this.parses.incrementAndGet();
+                            return ArgumentParseResult.success(input.readString());
+                        }, String.class))
+                        .apply(RateLimit.cooldown(Duration.ofSeconds(10)))
+                        .handler(context -> this.executions.incrementAndGet())
+        );
+
+        // Act
+        this.execute("command sub value");
+        this.execute("command sub value");
+
+        // Assert
+        assertThat(this.parses.get()).isEqualTo(1);
+        assertThat(this.executions.get()).isEqualTo(1);
+        assertThat(this.rejections.get()).isEqualTo(1);
+        assertThat(this.rateLimiter.rejected()).isEqualTo(1);
+    }
+
+    @Test
+    void testInvocationsEndingAtLiteralAreResolvedExactly() {
+        // Arrange
+        this.commandManager.command(
+                this.commandManager.commandBuilder("command")
+                        .apply(RateLimit.cooldown(Duration.ofSeconds(10)))
+                        .handler(context -> this.executions.incrementAndGet())
+        );
+        this.commandManager.command(
+                this.commandManager.commandBuilder("command")
+                        .required("value", ParserDescriptor.of((context, input) -> {
+                            this.parses.incrementAndGet();
+                            return ArgumentParseResult.success(input.readString());
+                        }, String.class))
+                        .handler(context -> this.executions.incrementAndGet())
+        );
+
+        // Act
+        this.execute("command");
+        this.execute("command");
+        this.execute("command value");
+
+        // Assert
+        assertThat(this.executions.get()).isEqualTo(2);
+        assertThat(this.rejections.get()).isEqualTo(1);
+    }
+
+    @Test
+    void testAmbiguousInvocationsAreRejectedBeforeParsing() {
+        // Arrange
+        final ParserDescriptor<TestCommandSender, String> parser = ParserDescriptor.of((context, input) -> {
+            this.parses.incrementAndGet();
+            return ArgumentParseResult.success(input.readString());
+        }, String.class);
+        this.commandManager.command(
+                this.commandManager.commandBuilder("command")
+                        .required("value", parser)
+                        .apply(RateLimit.cooldown(Duration.ofSeconds(10)))
+                        .handler(context -> this.executions.incrementAndGet())
+        );
+        this.commandManager.command(
+                this.commandManager.commandBuilder("command")
+                        .required("value", parser)
+                        .literal("other")
+                        .apply(RateLimit.cooldown(Duration.ofSeconds(10)))
+                        .handler(context -> this.executions.incrementAndGet())
+        );
+
+        // Act
+        this.execute("command value");
+        this.execute("command value other");
+
+        // Assert
+        assertThat(this.parses.get()).isEqualTo(1);
+        assertThat(this.executions.get()).isEqualTo(1);
+        assertThat(this.rejections.get()).isEqualTo(1);
+    }
+
+    @Test
+    void testLiteralSiblingsOfArgumentsAreNotCharged() {
+        // Arrange
+        this.commandManager.command(
+                this.commandManager.commandBuilder("tag")
+                        .literal("create")
+                        .apply(RateLimit.cooldown(Duration.ofSeconds(10)))
+                        .handler(context -> this.executions.incrementAndGet())
+        );
+        this.commandManager.command(
+                this.commandManager.commandBuilder("tag")
+                        .required("name", ParserDescriptor.of((context, input) -> {
+                            this.parses.incrementAndGet();
+                            return ArgumentParseResult.success(input.readString());
+                        }, String.class))
+                        .handler(context -> this.executions.incrementAndGet())
+        );
+
+        // Act
+        this.execute("tag foo");
+        this.execute("tag foo");
+        this.execute("tag create");
+
+        // Assert
+        assertThat(this.parses.get()).isEqualTo(2);
+        assertThat(this.executions.get()).isEqualTo(3);
+        assertThat(this.rejections.get()).isEqualTo(0);
+    }
+
+    @Test
+    void testExpiredKeysAreRemoved() {
+        // Arrange
+        final RateLimit<TestCommandSender> rateLimit = RateLimit.cooldown(Duration.ofSeconds(1));
+        final Command<TestCommandSender> command = this.commandManager.commandBuilder("command").build();
+        for (long user = 0; user < 1024; user++) {
+            this.rateLimiter.tryAcquire(command, rateLimit, user, 0L);
+        }
+
+        // Act
+        this.clock.addAndGet(TimeUnit.SECONDS.toNanos(2));
+        for (int i = 0; i < 1024; i++) {
+            this.rateLimiter.tryAcquire(command, rateLimit, 1L, 0L);
+        }
+
+        // Assert
+        assertThat(this.rateLimiter.size()).isLessThan(1024);
+    }
+
+    private void execute(final String input) {
+        this.commandManager.commandExecutor()
+                .executeCommand(new TestCommandSender() {}, input)
+                .handle((result, throwable) -> null)
+                .join();
+    }
+}
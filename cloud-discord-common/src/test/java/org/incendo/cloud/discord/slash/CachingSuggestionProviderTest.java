@@ -0,0 +1,121 @@
+//
+// MIT License
+//
+// Copyright (c) 2024 Incendo
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+// SOFTWARE.
+//
+package org.incendo.cloud.discord.slash;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import org.incendo.cloud.context.CommandContext;
+import org.incendo.cloud.context.CommandInput;
+import org.incendo.cloud.discord.util.TestCommandManager;
+import org.incendo.cloud.discord.util.TestCommandSender;
+import org.incendo.cloud.suggestion.Suggestion;
+import org.incendo.cloud.suggestion.SuggestionProvider;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static com.google.common.truth.Truth.assertThat;
+
+class CachingSuggestionProviderTest {
+
+    private final AtomicInteger lookups = new AtomicInteger();
+    private final AtomicLong clock = new AtomicLong();
+
+    private SuggestionProvider<TestCommandSender> delegate;
+    private CommandContext<TestCommandSender> context;
+
+    @BeforeEach
+    void setup() {
+        this.delegate = (context, input) -> {
+            this.lookups.incrementAndGet();
+            return CompletableFuture.completedFuture(Collections.singletonList(Suggestion.suggestion(input.input())));
+        };
+        this.context = new CommandContext<>(new TestCommandSender() {}, new TestCommandManager());
+    }
+
+    @Test
+    void testSuggestionsAreCached() {
+        // Arrange
+        final CachingSuggestionProvider<TestCommandSender> provider = this.provider(10);
+
+        // Act
+        provider.suggestionsFuture(this.context, CommandInput.of("command f")).join();
+        provider.suggestionsFuture(this.context, CommandInput.of("command f")).join();
+        provider.suggestionsFuture(this.context, CommandInput.of("command fo")).join();
+
+        // Assert
+        assertThat(this.lookups.get()).isEqualTo(2);
+        assertThat(provider.hits()).isEqualTo(1);
+        assertThat(provider.misses()).isEqualTo(2);
+    }
+
+    @Test
+    void testSuggestionsExpire() {
+        // Arrange
+        final CachingSuggestionProvider<TestCommandSender> provider = this.provider(10);
+        provider.suggestionsFuture(this.context, CommandInput.of("command f")).join();
+
+        // Act
+        this.clock.addAndGet(TimeUnit.SECONDS.toNanos(5));
+        provider.suggestionsFuture(this.context, CommandInput.of("command f")).join();
+
+        // Assert
+        assertThat(this.lookups.get()).isEqualTo(2);
+    }
+
+    @Test
+    void testLeastRecentlyUsedIsEvicted() {
+        // Arrange
+        final CachingSuggestionProvider<TestCommandSender> provider = this.provider(2);
+        provider.suggestionsFuture(this.context, CommandInput.of("command a")).join();
+        provider.suggestionsFuture(this.context, CommandInput.of("command b")).join();
+        provider.suggestionsFuture(this.context, CommandInput.of("command a")).join();
+
+        // Act
+        provider.suggestionsFuture(this.context, CommandInput.of("command c")).join();
+        provider.suggestionsFuture(this.context, CommandInput.of("command a")).join();
+
+        // Assert
+        assertThat(provider.size()).isEqualTo(2);
+        assertThat(provider.evictions()).isEqualTo(1);
+        assertThat(this.lookups.get()).isEqualTo(3);
+    }
+
+    @Test
+    void testUnwrap() {
+        // Arrange
+        final CachingSuggestionProvider<TestCommandSender> provider = this.provider(10);
+
+        // Act & Assert
+        assertThat(CachingSuggestionProvider.unwrap(provider)).isSameInstanceAs(this.delegate);
+        assertThat(CachingSuggestionProvider.unwrap(this.delegate)).isSameInstanceAs(this.delegate);
+    }
+
+    private CachingSuggestionProvider<TestCommandSender> provider(final int maximumSize) {
+        return new CachingSuggestionProvider<>(this.delegate, maximumSize, Duration.ofSeconds(5), context -> null, this.clock::get);
+    }
+}
@@ -0,0 +1,105 @@
+//
+// MIT License
+//
+// Copyright (c) 2024 Incendo
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+// SOFTWARE.
+//
+package org.incendo.cloud.discord.slash;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import org.incendo.cloud.CommandManager;
+import org.incendo.cloud.discord.util.TestCommandManager;
+import org.incendo.cloud.discord.util.TestCommandSender;
+import org.incendo.cloud.internal.CommandNode;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static com.google.common.truth.Truth.assertThat;
+
+class CommandPayloadCacheTest {
+
+    private CommandManager<TestCommandSender> commandManager;
+    private NodeProcessor<TestCommandSender> nodeProcessor;
+    private AtomicLong configurationRevision;
+    private CommandPayloadCache<TestCommandSender, String> payloadCache;
+    private AtomicInteger builds;
+
+    @BeforeEach
+    void setup() {
+        this.commandManager = new TestCommandManager();
+        this.nodeProcessor = new NodeProcessor<>(this.commandManager.commandTree());
+        this.configurationRevision = new AtomicLong();
+        this.payloadCache = new CommandPayloadCache<>(this.nodeProcessor, this.configurationRevision::get);
+        this.builds = new AtomicInteger();
+
+        this.commandManager.command(this.commandManager.commandBuilder("command"));
+        this.nodeProcessor.prepareTree();
+    }
+
+    @Test
+    void testPayloadIsShared() {
+        // Arrange
+        final List<CommandNode<TestCommandSender>> rootNodes = this.nodeProcessor.rootNodes(CommandScope.global());
+
+        // Act
+        final String first = this.payloadCache.payload(rootNodes, this::build);
+        final String second = this.payloadCache.payload(rootNodes, this::build);
+
+        // Assert
+        assertThat(first).isSameInstanceAs(second);
+        assertThat(this.builds.get()).isEqualTo(1);
+        assertThat(this.payloadCache.size()).isEqualTo(1);
+    }
+
+    @Test
+    void testConfigurationChangeInvalidates() {
+        // Arrange
+        final List<CommandNode<TestCommandSender>> rootNodes = this.nodeProcessor.rootNodes(CommandScope.global());
+        this.payloadCache.payload(rootNodes, this::build);
+
+        // Act
+        this.configurationRevision.incrementAndGet();
+        this.payloadCache.payload(rootNodes, this::build);
+
+        // Assert
+        assertThat(this.builds.get()).isEqualTo(2);
+    }
+
+    @Test
+    void testTreeChangeInvalidates() {
+        // Arrange
+        final List<CommandNode<TestCommandSender>> rootNodes = this.nodeProcessor.rootNodes(CommandScope.global());
+        this.payloadCache.payload(rootNodes, this::build);
+
+        // Act
+        this.nodeProcessor.prepareTree();
+        this.payloadCache.payload(rootNodes, this::build);
+
+        // Assert
+        assertThat(this.builds.get()).isEqualTo(2);
+    }
+
+    private String build(final List<CommandNode<TestCommandSender>> rootNodes) {
+        this.builds.incrementAndGet();
+        return "payload-" + rootNodes.size();
+    }
+}
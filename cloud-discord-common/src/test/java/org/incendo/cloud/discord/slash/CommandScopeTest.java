@@ -0,0 +1,88 @@
+//
+// MIT License
+//
+// Copyright (c) 2024 Incendo
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+// SOFTWARE.
+//
+package org.incendo.cloud.discord.slash;
+
+import org.junit.jupiter.api.Test;
+
+import static com.google.common.truth.Truth.assertThat;
+
+class CommandScopeTest {
+
+    @Test
+    void testGuildsAreSortedAndDistinct() {
+        // Act
+        final CommandScope.Guilds<Object> scope = (CommandScope.Guilds<Object>) CommandScope.<Object>guilds(5, 1, 3, 1);
+
+        // Assert
+        assertThat(scope.guilds()).containsExactly(1L, 3L, 5L).inOrder();
+        assertThat(scope.contains(3)).isTrue();
+        assertThat(scope.contains(4)).isFalse();
+    }
+
+    @Test
+    void testWithGuildSharesUnchangedInstance() {
+        // Arrange
+        final CommandScope.Guilds<Object> scope = (CommandScope.Guilds<Object>) CommandScope.<Object>guilds(1, 2, 3);
+        final CommandScope.Guilds<Object> subset = (CommandScope.Guilds<Object>) CommandScope.<Object>guilds(2, 3);
+
+        // Act & Assert
+        assertThat(scope.withGuild(2)).isSameInstanceAs(scope);
+        assertThat(scope.withGuilds(subset)).isSameInstanceAs(scope);
+        assertThat(scope.withGuild(subset.guilds())).isSameInstanceAs(scope);
+        assertThat(scope.withGuild(0).guilds()).containsExactly(0L, 1L, 2L, 3L).inOrder();
+        assertThat(subset.withGuilds(scope)).isEqualTo(scope);
+    }
+
+    @Test
+    void testWithGuildsMergesPartialOverlap() {
+        // Arrange
+        final CommandScope.Guilds<Object> scope = (CommandScope.Guilds<Object>) CommandScope.<Object>guilds(1, 3, 5);
+        final CommandScope.Guilds<Object> other = (CommandScope.Guilds<Object>) CommandScope.<Object>guilds(2, 3, 4);
+
+        // Act
+        final CommandScope.Guilds<Object> merged = scope.withGuilds(other);
+
+        // Assert
+        assertThat(merged.guilds()).containsExactly(1L, 2L, 3L, 4L, 5L).inOrder();
+        assertThat(scope.guilds()).containsExactly(1L, 3L, 5L).inOrder();
+    }
+
+    @Test
+    void testOverlaps() {
+        // Arrange
+        final long[] largeGuilds = new long[1000];
+        for (int i = 0; i < largeGuilds.length; i++) {
+            largeGuilds[i] = i * 2L;
+        }
+        final CommandScope<Object> large = CommandScope.guilds(largeGuilds);
+
+        // Act & Assert
+        assertThat(large.overlaps(CommandScope.guilds(-1, 998))).isTrue();
+        assertThat(large.overlaps(CommandScope.guilds(-1, 999))).isFalse();
+        assertThat(CommandScope.guilds(1, 4, 7).overlaps(CommandScope.guilds(2, 4, 6))).isTrue();
+        assertThat(CommandScope.guilds(1, 3, 5).overlaps(CommandScope.guilds(2, 4, 6))).isFalse();
+        assertThat(CommandScope.guilds().overlaps(CommandScope.global())).isFalse();
+        assertThat(CommandScope.global().overlaps(CommandScope.global())).isTrue();
+    }
+}
@@ -0,0 +1,151 @@
+//
+// MIT License
+//
+// Copyright (c) 2024 Incendo
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+// SOFTWARE.
+//
+package org.incendo.cloud.discord.slash;
+
+import java.util.List;
+import java.util.stream.Collectors;
+import org.incendo.cloud.CommandManager;
+import org.incendo.cloud.discord.util.TestCommandManager;
+import org.incendo.cloud.discord.util.TestCommandSender;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static com.google.common.truth.Truth.assertThat;
+
+class NodeProcessorTest {
+
+    private CommandManager<TestCommandSender> commandManager;
+    private NodeProcessor<TestCommandSender> nodeProcessor;
+
+    @BeforeEach
+    void setup() {
+        this.commandManager = new TestCommandManager();
+        this.nodeProcessor = new NodeProcessor<>(this.commandManager.commandTree());
+    }
+
+    @Test
+    void testRootNodesByScope() {
+        // Arrange
+        this.commandManager.command(this.commandManager.commandBuilder("global"));
+        this.commandManager.command(this.commandManager.commandBuilder("one").apply(CommandScope.guilds(1)));
+        this.commandManager.command(this.commandManager.commandBuilder("two").apply(CommandScope.guilds(2)));
+        this.commandManager.command(this.commandManager.commandBuilder("all").apply(CommandScope.guilds()));
+        this.commandManager.command(
+                this.commandManager.commandBuilder("mixed").literal("a").apply(CommandScope.guilds(1))
+        );
+        this.commandManager.command(
+                this.commandManager.commandBuilder("mixed").literal("b").apply(CommandScope.guilds(2, 3))
+        );
+
+        // Act
+        this.nodeProcessor.prepareTree();
+
+        // Assert
+        assertThat(this.names(CommandScope.global())).containsExactly("global");
+        assertThat(this.names(CommandScope.guilds(1))).containsExactly("mixed", "one").inOrder();
+        assertThat(this.names(CommandScope.guilds(3))).containsExactly("mixed");
+        assertThat(this.names(CommandScope.guilds(1, 2))).containsExactly("mixed", "one", "two").inOrder();
+        assertThat(this.names(CommandScope.guilds())).containsExactly("all");
+        assertThat(this.names(CommandScope.guilds(4))).isEmpty();
+    }
+
+    @Test
+    void testUnchangedTreeIsNotPreparedAgain() {
+        // Arrange
+        this.trackChanges();
+        this.commandManager.command(this.commandManager.commandBuilder("one").apply(CommandScope.guilds(1)));
+        this.nodeProcessor.prepareTree();
+        final long revision = this.nodeProcessor.revision();
+        final CommandScope<TestCommandSender> marker = CommandScope.guilds(99);
+        this.commandManager.commandTree().getNamedNode("one").nodeMeta().set(NodeProcessor.NODE_META_SCOPE, marker);
+
+        // Act
+        this.nodeProcessor.prepareTree();
+
+        // Assert
+        assertThat(this.nodeProcessor.revision()).isEqualTo(revision);
+        assertThat(this.commandManager.commandTree().getNamedNode("one").nodeMeta().get(NodeProcessor.NODE_META_SCOPE))
+                .isSameInstanceAs(marker);
+    }
+
+    @Test
+    void testOnlyChangedRootsArePropagated() {
+        // Arrange
+        this.trackChanges();
+        this.commandManager.command(this.commandManager.commandBuilder("one").apply(CommandScope.guilds(1)));
+        this.commandManager.command(this.commandManager.commandBuilder("two").literal("a").apply(CommandScope.guilds(2)));
+        this.nodeProcessor.prepareTree();
+        final long revision = this.nodeProcessor.revision();
+        final CommandScope<TestCommandSender> marker = CommandScope.guilds(99);
+        this.commandManager.commandTree().getNamedNode("one").nodeMeta().set(NodeProcessor.NODE_META_SCOPE, marker);
+
+        // Act
+        this.commandManager.command(this.commandManager.commandBuilder("two").literal("b").apply(CommandScope.guilds(3)));
+        this.nodeProcessor.prepareTree();
+
+        // Assert
+        assertThat(this.nodeProcessor.revision()).isGreaterThan(revision);
+        assertThat(this.commandManager.commandTree().getNamedNode("one").nodeMeta().get(NodeProcessor.NODE_META_SCOPE))
+                .isSameInstanceAs(marker);
+        assertThat(this.names(CommandScope.guilds(1))).containsExactly("one");
+        assertThat(this.names(CommandScope.guilds(2))).containsExactly("two");
+        assertThat(this.names(CommandScope.guilds(3))).containsExactly("two");
+    }
+
+    @Test
+    void testUnregisteredRootsAreRemovedFromEveryIndex() {
+        // Arrange
+        this.trackChanges();
+        final CommandScope<TestCommandSender> everywhere = scope -> true;
+        for (final String name : new String[] {"first", "second"}) {
+            this.commandManager.command(this.commandManager.commandBuilder(name + "-global"));
+            this.commandManager.command(this.commandManager.commandBuilder(name + "-guild").apply(CommandScope.guilds(1, 2)));
+            this.commandManager.command(this.commandManager.commandBuilder(name + "-other").apply(everywhere));
+        }
+        this.nodeProcessor.prepareTree();
+
+        // Act
+        this.commandManager.deleteRootCommand("first-global");
+        this.commandManager.deleteRootCommand("first-guild");
+        this.commandManager.deleteRootCommand("first-other");
+        this.nodeProcessor.prepareTree();
+
+        // Assert
+        assertThat(this.names(CommandScope.global())).containsExactly("second-global", "second-other").inOrder();
+        assertThat(this.names(CommandScope.guilds(1))).containsExactly("second-guild", "second-other").inOrder();
+        assertThat(this.names(CommandScope.guilds(2))).containsExactly("second-guild", "second-other").inOrder();
+    }
+
+    private void trackChanges() {
+        this.commandManager = new TestCommandManager(new ListenableRegistrationHandler<>());
+        this.nodeProcessor = new NodeProcessor<>(this.commandManager);
+    }
+
+    private List<String> names(final CommandScope<TestCommandSender> scope) {
+        return this.nodeProcessor.rootNodes(scope)
+                .stream()
+                .map(rootNode -> rootNode.component().name())
+                .collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,147 @@
+//
+// MIT License
+//
+// Copyright (c) 2024 Incendo
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+// SOFTWARE.
+//
+package org.incendo.cloud.discord.slash;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class RegistrationSchedulerTest {
+
+    private DirectExecutor executor;
+    private List<CompletableFuture<Void>> started;
+
+    @BeforeEach
+    void setup() {
+        this.executor = new DirectExecutor();
+        this.started = new ArrayList<>();
+    }
+
+    @AfterEach
+    void teardown() {
+        this.executor.shutdownNow();
+    }
+
+    @Test
+    void testConcurrencyIsBounded() {
+        // Arrange
+        final RegistrationScheduler scheduler = new RegistrationScheduler(this.executor, 2, 1000, 1000, () -> 0L);
+
+        // Act
+        for (long guild = 1; guild <= 5; guild++) {
+            scheduler.schedule(guild, this::task);
+        }
+
+        // Assert
+        assertThat(scheduler.inFlight()).isEqualTo(2);
+        assertThat(scheduler.queueDepth()).isEqualTo(3);
+
+        this.started.get(0).complete(null);
+        assertThat(scheduler.inFlight()).isEqualTo(2);
+        assertThat(scheduler.queueDepth()).isEqualTo(2);
+        assertThat(scheduler.progress().completed()).isEqualTo(1);
+    }
+
+    @Test
+    void testQueuedRegistrationsAreCoalesced() {
+        // Arrange
+        final RegistrationScheduler scheduler = new RegistrationScheduler(this.executor, 1, 1000, 1000, () -> 0L);
+        scheduler.schedule(1, this::task);
+
+        // Act
+        final CompletableFuture<Void> first = scheduler.schedule(2, this::task);
+        final CompletableFuture<Void> second = scheduler.schedule(2, this::task);
+
+        // Assert
+        assertThat(second).isSameInstanceAs(first);
+        assertThat(scheduler.queueDepth()).isEqualTo(1);
+        assertThat(scheduler.progress().coalesced()).isEqualTo(1);
+
+        this.started.get(0).complete(null);
+        assertThat(this.started).hasSize(2);
+        this.started.get(1).complete(null);
+        assertThat(first.isDone()).isTrue();
+    }
+
+    @Test
+    void testRegistrationsArePaced() {
+        // Arrange
+        final RegistrationScheduler scheduler = new RegistrationScheduler(this.executor, 10, 1, 2, () -> 0L);
+
+        // Act
+        for (long guild = 1; guild <= 5; guild++) {
+            scheduler.schedule(guild, this::task);
+        }
+
+        // Assert
+        assertThat(scheduler.inFlight()).isEqualTo(2);
+        assertThat(scheduler.queueDepth()).isEqualTo(3);
+    }
+
+    @Test
+    void testErrorReleasesSlot() {
+        // Arrange
+        final RegistrationScheduler scheduler = new RegistrationScheduler(this.executor, 1, 1000, 1000, () -> 0L);
+
+        // Act
+        assertThrows(AssertionError.class, () -> scheduler.schedule(1, () -> {
+            throw new AssertionError("failure");
+        }));
+        final CompletableFuture<Void> next = scheduler.schedule(1, this::task);
+
+        // Assert
+        assertThat(scheduler.progress().failed()).isEqualTo(1);
+        assertThat(scheduler.inFlight()).isEqualTo(1);
+        assertThat(this.started).hasSize(1);
+
+        this.started.get(0).complete(null);
+        assertThat(scheduler.inFlight()).isEqualTo(0);
+        assertThat(next.isDone()).isTrue();
+    }
+
+    private CompletableFuture<Void> task() {
+        final CompletableFuture<Void> future = new CompletableFuture<>();
+        this.started.add(future);
+        return future;
+    }
+
+    private static final class DirectExecutor extends ScheduledThreadPoolExecutor {
+
+        private DirectExecutor() {
+            super(1);
+        }
+
+        @Override
+        public void execute(final Runnable command) {
+            command.run();
+        }
+    }
+}
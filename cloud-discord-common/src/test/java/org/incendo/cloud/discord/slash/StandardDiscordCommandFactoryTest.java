@@ -23,12 +23,16 @@
 //
 package org.incendo.cloud.discord.slash;
 
+import io.leangen.geantyref.TypeToken;
+import java.util.Collection;
 import java.util.Objects;
 import org.checkerframework.checker.nullness.qual.NonNull;
+import org.incendo.cloud.Command;
 import org.incendo.cloud.CommandManager;
 import org.incendo.cloud.description.Description;
 import org.incendo.cloud.discord.util.TestCommandManager;
 import org.incendo.cloud.discord.util.TestCommandSender;
+import org.incendo.cloud.parser.ParserDescriptor;
 import org.incendo.cloud.parser.aggregate.AggregateParser;
 import org.incendo.cloud.type.range.Range;
 import org.junit.jupiter.api.BeforeEach;
@@ -201,6 +205,73 @@ class StandardDiscordCommandFactoryTest {
         );
     }
 
+    @Test
+    void testComponentsAreResolvedOnce() {
+        // Arrange
+        final CountingOptionRegistry optionRegistry = new CountingOptionRegistry();
+        this.commandFactory = new StandardDiscordCommandFactory<>(optionRegistry);
+
+        final int depth = 50;
+        Command.Builder<TestCommandSender> builder = this.commandManager.commandBuilder("command").literal("group");
+        for (int i = 0; i < depth; i++) {
+            builder = builder.required("argument" + i, integerParser());
+        }
+        this.commandManager.command(builder);
+        this.commandManager.command(this.commandManager.commandBuilder("command").literal("other"));
+
+        // Act
+        final DiscordCommand<TestCommandSender> first =
+                this.commandFactory.create(this.commandManager.commandTree().getNamedNode("command"));
+        final DiscordCommand<TestCommandSender> second =
+                this.commandFactory.create(this.commandManager.commandTree().getNamedNode("command"));
+
+        // Assert
+        assertThat(first).isEqualTo(second);
+        assertThat(optionRegistry.lookups).isEqualTo(depth);
+        final DiscordOption.SubCommand<?> group = (DiscordOption.SubCommand<?>) first.options().get(0);
+        assertThat(group.name()).isEqualTo("group");
+        assertThat(group.options()).hasSize(depth);
+    }
+
+    @Test
+    void testComponentsAreResolvedAgainAfterRegistryChange() {
+        // Arrange
+        final CountingOptionRegistry optionRegistry = new CountingOptionRegistry();
+        this.commandFactory = new StandardDiscordCommandFactory<>(optionRegistry);
+        this.commandManager.command(
+                this.commandManager.commandBuilder("command")
+                        .required("integer", integerParser())
+                        .required("boolean", booleanParser())
+        );
+        this.commandFactory.create(this.commandManager.commandTree().getNamedNode("command"));
+
+        // Act
+        optionRegistry.registerMapping(DiscordOptionType.INTEGER, integerParser());
+        this.commandFactory.create(this.commandManager.commandTree().getNamedNode("command"));
+
+        // Assert
+        assertThat(optionRegistry.lookups).isEqualTo(4);
+    }
+
+    @Test
+    void testComponentsAreResolvedAgainAfterTreeChange() {
+        // Arrange
+        final CountingOptionRegistry optionRegistry = new CountingOptionRegistry();
+        final NodeProcessor<TestCommandSender> nodeProcessor = new NodeProcessor<>(this.commandManager);
+        this.commandFactory = new StandardDiscordCommandFactory<>(optionRegistry, nodeProcessor);
+        this.commandManager.command(this.commandManager.commandBuilder("command").required("integer", integerParser()));
+        nodeProcessor.prepareTree();
+        this.commandFactory.create(this.commandManager.commandTree().getNamedNode("command"));
+
+        // Act
+        this.commandManager.command(this.commandManager.commandBuilder("other").required("boolean", booleanParser()));
+        nodeProcessor.prepareTree();
+        this.commandFactory.create(this.commandManager.commandTree().getNamedNode("command"));
+
+        // Assert
+        assertThat(optionRegistry.lookups).isEqualTo(2);
+    }
+
 
     private static final class TestAggregateObject {
 
@@ -232,6 +303,37 @@ class StandardDiscordCommandFactoryTest {
         }
     }
 
+    private static final class CountingOptionRegistry implements OptionRegistry<TestCommandSender> {
+
+        private final OptionRegistry<TestCommandSender> delegate = new StandardOptionRegistry<>();
+        private int lookups;
+
+        @Override
+        public @NonNull OptionRegistry<TestCommandSender> registerMapping(
+                final @NonNull DiscordOptionType<?> optionType,
+                final @NonNull ParserDescriptor<TestCommandSender, ?> parser
+        ) {
+            this.delegate.registerMapping(optionType, parser);
+            return this;
+        }
+
+        @Override
+        public @NonNull DiscordOptionType<?> getOption(final @NonNull TypeToken<?> valueType) {
+            this.lookups++;
+            return this.delegate.getOption(valueType);
+        }
+
+        @Override
+        public @NonNull Collection<@NonNull DiscordOptionType<?>> optionTypes() {
+            return this.delegate.optionTypes();
+        }
+
+        @Override
+        public long revision() {
+            return this.delegate.revision();
+        }
+    }
+
     private enum TestEnum {
         FOO,
         BAR,
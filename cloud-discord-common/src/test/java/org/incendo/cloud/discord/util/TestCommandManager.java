@@ -24,6 +24,7 @@
 package org.incendo.cloud.discord.util;
 
 import org.checkerframework.checker.nullness.qual.NonNull;
+import org.incendo.cloud.CloudCapability;
 import org.incendo.cloud.CommandManager;
 import org.incendo.cloud.execution.ExecutionCoordinator;
 import org.incendo.cloud.internal.CommandRegistrationHandler;
@@ -31,7 +32,12 @@ import org.incendo.cloud.internal.CommandRegistrationHandler;
 public final class TestCommandManager extends CommandManager<TestCommandSender> {
 
     public TestCommandManager() {
-        super(ExecutionCoordinator.simpleCoordinator(), CommandRegistrationHandler.nullCommandRegistrationHandler());
+        this(CommandRegistrationHandler.nullCommandRegistrationHandler());
+    }
+
+    public TestCommandManager(final @NonNull CommandRegistrationHandler<TestCommandSender> commandRegistrationHandler) {
+        super(ExecutionCoordinator.simpleCoordinator(), commandRegistrationHandler);
+        this.registerCapability(CloudCapability.StandardCapabilities.ROOT_COMMAND_DELETION);
     }
 
     @Override
@@ -0,0 +1,74 @@
+//
+// MIT License
+//
+// Copyright (c) 2024 Incendo
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+// SOFTWARE.
+//
+package org.incendo.cloud.discord.discord4j;
+
+import discord4j.core.event.domain.interaction.ChatInputInteractionEvent;
+import java.util.Objects;
+import org.apiguardian.api.API;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import reactor.core.publisher.Mono;
+
+/**
+ * Handler that responds to command interactions that are dropped by the {@link ConcurrencySetting.OverflowPolicy#REPLY_BUSY}
+ * overflow policy.
+ *
+ * @since 1.0.0
+ */
+@FunctionalInterface
+@API(status = API.Status.STABLE, since = "1.0.0")
+public interface BusyHandler {
+
+    /**
+     * Default message that tells the user that the bot is busy.
+     */
+    String DEFAULT_MESSAGE = "The bot is busy right now, please try again in a moment.";
+
+    /**
+     * Returns a handler that replies with the given ephemeral {@code message}.
+     *
+     * @param message message to reply with
+     * @return the handler
+     */
+    static @NonNull BusyHandler replyWith(final @NonNull String message) {
+        Objects.requireNonNull(message, "message");
+        return event -> event.reply(message).withEphemeral(true);
+    }
+
+    /**
+     * Returns a handler that replies with the {@link #DEFAULT_MESSAGE}.
+     *
+     * @return the handler
+     */
+    static @NonNull BusyHandler defaultHandler() {
+        return replyWith(DEFAULT_MESSAGE);
+    }
+
+    /**
+     * Responds to the dropped {@code event}. The returned publisher is subscribed to by the event listener.
+     *
+     * @param event dropped interaction
+     * @return publisher that sends the response
+     */
+    @NonNull Mono<?> busy(@NonNull ChatInputInteractionEvent event);
+}
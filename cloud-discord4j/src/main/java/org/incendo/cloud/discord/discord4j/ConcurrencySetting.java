@@ -0,0 +1,147 @@
+//
+// MIT License
+//
+// Copyright (c) 2024 Incendo
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+// SOFTWARE.
+//
+package org.incendo.cloud.discord.discord4j;
+
+import org.apiguardian.api.API;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.immutables.value.Value;
+import org.incendo.cloud.discord.immutables.ImmutableImpl;
+import reactor.core.scheduler.Scheduler;
+import reactor.util.concurrent.Queues;
+
+/**
+ * Setting that determines how many interactions of a kind are handled at the same time, and what happens to the
+ * interactions that arrive while the limit is reached.
+ *
+ * <p>Interactions that cannot be handled immediately are buffered. When the buffer is full, the
+ * {@link #overflowPolicy() overflow policy} decides which interaction is dropped.</p>
+ *
+ * @since 1.0.0
+ */
+@ImmutableImpl
+@Value.Immutable
+@API(status = API.Status.STABLE, since = "1.0.0")
+public interface ConcurrencySetting {
+
+    /**
+     * Buffer size that never drops interactions.
+     */
+    int UNBOUNDED = Integer.MAX_VALUE;
+
+    /**
+     * Returns a setting that handles up to {@link Queues#SMALL_BUFFER_SIZE} interactions at the same time on the
+     * thread that received them, and buffers every other interaction.
+     *
+     * @return the setting
+     */
+    static @NonNull ConcurrencySetting unbounded() {
+        return ConcurrencySettingImpl.of(Queues.SMALL_BUFFER_SIZE, UNBOUNDED, OverflowPolicy.DROP_LATEST, null);
+    }
+
+    /**
+     * Returns a setting that handles up to {@code maxConcurrency} interactions at the same time, and buffers up to
+     * {@code bufferSize} interactions.
+     *
+     * @param maxConcurrency maximum number of interactions that are handled at the same time
+     * @param bufferSize     maximum number of interactions that wait to be handled
+     * @param overflowPolicy policy that decides what happens when the buffer is full
+     * @return the setting
+     */
+    static @NonNull ConcurrencySetting bounded(
+            final int maxConcurrency,
+            final int bufferSize,
+            final @NonNull OverflowPolicy overflowPolicy
+    ) {
+        if (maxConcurrency < 1) {
+            throw new IllegalArgumentException("maxConcurrency must be positive");
+        }
+        if (bufferSize < 1) {
+            throw new IllegalArgumentException("bufferSize must be positive");
+        }
+        return ConcurrencySettingImpl.of(maxConcurrency, bufferSize, overflowPolicy, null);
+    }
+
+    /**
+     * Returns the maximum number of interactions that are handled at the same time.
+     *
+     * @return the maximum concurrency
+     */
+    int maxConcurrency();
+
+    /**
+     * Returns the maximum number of interactions that wait to be handled.
+     *
+     * @return the buffer size, or {@link #UNBOUNDED}
+     */
+    int bufferSize();
+
+    /**
+     * Returns the policy that decides what happens when the buffer is full.
+     *
+     * @return the overflow policy
+     */
+    @NonNull OverflowPolicy overflowPolicy();
+
+    /**
+     * Returns the scheduler that the interactions are handled on. If this is {@code null}, the interactions are
+     * handled on the thread that received them.
+     *
+     * @return the scheduler, or {@code null}
+     */
+    @Nullable Scheduler scheduler();
+
+    /**
+     * Returns a copy of this setting that handles the interactions on the given {@code scheduler}.
+     *
+     * @param scheduler the scheduler
+     * @return the new setting
+     */
+    default @NonNull ConcurrencySetting scheduledOn(final @NonNull Scheduler scheduler) {
+        return ConcurrencySettingImpl.copyOf(this).withScheduler(scheduler);
+    }
+
+    /**
+     * Policy that decides what happens to interactions that arrive when the buffer is full.
+     *
+     * @since 1.0.0
+     */
+    @API(status = API.Status.STABLE, since = "1.0.0")
+    enum OverflowPolicy {
+        /**
+         * Drops the interaction that arrived, without responding to it.
+         */
+        DROP_LATEST,
+        /**
+         * Drops the interaction that has waited the longest, without responding to it.
+         */
+        DROP_OLDEST,
+        /**
+         * Drops the interaction that arrived, and tells the user that the bot is busy using the
+         * {@link Discord4JCommandManager#busyHandler() busy handler}. Autocomplete interactions are answered with an
+         * empty list.
+         */
+        REPLY_BUSY
+    }
+}
@@ -23,6 +23,7 @@
 //
 package org.incendo.cloud.discord.discord4j;
 
+import discord4j.common.util.Snowflake;
 import discord4j.core.GatewayDiscordClient;
 import java.util.Objects;
 import java.util.function.BiConsumer;
@@ -31,9 +32,15 @@ import org.apiguardian.api.API;
 import org.checkerframework.checker.nullness.qual.NonNull;
 import org.incendo.cloud.CommandManager;
 import org.incendo.cloud.context.CommandContext;
+import org.incendo.cloud.discord.metrics.CommandTimings;
+import org.incendo.cloud.discord.metrics.DiscordMetrics;
+import org.incendo.cloud.discord.ratelimit.RateLimit;
+import org.incendo.cloud.discord.ratelimit.RateLimitExceededHandler;
+import org.incendo.cloud.discord.ratelimit.RateLimiter;
 import org.incendo.cloud.discord.slash.DiscordSetting;
+import org.incendo.cloud.discord.slash.ListenableRegistrationHandler;
+import org.incendo.cloud.discord.slash.RegistrationScheduler;
 import org.incendo.cloud.execution.ExecutionCoordinator;
-import org.incendo.cloud.internal.CommandRegistrationHandler;
 import org.incendo.cloud.key.CloudKey;
 import org.incendo.cloud.setting.Configurable;
 import org.slf4j.Logger;
@@ -56,11 +63,26 @@ public class Discord4JCommandManager<C> extends CommandManager<C> {
             Discord4JInteraction.class
     );
 
+    static final String METRICS_PLATFORM = "discord4j";
+
     private final Discord4JInteraction.InteractionMapper<C> senderMapper;
     private final Configurable<DiscordSetting> discordSettings = Configurable.enumConfigurable(DiscordSetting.class);
+    private final RateLimiter<C> rateLimiter = RateLimiter.create(
+            context -> context.get(CONTEXT_DISCORD4J_INTERACTION).interactionEvent().getInteraction().getUser().getId().asLong(),
+            context -> context.get(CONTEXT_DISCORD4J_INTERACTION).interactionEvent().getInteraction().getGuildId()
+                    .map(Snowflake::asLong)
+                    .orElse(0L),
+            (context, rateLimit, retryAfter) -> context.get(CONTEXT_DISCORD4J_INTERACTION).commandEvent().ifPresent(event ->
+                    event.reply(RateLimitExceededHandler.defaultMessage(retryAfter)).withEphemeral(true).subscribe())
+    );
 
     private Discord4JCommandFactory<C> commandFactory;
     private BiPredicate<C, String> permissionPredicate;
+    private RegistrationScheduler registrationScheduler = RegistrationScheduler.create();
+    private DiscordMetrics metrics = DiscordMetrics.noop();
+    private ConcurrencySetting commandConcurrency = ConcurrencySetting.unbounded();
+    private ConcurrencySetting autocompleteConcurrency = ConcurrencySetting.unbounded();
+    private BusyHandler busyHandler = BusyHandler.defaultHandler();
 
     /**
      * Creates a new command manager.
@@ -72,12 +94,14 @@ public class Discord4JCommandManager<C> extends CommandManager<C> {
             final @NonNull ExecutionCoordinator<C> executionCoordinator,
             final Discord4JInteraction.@NonNull InteractionMapper<C> senderMapper
     ) {
-        super(executionCoordinator, CommandRegistrationHandler.nullCommandRegistrationHandler());
+        super(executionCoordinator, new ListenableRegistrationHandler<>());
         this.commandFactory = new StandardDiscord4JCommandFactory<>(this);
         this.permissionPredicate = (sender, permission) -> true;
         this.senderMapper = Objects.requireNonNull(senderMapper, "senderMapper");
 
         this.registerDefaultExceptionHandlers();
+        CommandTimings.install(this);
+        this.rateLimiter.install(this);
 
         this.parserRegistry()
                 .registerParser(Discord4JParser.userParser())
@@ -136,17 +160,130 @@ public class Discord4JCommandManager<C> extends CommandManager<C> {
         this.commandFactory = Objects.requireNonNull(commandFactory, "commandFactory");
     }
 
+    /**
+     * Returns the scheduler that paces the registration of slash commands.
+     *
+     * <p>Every manager has its own scheduler. The default scheduler runs on the daemon thread that is shared by all
+     * default schedulers, so it does not have to be shut down.</p>
+     *
+     * @return the registration scheduler
+     */
+    public final @NonNull RegistrationScheduler registrationScheduler() {
+        return this.registrationScheduler;
+    }
+
+    /**
+     * Sets the scheduler that paces the registration of slash commands.
+     *
+     * @param registrationScheduler registration scheduler
+     */
+    public final void registrationScheduler(final @NonNull RegistrationScheduler registrationScheduler) {
+        this.registrationScheduler = Objects.requireNonNull(registrationScheduler, "registrationScheduler");
+    }
+
+    /**
+     * Returns the rate limiter that enforces the {@link RateLimit rate limits} of the commands.
+     *
+     * @return the rate limiter
+     */
+    public final @NonNull RateLimiter<C> rateLimiter() {
+        return this.rateLimiter;
+    }
+
+    /**
+     * Returns the metrics that the command manager records to.
+     *
+     * @return the metrics
+     */
+    public final @NonNull DiscordMetrics metrics() {
+        return this.metrics;
+    }
+
+    /**
+     * Sets the metrics that the command manager records to. Measurements are tagged with the {@code discord4j}
+     * platform.
+     *
+     * @param metrics metrics
+     */
+    public final void metrics(final @NonNull DiscordMetrics metrics) {
+        this.metrics = Objects.requireNonNull(metrics, "metrics");
+    }
+
+    /**
+     * Returns the setting that determines how many command interactions are handled at the same time.
+     *
+     * @return the command concurrency setting
+     */
+    public final @NonNull ConcurrencySetting commandConcurrency() {
+        return this.commandConcurrency;
+    }
+
+    /**
+     * Sets the setting that determines how many command interactions are handled at the same time.
+     *
+     * <p>This must be set before the {@link #installEventListener(GatewayDiscordClient) event listener is installed}.</p>
+     *
+     * @param commandConcurrency command concurrency setting
+     */
+    public final void commandConcurrency(final @NonNull ConcurrencySetting commandConcurrency) {
+        this.commandConcurrency = Objects.requireNonNull(commandConcurrency, "commandConcurrency");
+    }
+
+    /**
+     * Returns the handler that responds to command interactions that are dropped because the bot is busy.
+     *
+     * @return the busy handler
+     */
+    public final @NonNull BusyHandler busyHandler() {
+        return this.busyHandler;
+    }
+
+    /**
+     * Sets the handler that responds to command interactions that are dropped by the
+     * {@link ConcurrencySetting.OverflowPolicy#REPLY_BUSY} overflow policy.
+     *
+     * @param busyHandler busy handler
+     */
+    public final void busyHandler(final @NonNull BusyHandler busyHandler) {
+        this.busyHandler = Objects.requireNonNull(busyHandler, "busyHandler");
+    }
+
+    /**
+     * Returns the setting that determines how many autocomplete interactions are handled at the same time.
+     *
+     * @return the autocomplete concurrency setting
+     */
+    public final @NonNull ConcurrencySetting autocompleteConcurrency() {
+        return this.autocompleteConcurrency;
+    }
+
+    /**
+     * Sets the setting that determines how many autocomplete interactions are handled at the same time.
+     *
+     * <p>Autocomplete interactions are limited separately from command interactions, so slow commands cannot
+     * starve autocompletion. This must be set before the
+     * {@link #installEventListener(GatewayDiscordClient) event listener is installed}.</p>
+     *
+     * @param autocompleteConcurrency autocomplete concurrency setting
+     */
+    public final void autocompleteConcurrency(final @NonNull ConcurrencySetting autocompleteConcurrency) {
+        this.autocompleteConcurrency = Objects.requireNonNull(autocompleteConcurrency, "autocompleteConcurrency");
+    }
+
     /**
      * Installs the event listener using the given {@code gateway} instance.
      *
-     * <p>The event listener is responsible for command synchronization.</p>
+     * <p>The event listener is responsible for command synchronization. Global commands are overwritten once per
+     * gateway rather than once per shard, and guild commands are only overwritten if they have changed since the
+     * last successful overwrite. If {@link DiscordSetting#DIFF_SLASH_COMMANDS} is enabled, the commands that are
+     * registered to Discord are retrieved first, and the overwrite is skipped if they are already up-to-date.</p>
      *
      * @param gateway gateway instance
      * @return mono that represents the termination of the installation
      */
     public final @NonNull Mono<Void> installEventListener(final @NonNull GatewayDiscordClient gateway) {
         Objects.requireNonNull(gateway, "gateway");
-        final Discord4JEventListener<C> eventListener = new Discord4JEventListener<>(this);
+        final Discord4JEventListener<C> eventListener = new Discord4JEventListener<>(this, gateway);
         return eventListener.install(gateway);
     }
 
@@ -0,0 +1,137 @@
+//
+// MIT License
+//
+// Copyright (c) 2024 Incendo
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+// SOFTWARE.
+//
+package org.incendo.cloud.discord.discord4j;
+
+import discord4j.discordjson.json.ApplicationCommandData;
+import discord4j.discordjson.json.ApplicationCommandOptionChoiceData;
+import discord4j.discordjson.json.ApplicationCommandOptionData;
+import discord4j.discordjson.json.ApplicationCommandRequest;
+import discord4j.discordjson.possible.Possible;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import org.apiguardian.api.API;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * Compares the commands that are registered to Discord with generated commands.
+ *
+ * <p>Discord omits default values and may return numbers in a different representation than they were sent in,
+ * so both sides are reduced to the properties that cloud generates before they are compared.</p>
+ */
+@API(status = API.Status.INTERNAL, since = "1.0.0")
+final class Discord4JCommandSynchronizer {
+
+    private static final int CHAT_INPUT = 1;
+
+    private Discord4JCommandSynchronizer() {
+    }
+
+    /**
+     * Returns whether the {@code registered} commands are equivalent to the {@code generated} commands.
+     *
+     * @param registered commands that are registered to Discord
+     * @param generated  generated commands
+     * @return whether the commands are equivalent
+     */
+    static boolean matches(
+            final @NonNull List<@NonNull ApplicationCommandData> registered,
+            final @NonNull List<@NonNull ApplicationCommandRequest> generated
+    ) {
+        final Set<List<Object>> registeredShapes = new HashSet<>();
+        for (final ApplicationCommandData command : registered) {
+            registeredShapes.add(shape(command.name(), command.type(), command.description(), command.options()));
+        }
+        final Set<List<Object>> generatedShapes = new HashSet<>();
+        for (final ApplicationCommandRequest command : generated) {
+            generatedShapes.add(shape(command.name(), command.type(), command.description(), command.options()));
+        }
+        return registeredShapes.equals(generatedShapes);
+    }
+
+    private static @NonNull List<Object> shape(
+            final @NonNull String name,
+            final @Nullable Object type,
+            final @Nullable Object description,
+            final @Nullable Object options
+    ) {
+        return Arrays.asList(name, unwrap(type, CHAT_INPUT), unwrap(description, ""), optionShapes(options));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static @NonNull List<Object> optionShapes(final @Nullable Object options) {
+        final Collection<ApplicationCommandOptionData> unwrapped =
+                (Collection<ApplicationCommandOptionData>) unwrap(options, Collections.emptyList());
+        final List<Object> shapes = new ArrayList<>(unwrapped.size());
+        for (final ApplicationCommandOptionData option : unwrapped) {
+            shapes.add(optionShape(option));
+        }
+        return shapes;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static @NonNull List<Object> optionShape(final @NonNull ApplicationCommandOptionData option) {
+        final List<Object> choices = new ArrayList<>();
+        for (final ApplicationCommandOptionChoiceData choice
+                : (Collection<ApplicationCommandOptionChoiceData>) unwrap(option.choices(), Collections.emptyList())) {
+            choices.add(Arrays.asList(choice.name(), normalize(choice.value())));
+        }
+        return Arrays.asList(
+                option.type(),
+                option.name(),
+                option.description(),
+                unwrap(option.required(), false),
+                unwrap(option.autocomplete(), false),
+                choices,
+                new HashSet<>((Collection<Object>) unwrap(option.channelTypes(), Collections.emptyList())),
+                normalize(unwrap(option.minValue(), null)),
+                normalize(unwrap(option.maxValue(), null)),
+                optionShapes(option.options())
+        );
+    }
+
+    private static @Nullable Object unwrap(final @Nullable Object value, final @Nullable Object fallback) {
+        if (value instanceof Possible) {
+            return unwrap(((Possible<?>) value).toOptional(), fallback);
+        } else if (value instanceof Optional) {
+            return unwrap(((Optional<?>) value).orElse(null), fallback);
+        }
+        return value == null ? fallback : value;
+    }
+
+    private static @Nullable Object normalize(final @Nullable Object value) {
+        if (value instanceof Number) {
+            // Discord returns integer bounds of number options as decimals, and vice versa.
+            return new BigDecimal(value.toString()).stripTrailingZeros();
+        }
+        return value;
+    }
+}
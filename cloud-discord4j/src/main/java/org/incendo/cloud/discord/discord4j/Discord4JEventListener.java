@@ -23,41 +23,78 @@
 //
 package org.incendo.cloud.discord.discord4j;
 
+import discord4j.common.util.Snowflake;
 import discord4j.core.GatewayDiscordClient;
+import discord4j.core.event.domain.Event;
 import discord4j.core.event.domain.guild.GuildCreateEvent;
+import discord4j.core.event.domain.guild.GuildDeleteEvent;
 import discord4j.core.event.domain.interaction.ChatInputAutoCompleteEvent;
 import discord4j.core.event.domain.interaction.ChatInputInteractionEvent;
+import discord4j.core.event.domain.interaction.InteractionCreateEvent;
 import discord4j.core.event.domain.lifecycle.ReadyEvent;
 import discord4j.core.object.command.ApplicationCommandInteraction;
 import discord4j.core.object.command.ApplicationCommandInteractionOption;
 import discord4j.core.object.command.ApplicationCommandInteractionOptionValue;
 import discord4j.core.object.command.ApplicationCommandOption;
+import discord4j.discordjson.json.ApplicationCommandData;
 import discord4j.discordjson.json.ApplicationCommandOptionChoiceData;
+import discord4j.discordjson.json.ApplicationCommandRequest;
 import discord4j.discordjson.json.ImmutableApplicationCommandOptionChoiceData;
 import discord4j.rest.RestClient;
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 import org.apiguardian.api.API;
 import org.checkerframework.checker.nullness.qual.NonNull;
 import org.incendo.cloud.context.CommandContext;
 import org.incendo.cloud.context.CommandContextFactory;
 import org.incendo.cloud.context.StandardCommandContextFactory;
+import org.incendo.cloud.discord.execution.FairExecutionCoordinator;
+import org.incendo.cloud.discord.metrics.CommandTimings;
+import org.incendo.cloud.discord.metrics.DiscordMetrics;
+import org.incendo.cloud.discord.metrics.DiscordTimer;
 import org.incendo.cloud.discord.slash.CommandScope;
-import org.incendo.cloud.util.StringUtils;
+import org.incendo.cloud.discord.slash.DiscordSetting;
+import org.incendo.cloud.discord.slash.DiscordSuggestions;
+import org.incendo.cloud.discord.slash.RegistrationScheduler;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import reactor.core.publisher.BufferOverflowStrategy;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
 
 @API(status = API.Status.INTERNAL, since = "1.0.0")
 final class Discord4JEventListener<C> {
 
+    private static final Logger LOGGER = LoggerFactory.getLogger(Discord4JEventListener.class);
+
     private final Discord4JCommandManager<C> commandManager;
     private final CommandContextFactory<C> contextFactory;
+    private final RestClient restClient;
+    private final Mono<Long> applicationId;
+    private final AtomicReference<List<ApplicationCommandRequest>> registeredGlobalCommands = new AtomicReference<>();
+    private final Map<Long, List<ApplicationCommandRequest>> registeredGuildCommands = new ConcurrentHashMap<>();
 
-    Discord4JEventListener(final @NonNull Discord4JCommandManager<C> commandManager) {
+    Discord4JEventListener(final @NonNull Discord4JCommandManager<C> commandManager, final @NonNull GatewayDiscordClient gateway) {
         this.commandManager = commandManager;
         this.contextFactory = new StandardCommandContextFactory<>(commandManager);
+        this.restClient = gateway.getRestClient();
+        // The application ID never changes, so it is only fetched once. Failures are not cached.
+        this.applicationId = this.restClient.getApplicationId().cache(
+                applicationId -> Duration.ofMillis(Long.MAX_VALUE),
+                throwable -> Duration.ZERO,
+                () -> Duration.ZERO
+        );
     }
 
     @NonNull Mono<Void> install(final @NonNull GatewayDiscordClient gateway) {
@@ -65,36 +102,162 @@ final class Discord4JEventListener<C> {
                 .then()
                 .and(gateway.on(GuildCreateEvent.class, this::handleGuildCreateEvent))
                 .then()
-                .and(gateway.on(ChatInputInteractionEvent.class, this::handleChatInputInteractionEvent))
+                .and(gateway.on(GuildDeleteEvent.class, this::handleGuildDeleteEvent))
                 .then()
-                .and(gateway.on(ChatInputAutoCompleteEvent.class, this::handleChatInputAutoCompleteEvent));
+                .and(this.on(
+                        gateway,
+                        ChatInputInteractionEvent.class,
+                        this.commandManager.commandConcurrency(),
+                        this::handleChatInputInteractionEvent,
+                        event -> this.commandManager.busyHandler().busy(event)
+                ))
+                .then()
+                .and(this.on(
+                        gateway,
+                        ChatInputAutoCompleteEvent.class,
+                        this.commandManager.autocompleteConcurrency(),
+                        this::handleChatInputAutoCompleteEvent,
+                        event -> event.respondWithSuggestions(Collections.emptyList())
+                ));
+    }
+
+    private <E extends Event> @NonNull Flux<Object> on(
+            final @NonNull GatewayDiscordClient gateway,
+            final @NonNull Class<E> eventClass,
+            final @NonNull ConcurrencySetting setting,
+            final @NonNull Function<@NonNull E, @NonNull Mono<?>> handler,
+            final @NonNull Function<@NonNull E, @NonNull Mono<?>> busyReply
+    ) {
+        Flux<E> events = gateway.on(eventClass);
+        if (setting.bufferSize() == ConcurrencySetting.UNBOUNDED) {
+            events = events.onBackpressureBuffer();
+        } else {
+            final ConcurrencySetting.OverflowPolicy overflowPolicy = setting.overflowPolicy();
+            events = events.onBackpressureBuffer(
+                    setting.bufferSize(),
+                    dropped -> {
+                        LOGGER.warn("Dropped {} because {} interactions are waiting to be handled",
+                                eventClass.getSimpleName(), setting.bufferSize());
+                        if (overflowPolicy == ConcurrencySetting.OverflowPolicy.REPLY_BUSY) {
+                            busyReply.apply(dropped).subscribe(
+                                    ignored -> {
+                                    },
+                                    throwable -> LOGGER.debug("Failed to reply to dropped interaction", throwable)
+                            );
+                        }
+                    },
+                    overflowPolicy == ConcurrencySetting.OverflowPolicy.DROP_OLDEST
+                            ? BufferOverflowStrategy.DROP_OLDEST
+                            : BufferOverflowStrategy.DROP_LATEST
+            );
+        }
+
+        final Scheduler scheduler = setting.scheduler();
+        return events.flatMap(event -> {
+            Mono<Object> handling = Mono.defer(() -> handler.apply(event));
+            if (scheduler != null) {
+                handling = handling.subscribeOn(scheduler);
+            }
+            return handling.onErrorResume(throwable -> {
+                LOGGER.error("Failed to handle {}", eventClass.getSimpleName(), throwable);
+                return Mono.empty();
+            });
+        }, setting.maxConcurrency());
     }
 
     private @NonNull Mono<?> handleReadyEvent(final @NonNull ReadyEvent event) {
-        final RestClient restClient = event.getClient().getRestClient();
-        return restClient.getApplicationId().flatMap(applicationId ->
-                restClient.getApplicationService()
-                        .bulkOverwriteGlobalApplicationCommand(
-                                applicationId,
-                                this.commandManager.commandFactory().createCommands(CommandScope.global())
-                        ).then()
-        );
+        return this.scheduleRegistration(RegistrationScheduler.GLOBAL_KEY, () -> {
+            final List<ApplicationCommandRequest> commands = this.commandManager.commandFactory()
+                    .createCommands(CommandScope.global());
+            // Every shard of the gateway fires a ready event, but the global commands only have to be written once.
+            // The commands are claimed before the overwrite so that concurrently ready shards skip it, and released
+            // if the overwrite fails so that the next ready event tries again.
+            while (true) {
+                final List<ApplicationCommandRequest> registered = this.registeredGlobalCommands.get();
+                if (commands.equals(registered)) {
+                    return Mono.empty();
+                }
+                if (this.registeredGlobalCommands.compareAndSet(registered, commands)) {
+                    break;
+                }
+            }
+            return this.applicationId.flatMap(applicationId -> this.unlessRegistered(
+                            this.restClient.getApplicationService().getGlobalApplicationCommands(applicationId),
+                            commands,
+                            this.restClient.getApplicationService()
+                                    .bulkOverwriteGlobalApplicationCommand(applicationId, commands)
+                                    .then()
+                    ))
+                    .doOnError(throwable -> this.registeredGlobalCommands.compareAndSet(commands, null));
+        });
     }
 
     private @NonNull Mono<?> handleGuildCreateEvent(final @NonNull GuildCreateEvent event) {
-        final RestClient restClient = event.getClient().getRestClient();
         final long guildId = event.getGuild().getId().asLong();
-        return restClient.getApplicationId().flatMap(applicationId ->
-                restClient.getApplicationService()
-                        .bulkOverwriteGuildApplicationCommand(
-                                applicationId,
-                                guildId,
-                                this.commandManager.commandFactory().createCommands(CommandScope.guilds(-1, guildId))
-                        ).then()
-        );
+        return this.scheduleRegistration(guildId, () -> {
+            final List<ApplicationCommandRequest> commands = this.commandManager.commandFactory()
+                    .createCommands(CommandScope.guilds(-1, guildId));
+            // Guild create events are re-sent when a shard reconnects, in which case the commands are usually unchanged.
+            if (commands.equals(this.registeredGuildCommands.get(guildId))) {
+                return Mono.empty();
+            }
+            return this.applicationId.flatMap(applicationId -> this.unlessRegistered(
+                            this.restClient.getApplicationService().getGuildApplicationCommands(applicationId, guildId),
+                            commands,
+                            this.restClient.getApplicationService()
+                                    .bulkOverwriteGuildApplicationCommand(applicationId, guildId, commands)
+                                    .then()
+                    ))
+                    .doOnSuccess(ignored -> this.registeredGuildCommands.put(guildId, commands));
+        });
+    }
+
+    /**
+     * Returns the {@code overwrite}, unless {@link DiscordSetting#DIFF_SLASH_COMMANDS} is enabled and the
+     * {@code registered} commands are already equivalent to the generated {@code commands}.
+     */
+    private @NonNull Mono<Void> unlessRegistered(
+            final @NonNull Flux<@NonNull ApplicationCommandData> registered,
+            final @NonNull List<@NonNull ApplicationCommandRequest> commands,
+            final @NonNull Mono<Void> overwrite
+    ) {
+        if (!this.commandManager.discordSettings().get(DiscordSetting.DIFF_SLASH_COMMANDS)) {
+            return overwrite;
+        }
+        return registered.collectList()
+                .map(registeredCommands -> Discord4JCommandSynchronizer.matches(registeredCommands, commands))
+                .onErrorResume(throwable -> {
+                    LOGGER.warn("Failed to retrieve the registered commands, overwriting them", throwable);
+                    return Mono.just(false);
+                })
+                .flatMap(upToDate -> upToDate ? Mono.<Void>empty() : overwrite);
+    }
+
+    private @NonNull Mono<?> handleGuildDeleteEvent(final @NonNull GuildDeleteEvent event) {
+        // Guilds that are only unavailable keep their commands and come back with a guild create event.
+        if (!event.isUnavailable()) {
+            this.registeredGuildCommands.remove(event.getGuildId().asLong());
+        }
+        return Mono.empty();
+    }
+
+    private @NonNull Mono<Void> scheduleRegistration(final long key, final @NonNull Supplier<@NonNull Mono<Void>> registration) {
+        return Mono.defer(() -> Mono.fromFuture(
+                this.commandManager.registrationScheduler().schedule(key, () -> this.commandManager.metrics().time(
+                        DiscordTimer.REGISTRATION,
+                        Discord4JCommandManager.METRICS_PLATFORM,
+                        DiscordMetrics.ALL_COMMANDS,
+                        () -> registration.get().toFuture()
+                ))
+        ));
     }
 
     private @NonNull Mono<?> handleChatInputInteractionEvent(final @NonNull ChatInputInteractionEvent event) {
+        final CommandTimings timings = CommandTimings.start(
+                this.commandManager.metrics(),
+                Discord4JCommandManager.METRICS_PLATFORM,
+                event.getCommandName()
+        );
         return Mono.fromFuture(event.getInteraction().getCommandInteraction().map(interaction -> {
             final Discord4JInteraction discord4JInteraction = Discord4JInteraction.builder()
                     .commandInteraction(interaction)
@@ -103,12 +266,18 @@ final class Discord4JEventListener<C> {
             return this.commandManager.commandExecutor().executeCommand(
                     this.commandManager.senderMapper().map(discord4JInteraction),
                     this.extractCommandName(interaction),
-                    context -> context.store(Discord4JCommandManager.CONTEXT_DISCORD4J_INTERACTION, discord4JInteraction)
-            );
+                    context -> {
+                        context.store(Discord4JCommandManager.CONTEXT_DISCORD4J_INTERACTION, discord4JInteraction);
+                        context.store(FairExecutionCoordinator.CONTEXT_QUEUE_KEY, queueKey(event));
+                        timings.attach(context);
+                    }
+            ).whenComplete((result, throwable) -> timings.completed());
         }).orElse(CompletableFuture.completedFuture(null)));
     }
 
     private @NonNull Mono<?> handleChatInputAutoCompleteEvent(final @NonNull ChatInputAutoCompleteEvent event) {
+        final DiscordMetrics metrics = this.commandManager.metrics();
+        final long receivedAt = metrics.startTimer();
         return Mono.fromFuture(event.getInteraction().getCommandInteraction().map(interaction -> {
             String commandName = this.extractCommandName(interaction);
 
@@ -126,38 +295,49 @@ final class Discord4JEventListener<C> {
                     this.commandManager.senderMapper().map(discord4JInteraction)
             );
             context.store(Discord4JCommandManager.CONTEXT_DISCORD4J_INTERACTION, discord4JInteraction);
+            context.store(FairExecutionCoordinator.CONTEXT_QUEUE_KEY, queueKey(event));
 
             return this.commandManager.suggestionFactory()
                     .suggest(context, commandName)
-                    .thenApply(suggestions -> suggestions.list()
+                    .thenApply(suggestions -> DiscordSuggestions.values(suggestions)
                             .stream()
-                            .map(suggestion -> {
-                                if (suggestion.suggestion().contains(" ")) {
-                                    return suggestion.withSuggestion(StringUtils.trimBeforeLastSpace(
-                                            suggestion.suggestion(),
-                                            suggestions.commandInput()
-                                    ));
-                                }
-                                return suggestion;
-                            })
-                            .filter(suggestion -> !suggestion.suggestion().isEmpty())
-                            .map(suggestion -> {
+                            .map(choice -> {
                                 final ImmutableApplicationCommandOptionChoiceData.Builder builder =
-                                        ApplicationCommandOptionChoiceData.builder().name(suggestion.suggestion());
+                                        ApplicationCommandOptionChoiceData.builder().name(choice);
                                 switch (event.getFocusedOption().getType()) {
                                     case INTEGER:
-                                        return builder.value(Integer.parseInt(suggestion.suggestion())).build();
+                                        return builder.value(Integer.parseInt(choice)).build();
                                     case NUMBER:
-                                        return builder.value(Double.parseDouble(suggestion.suggestion())).build();
+                                        return builder.value(Double.parseDouble(choice)).build();
                                     default:
-                                        return builder.value(suggestion.suggestion()).build();
+                                        return builder.value(choice).build();
                                 }
                             })
                             .collect(Collectors.toList()));
         })
                 .orElseGet(() -> CompletableFuture.completedFuture(Collections.emptyList())))
                 .<Iterable<ApplicationCommandOptionChoiceData>>map(ArrayList::new)
-                .flatMap(event::respondWithSuggestions);
+                .flatMap(choices -> {
+                    metrics.recordSince(
+                            DiscordTimer.AUTOCOMPLETE,
+                            Discord4JCommandManager.METRICS_PLATFORM,
+                            event.getCommandName(),
+                            receivedAt
+                    );
+                    final long repliedAt = metrics.startTimer();
+                    return event.respondWithSuggestions(choices).doOnSuccess(ignored -> metrics.recordSince(
+                            DiscordTimer.ACKNOWLEDGEMENT,
+                            Discord4JCommandManager.METRICS_PLATFORM,
+                            event.getCommandName(),
+                            repliedAt
+                    ));
+                });
+    }
+
+    private static long queueKey(final @NonNull InteractionCreateEvent event) {
+        return event.getInteraction().getGuildId()
+                .map(Snowflake::asLong)
+                .orElseGet(() -> event.getInteraction().getUser().getId().asLong());
     }
 
     private @NonNull String extractCommandName(final @NonNull ApplicationCommandInteraction interaction) {
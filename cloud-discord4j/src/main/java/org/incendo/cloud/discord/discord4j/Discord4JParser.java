@@ -26,6 +26,7 @@ package org.incendo.cloud.discord.discord4j;
 import discord4j.common.util.Snowflake;
 import discord4j.core.object.command.ApplicationCommandInteractionOption;
 import discord4j.core.object.command.ApplicationCommandInteractionOptionValue;
+import discord4j.core.object.command.ApplicationCommandInteractionResolved;
 import discord4j.core.object.entity.Attachment;
 import discord4j.core.object.entity.Role;
 import discord4j.core.object.entity.User;
@@ -33,6 +34,7 @@ import discord4j.core.object.entity.channel.Channel;
 import java.util.List;
 import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
+import java.util.function.BiFunction;
 import java.util.function.Function;
 import org.apiguardian.api.API;
 import org.checkerframework.checker.nullness.qual.NonNull;
@@ -47,6 +49,9 @@ import reactor.core.publisher.Mono;
 /**
  * A parser which wraps Discord4J options.
  *
+ * <p>Users and roles are read from the resolved data that Discord sends along with the interaction, and are only
+ * fetched if the resolved data is missing.</p>
+ *
  * @param <C> command sender type
  * @param <T> Discord4J type
  * @since 1.0.0
@@ -61,7 +66,11 @@ public final class Discord4JParser<C, T> extends NullableParser<C, T> {
      * @return user parser
      */
     public static <C> @NonNull ParserDescriptor<C, User> userParser() {
-        return createParser(ApplicationCommandInteractionOptionValue::asUser, User.class);
+        return createParser(
+                ApplicationCommandInteractionOptionValue::asUser,
+                ApplicationCommandInteractionResolved::getUser,
+                User.class
+        );
     }
 
     /**
@@ -71,12 +80,19 @@ public final class Discord4JParser<C, T> extends NullableParser<C, T> {
      * @return role parser
      */
     public static <C> @NonNull ParserDescriptor<C, Role> roleParser() {
-        return createParser(ApplicationCommandInteractionOptionValue::asRole, Role.class);
+        return createParser(
+                ApplicationCommandInteractionOptionValue::asRole,
+                ApplicationCommandInteractionResolved::getRole,
+                Role.class
+        );
     }
 
     /**
      * Creates a new {@link Channel} parser.
      *
+     * <p>The resolved data only contains partial channels, so the channel is retrieved from the entity store,
+     * falling back to a REST request.</p>
+     *
      * @param <C> command sender type
      * @return channel parser
      */
@@ -114,15 +130,29 @@ public final class Discord4JParser<C, T> extends NullableParser<C, T> {
             final @NonNull Function<@NonNull ApplicationCommandInteractionOptionValue, @NonNull Mono<T>> extractor,
             final @NonNull Class<T> clazz
     ) {
-        return ParserDescriptor.of(new Discord4JParser<>(extractor), clazz);
+        return ParserDescriptor.of(new Discord4JParser<>(extractor, null), clazz);
+    }
+
+    private static <C, T> @NonNull ParserDescriptor<C, T> createParser(
+            final @NonNull Function<@NonNull ApplicationCommandInteractionOptionValue, @NonNull Mono<T>> extractor,
+            final @NonNull BiFunction<@NonNull ApplicationCommandInteractionResolved, @NonNull Snowflake,
+                    @NonNull Optional<T>> resolver,
+            final @NonNull Class<T> clazz
+    ) {
+        return ParserDescriptor.of(new Discord4JParser<>(extractor, resolver), clazz);
     }
 
     private final Function<@NonNull ApplicationCommandInteractionOptionValue, @NonNull Mono<T>> extractor;
+    private final @Nullable BiFunction<@NonNull ApplicationCommandInteractionResolved, @NonNull Snowflake,
+            @NonNull Optional<T>> resolver;
 
     private Discord4JParser(
-            final @NonNull Function<@NonNull ApplicationCommandInteractionOptionValue, @NonNull Mono<T>> extractor
+            final @NonNull Function<@NonNull ApplicationCommandInteractionOptionValue, @NonNull Mono<T>> extractor,
+            final @Nullable BiFunction<@NonNull ApplicationCommandInteractionResolved, @NonNull Snowflake,
+                    @NonNull Optional<T>> resolver
     ) {
         this.extractor = extractor;
+        this.resolver = resolver;
     }
 
     @Override
@@ -133,11 +163,25 @@ public final class Discord4JParser<C, T> extends NullableParser<C, T> {
         final Discord4JInteraction interaction = commandContext.get(Discord4JCommandManager.CONTEXT_DISCORD4J_INTERACTION);
         return this.findOption(interaction.commandInteraction().getOptions(), commandInput.readString())
                 .flatMap(ApplicationCommandInteractionOption::getValue)
-                .map(this.extractor)
-                .map(mono -> mono.map(ArgumentParseResult::success).toFuture())
+                .map(value -> this.resolve(interaction, value)
+                        .map(resolved -> CompletableFuture.completedFuture(ArgumentParseResult.success(resolved)))
+                        .orElseGet(() -> this.extractor.apply(value).map(ArgumentParseResult::success).toFuture()))
                 .orElseGet(() -> CompletableFuture.completedFuture(null));
     }
 
+    private @NonNull Optional<T> resolve(
+            final @NonNull Discord4JInteraction interaction,
+            final @NonNull ApplicationCommandInteractionOptionValue value
+    ) {
+        final BiFunction<ApplicationCommandInteractionResolved, Snowflake, Optional<T>> resolver = this.resolver;
+        if (resolver == null) {
+            return Optional.empty();
+        }
+        return interaction.commandInteraction()
+                .getResolved()
+                .flatMap(resolved -> resolver.apply(resolved, value.asSnowflake()));
+    }
+
     private @NonNull Optional<ApplicationCommandInteractionOption> findOption(
             final @NonNull List<@NonNull ApplicationCommandInteractionOption> options,
             final @NonNull String name
@@ -28,12 +28,13 @@ import discord4j.discordjson.json.ApplicationCommandOptionData;
 import discord4j.discordjson.json.ApplicationCommandRequest;
 import discord4j.discordjson.json.ImmutableApplicationCommandOptionData;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.Objects;
 import java.util.stream.Collectors;
 import org.apiguardian.api.API;
 import org.checkerframework.checker.nullness.qual.NonNull;
-import org.incendo.cloud.CommandTree;
+import org.incendo.cloud.discord.slash.CommandPayloadCache;
 import org.incendo.cloud.discord.slash.CommandScope;
 import org.incendo.cloud.discord.slash.CommandScopePredicate;
 import org.incendo.cloud.discord.slash.DiscordCommand;
@@ -49,15 +50,13 @@ import org.incendo.cloud.internal.CommandNode;
 @API(status = API.Status.STABLE, since = "1.0.0")
 final class StandardDiscord4JCommandFactory<C> implements Discord4JCommandFactory<C> {
 
-    private final CommandTree<C> commandTree;
     private final DiscordCommandFactory<C> discordCommandFactory;
     private final NodeProcessor<C> nodeProcessor;
+    private final CommandPayloadCache<C, List<ApplicationCommandRequest>> payloadCache;
 
     private CommandScopePredicate<C> commandScopePredicate = CommandScopePredicate.alwaysTrue();
 
     StandardDiscord4JCommandFactory(final @NonNull Discord4JCommandManager<C> commandManager) {
-        this.commandTree = commandManager.commandTree();
-
         final OptionRegistry<C> optionRegistry = new StandardOptionRegistry<>();
         optionRegistry
                 .registerMapping(Discord4JOptionType.USER, Discord4JParser.userParser())
@@ -66,26 +65,37 @@ final class StandardDiscord4JCommandFactory<C> implements Discord4JCommandFactor
                 .registerMapping(Discord4JOptionType.MENTIONABLE, Discord4JParser.mentionableParser())
                 .registerMapping(Discord4JOptionType.ATTACHMENT, Discord4JParser.attachmentParser());
 
-        this.discordCommandFactory = new StandardDiscordCommandFactory<>(optionRegistry);
-
-        this.nodeProcessor = new NodeProcessor<>(this.commandTree);
+        this.nodeProcessor = new NodeProcessor<>(commandManager);
+        this.discordCommandFactory = new StandardDiscordCommandFactory<>(optionRegistry, this.nodeProcessor);
+        this.payloadCache = new CommandPayloadCache<>(this.nodeProcessor, this.discordCommandFactory::revision);
     }
 
     @Override
     public @NonNull List<@NonNull ApplicationCommandRequest> createCommands(final @NonNull CommandScope<C> scope) {
         this.nodeProcessor.prepareTree();
 
-        final List<ApplicationCommandRequest> commands = new ArrayList<>();
-        for (final CommandNode<C> rootNode : this.commandTree.rootNodes()) {
-            final CommandScope<C> rootScope = (CommandScope<C>) rootNode.nodeMeta().get(NodeProcessor.NODE_META_SCOPE);
-            if (!rootScope.overlaps(scope)) {
-                continue;
+        final List<CommandNode<C>> rootNodes = new ArrayList<>();
+        for (final CommandNode<C> rootNode : this.nodeProcessor.rootNodes(scope)) {
+            if (this.commandScopePredicate.test(rootNode, scope)) {
+                rootNodes.add(rootNode);
             }
+        }
 
-            if (!this.commandScopePredicate.test(rootNode, scope)) {
-                continue;
-            }
+        // Guilds that see the same root nodes share the same payload.
+        return this.payloadCache.payload(rootNodes, this::createCommands);
+    }
+
+    @Override
+    public void commandScopePredicate(final @NonNull CommandScopePredicate<C> predicate) {
+        this.commandScopePredicate = Objects.requireNonNull(predicate, "predicate");
+        this.payloadCache.invalidate();
+    }
 
+    private @NonNull List<@NonNull ApplicationCommandRequest> createCommands(
+            final @NonNull List<@NonNull CommandNode<C>> rootNodes
+    ) {
+        final List<ApplicationCommandRequest> commands = new ArrayList<>();
+        for (final CommandNode<C> rootNode : rootNodes) {
             final DiscordCommand<C> command = this.discordCommandFactory.create(rootNode);
             final ApplicationCommandRequest request = ApplicationCommandRequest.builder()
                     .name(command.name())
@@ -95,12 +105,7 @@ final class StandardDiscord4JCommandFactory<C> implements Discord4JCommandFactor
             commands.add(request);
         }
 
-        return commands;
-    }
-
-    @Override
-    public void commandScopePredicate(final @NonNull CommandScopePredicate<C> predicate) {
-        this.commandScopePredicate = Objects.requireNonNull(predicate, "predicate");
+        return Collections.unmodifiableList(commands);
     }
 
     private @NonNull List<@NonNull ApplicationCommandOptionData> createOptions(
@@ -4,6 +4,7 @@ plugins {
 
 dependencies {
     api(libs.cloud.core)
+    api(projects.cloudDiscordCommon)
     api(libs.log4j)
     implementation(libs.javacord)
     javadocLinks(libs.javacord) {
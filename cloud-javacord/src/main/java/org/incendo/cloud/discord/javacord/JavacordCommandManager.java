@@ -23,6 +23,7 @@
 //
 package org.incendo.cloud.discord.javacord;
 
+import java.util.Objects;
 import java.util.Optional;
 import java.util.function.BiFunction;
 import java.util.function.Function;
@@ -35,16 +36,25 @@ import org.incendo.cloud.CommandManager;
 import org.incendo.cloud.context.CommandContext;
 import org.incendo.cloud.discord.javacord.sender.JavacordCommandSender;
 import org.incendo.cloud.discord.javacord.sender.JavacordServerSender;
+import org.incendo.cloud.discord.legacy.prefix.GuildPrefixStore;
+import org.incendo.cloud.discord.metrics.CommandTimings;
+import org.incendo.cloud.discord.metrics.DiscordMetrics;
+import org.incendo.cloud.discord.ratelimit.RateLimit;
+import org.incendo.cloud.discord.ratelimit.RateLimitExceededHandler;
+import org.incendo.cloud.discord.ratelimit.RateLimiter;
 import org.incendo.cloud.execution.ExecutionCoordinator;
 import org.incendo.cloud.key.CloudKey;
 import org.javacord.api.DiscordApi;
 import org.javacord.api.entity.permission.PermissionType;
+import org.javacord.api.entity.server.Server;
 import org.javacord.api.entity.user.User;
 
 public class JavacordCommandManager<C> extends CommandManager<C> {
 
     private static final Logger LOGGER = LogManager.getLogger(JavacordCommandManager.class);
 
+    static final String METRICS_PLATFORM = "javacord";
+
     public static final CloudKey<JavacordCommandSender> JAVACORD_COMMAND_SENDER_KEY = CloudKey.of(
             "__internal_javacord_sender__",
             JavacordCommandSender.class
@@ -57,6 +67,16 @@ public class JavacordCommandManager<C> extends CommandManager<C> {
     private final Function<@NonNull C, @NonNull String> commandPrefixMapper;
     private final BiFunction<@NonNull C, @NonNull String, @NonNull Boolean> commandPermissionMapper;
 
+    private final RateLimiter<C> rateLimiter = RateLimiter.create(
+            context -> context.get(JAVACORD_COMMAND_SENDER_KEY).getAuthor().getId(),
+            context -> context.get(JAVACORD_COMMAND_SENDER_KEY).getEvent().getServer().map(Server::getId).orElse(0L),
+            (context, rateLimit, retryAfter) -> context.get(JAVACORD_COMMAND_SENDER_KEY)
+                    .sendErrorMessage(RateLimitExceededHandler.defaultMessage(retryAfter))
+    );
+
+    private DiscordMetrics metrics = DiscordMetrics.noop();
+    private volatile @Nullable GuildPrefixStore prefixStore;
+
     /**
      * Construct a new Javacord command manager
      *
@@ -89,6 +109,8 @@ public class JavacordCommandManager<C> extends CommandManager<C> {
 
         this.registerCapability(CloudCapability.StandardCapabilities.ROOT_COMMAND_DELETION);
         this.registerDefaultExceptionHandlers();
+        CommandTimings.install(this);
+        this.rateLimiter.install(this);
     }
 
     @Override
@@ -131,6 +153,28 @@ public class JavacordCommandManager<C> extends CommandManager<C> {
         return this.commandPrefixMapper.apply(sender);
     }
 
+    /**
+     * Returns the store that provides the command prefix of each server.
+     *
+     * @return the prefix store, or {@code null} if the command prefix mapper provides the prefix
+     */
+    public @Nullable GuildPrefixStore prefixStore() {
+        return this.prefixStore;
+    }
+
+    /**
+     * Sets the store that provides the command prefix of each server.
+     *
+     * <p>When a store is set, the prefix is looked up by the ID of the server that the message was sent in, before the
+     * message author is mapped to a sender, and the command prefix mapper is no longer invoked. Private messages use the
+     * default prefix of the store.</p>
+     *
+     * @param prefixStore the prefix store, or {@code null} to use the command prefix mapper
+     */
+    public void prefixStore(final @Nullable GuildPrefixStore prefixStore) {
+        this.prefixStore = prefixStore;
+    }
+
     /**
      * Returns the DiscordApi instance.
      *
@@ -140,6 +184,33 @@ public class JavacordCommandManager<C> extends CommandManager<C> {
         return this.discordApi;
     }
 
+    /**
+     * Returns the rate limiter that enforces the {@link RateLimit rate limits} of the commands.
+     *
+     * @return the rate limiter
+     */
+    public @NonNull RateLimiter<C> rateLimiter() {
+        return this.rateLimiter;
+    }
+
+    /**
+     * Returns the metrics that the command manager records to.
+     *
+     * @return the metrics
+     */
+    public @NonNull DiscordMetrics metrics() {
+        return this.metrics;
+    }
+
+    /**
+     * Sets the metrics that the command manager records to. Measurements are tagged with the {@code javacord} platform.
+     *
+     * @param metrics metrics
+     */
+    public void metrics(final @NonNull DiscordMetrics metrics) {
+        this.metrics = Objects.requireNonNull(metrics, "metrics");
+    }
+
     private void registerDefaultExceptionHandlers() {
         this.registerDefaultExceptionHandlers(
                 triplet -> {
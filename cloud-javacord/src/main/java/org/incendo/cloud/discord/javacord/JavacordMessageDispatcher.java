@@ -0,0 +1,146 @@
+//
+// MIT License
+//
+// Copyright (c) 2024 Incendo
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+// SOFTWARE.
+//
+package org.incendo.cloud.discord.javacord;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.incendo.cloud.component.CommandComponent;
+import org.incendo.cloud.discord.javacord.sender.JavacordCommandSender;
+import org.incendo.cloud.discord.javacord.sender.JavacordPrivateSender;
+import org.incendo.cloud.discord.javacord.sender.JavacordServerSender;
+import org.incendo.cloud.discord.legacy.prefix.GuildPrefixStore;
+import org.incendo.cloud.discord.metrics.CommandTimings;
+import org.incendo.cloud.discord.metrics.DiscordMetrics;
+import org.javacord.api.entity.message.MessageAuthor;
+import org.javacord.api.entity.server.Server;
+import org.javacord.api.event.message.MessageCreateEvent;
+import org.javacord.api.listener.message.MessageCreateListener;
+
+/**
+ * Listener that dispatches messages to the root command that the first word of the message refers to.
+ *
+ * <p>The aliases of all root commands are stored lower-cased in a single table, so every message is only mapped to a
+ * sender and checked for the command prefix once, regardless of how many commands are registered.</p>
+ *
+ * <p>The table is rebuilt whenever a root command is registered or unregistered. If several root commands share an
+ * alias, the alias belongs to the command that was registered first, and passes to the next one once that command
+ * is unregistered.</p>
+ */
+final class JavacordMessageDispatcher<C> implements MessageCreateListener {
+
+    private final JavacordCommandManager<C> manager;
+    private final Set<CommandComponent<C>> registered = new LinkedHashSet<>();
+    private volatile Map<String, CommandComponent<C>> rootCommands = Collections.emptyMap();
+
+    JavacordMessageDispatcher(final @NonNull JavacordCommandManager<C> manager) {
+        this.manager = manager;
+    }
+
+    synchronized void register(final @NonNull CommandComponent<C> rootCommand) {
+        if (this.registered.add(rootCommand)) {
+            this.rebuild();
+        }
+    }
+
+    synchronized void unregister(final @NonNull CommandComponent<C> rootCommand) {
+        if (this.registered.remove(rootCommand)) {
+            this.rebuild();
+        }
+    }
+
+    private void rebuild() {
+        final Map<String, CommandComponent<C>> rootCommands = new HashMap<>();
+        for (final CommandComponent<C> rootCommand : this.registered) {
+            rootCommands.putIfAbsent(rootCommand.name().toLowerCase(Locale.ROOT), rootCommand);
+            rootCommand.aliases().forEach(alias -> rootCommands.putIfAbsent(alias.toLowerCase(Locale.ROOT), rootCommand));
+        }
+        this.rootCommands = rootCommands;
+    }
+
+    @Override
+    public void onMessageCreate(final @NonNull MessageCreateEvent event) {
+        final DiscordMetrics metrics = this.manager.metrics();
+        final long receivedAt = metrics.startTimer();
+        final MessageAuthor messageAuthor = event.getMessageAuthor();
+
+        if (messageAuthor.isWebhook() || !messageAuthor.isRegularUser()) {
+            return;
+        }
+
+        // With a prefix store, messages without the prefix are rejected before the sender is created.
+        final String messageContent = event.getMessageContent();
+        final GuildPrefixStore prefixStore = this.manager.prefixStore();
+        String commandPrefix = null;
+        if (prefixStore != null) {
+            commandPrefix = prefixStore.prefix(event.getServer().map(Server::getId).orElse(GuildPrefixStore.NO_GUILD));
+            if (!messageContent.startsWith(commandPrefix)) {
+                return;
+            }
+        }
+
+        final JavacordCommandSender commandSender;
+        if (event.getMessage().isServerMessage()) {
+            commandSender = new JavacordServerSender(event);
+        } else if (event.getMessage().isPrivateMessage()) {
+            commandSender = new JavacordPrivateSender(event);
+        } else {
+            commandSender = new JavacordCommandSender(event);
+        }
+
+        final C sender = this.manager.commandSenderMapper().apply(commandSender);
+
+        if (commandPrefix == null) {
+            commandPrefix = this.manager.getCommandPrefix(sender);
+            if (!messageContent.startsWith(commandPrefix)) {
+                return;
+            }
+        }
+        final String content = messageContent.substring(commandPrefix.length());
+
+        int end = 0;
+        while (end < content.length() && !Character.isWhitespace(content.charAt(end))) {
+            end++;
+        }
+        final CommandComponent<C> rootCommand = this.rootCommands.get(content.substring(0, end).toLowerCase(Locale.ROOT));
+        if (rootCommand == null) {
+            return;
+        }
+
+        final CommandTimings timings = CommandTimings.start(
+                metrics,
+                JavacordCommandManager.METRICS_PLATFORM,
+                rootCommand.name(),
+                receivedAt
+        );
+        this.manager.commandExecutor().executeCommand(sender, content, ctx -> {
+            ctx.store(JavacordCommandManager.JAVACORD_COMMAND_SENDER_KEY, commandSender);
+            timings.attach(ctx);
+        }).whenComplete((result, throwable) -> timings.completed());
+    }
+}
@@ -23,8 +23,8 @@
 //
 package org.incendo.cloud.discord.javacord;
 
-import java.util.HashMap;
-import java.util.Map;
+import java.util.HashSet;
+import java.util.Set;
 import org.checkerframework.checker.nullness.qual.NonNull;
 import org.incendo.cloud.Command;
 import org.incendo.cloud.component.CommandComponent;
@@ -33,42 +33,50 @@ import org.javacord.api.listener.message.MessageCreateListener;
 
 final class JavacordRegistrationHandler<C> implements CommandRegistrationHandler<C> {
 
-    private final Map<CommandComponent<C>, JavacordCommand<C>> registeredCommands = new HashMap<>();
+    private final Object lock = new Object();
+    private final Set<CommandComponent<C>> registeredCommands = new HashSet<>();
 
     private JavacordCommandManager<C> javacordCommandManager;
+    private JavacordMessageDispatcher<C> dispatcher;
 
     JavacordRegistrationHandler() {
     }
 
     void initialize(final @NonNull JavacordCommandManager<C> javacordCommandManager) {
         this.javacordCommandManager = javacordCommandManager;
+        this.dispatcher = new JavacordMessageDispatcher<>(javacordCommandManager);
     }
 
     @Override
     public boolean registerCommand(final @NonNull Command<C> command) {
         /* We only care about the root command argument */
         final CommandComponent<C> component = command.rootComponent();
-        if (this.registeredCommands.containsKey(component)) {
-            return false;
+        // The listener is attached and detached under the same lock as the set, so that it is attached exactly
+        // while at least one root command is registered.
+        synchronized (this.lock) {
+            if (!this.registeredCommands.add(component)) {
+                return false;
+            }
+            this.dispatcher.register(component);
+            if (this.registeredCommands.size() == 1) {
+                this.javacordCommandManager.discordApi().addMessageCreateListener(this.dispatcher);
+            }
+            return true;
         }
-        @SuppressWarnings("unchecked") final JavacordCommand<C> javacordCommand = new JavacordCommand<>(
-                component,
-                this.javacordCommandManager
-        );
-        this.registeredCommands.put(component, javacordCommand);
-        this.javacordCommandManager.discordApi().addMessageCreateListener(javacordCommand);
-        return true;
     }
 
     @Override
     public void unregisterRootCommand(
             final @NonNull CommandComponent<C> rootCommand
     ) {
-        final JavacordCommand<C> command = this.registeredCommands.get(rootCommand);
-        if (command == null) {
-            return;
+        synchronized (this.lock) {
+            if (!this.registeredCommands.remove(rootCommand)) {
+                return;
+            }
+            this.dispatcher.unregister(rootCommand);
+            if (this.registeredCommands.isEmpty()) {
+                this.javacordCommandManager.discordApi().removeListener(MessageCreateListener.class, this.dispatcher);
+            }
         }
-
-        this.javacordCommandManager.discordApi().removeListener(MessageCreateListener.class, command);
     }
 }
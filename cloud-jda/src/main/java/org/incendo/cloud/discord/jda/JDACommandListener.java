@@ -29,6 +29,9 @@ import net.dv8tion.jda.api.events.message.MessageReceivedEvent;
 import net.dv8tion.jda.api.hooks.ListenerAdapter;
 import org.checkerframework.checker.nullness.qual.NonNull;
 import org.checkerframework.checker.nullness.qual.Nullable;
+import org.incendo.cloud.discord.legacy.prefix.GuildPrefixStore;
+import org.incendo.cloud.discord.metrics.CommandTimings;
+import org.incendo.cloud.discord.metrics.DiscordMetrics;
 
 /**
  * JDA Command Listener
@@ -53,22 +56,47 @@ public class JDACommandListener<C> extends ListenerAdapter {
 
     @Override
     public final void onMessageReceived(final @NonNull MessageReceivedEvent event) {
-        final Message message = event.getMessage();
-        final C sender = this.commandManager.senderMapper().map(event);
-
+        final DiscordMetrics metrics = this.commandManager.metrics();
+        final long receivedAt = metrics.startTimer();
         if (this.commandManager.getBotId() == event.getAuthor().getIdLong()) {
             return;
         }
 
+        final Message message = event.getMessage();
         final String content = message.getContentRaw();
 
-        final String prefix = this.startsWithPrefix(content, sender);
-
-        if (prefix == null) {
+        // Reject messages that cannot start with any prefix before the sender is mapped
+        final PrefixMatcher prefixMatcher = this.commandManager.prefixMatcher();
+        if (prefixMatcher != null && !prefixMatcher.matches(content)) {
             return;
         }
 
-        this.commandManager.commandExecutor().executeCommand(sender, content.substring(prefix.length()));
+        // With a prefix store, messages without the prefix are rejected before the sender is mapped
+        final GuildPrefixStore prefixStore = this.commandManager.prefixStore();
+        final C sender;
+        final String prefix;
+        if (prefixStore != null) {
+            final String primaryPrefix = prefixStore.prefix(
+                    event.isFromGuild() ? event.getGuild().getIdLong() : GuildPrefixStore.NO_GUILD
+            );
+            prefix = content.startsWith(primaryPrefix) ? primaryPrefix : this.startsWithMention(content);
+            if (prefix == null) {
+                return;
+            }
+            sender = this.commandManager.senderMapper().map(event);
+        } else {
+            sender = this.commandManager.senderMapper().map(event);
+            prefix = this.startsWithPrefix(content, sender);
+            if (prefix == null) {
+                return;
+            }
+        }
+
+        // The root command is resolved once the input has been parsed, so that unknown commands do not create timers.
+        final CommandTimings timings = CommandTimings.start(metrics, JDACommandManager.METRICS_PLATFORM, null, receivedAt);
+        this.commandManager.commandExecutor()
+                .executeCommand(sender, content.substring(prefix.length()), timings::attach)
+                .whenComplete((result, throwable) -> timings.completed());
     }
 
     /**
@@ -92,8 +120,17 @@ public class JDACommandListener<C> extends ListenerAdapter {
             }
         }
 
+        return this.startsWithMention(rawContent); // last, match against bot mention
+    }
 
-        if (rawContent.startsWith("<@")) { // last, match against bot mention
+    /**
+     * Returns whether the raw content starts with a mention of the bot. Returns {@code null} if it does not.
+     *
+     * @param rawContent raw string content
+     * @return the mention it begins with. Returns {@code null} if none.
+     */
+    private @Nullable String startsWithMention(final String rawContent) {
+        if (rawContent.startsWith("<@")) {
             final int angleClose = rawContent.indexOf('>');
             if (angleClose != -1) {
                 final StringBuilder match = new StringBuilder();
@@ -111,7 +148,7 @@ public class JDACommandListener<C> extends ListenerAdapter {
 
                 match.append(rawContent, prefixSize, angleClose + 1);
 
-                if (rawContent.charAt(angleClose + 1) == ' ') {
+                if (angleClose + 1 < rawContent.length() && rawContent.charAt(angleClose + 1) == ' ') {
                     match.append(' ');
                 }
 
@@ -119,7 +156,6 @@ public class JDACommandListener<C> extends ListenerAdapter {
             }
         }
 
-
         return null;
     }
 }
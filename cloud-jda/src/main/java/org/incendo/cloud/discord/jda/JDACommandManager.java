@@ -24,9 +24,12 @@
 package org.incendo.cloud.discord.jda;
 
 import io.leangen.geantyref.TypeToken;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.EnumSet;
 import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.Executor;
 import java.util.function.BiFunction;
 import java.util.function.Function;
 import net.dv8tion.jda.api.JDA;
@@ -49,7 +52,14 @@ import org.incendo.cloud.discord.jda.parser.RoleParser;
 import org.incendo.cloud.discord.jda.parser.UserParser;
 import org.incendo.cloud.discord.jda.permission.BotPermissionPostProcessor;
 import org.incendo.cloud.discord.jda.permission.UserPermissionPostProcessor;
+import org.incendo.cloud.discord.jda.repository.JDAMemberLoader;
+import org.incendo.cloud.discord.jda.repository.JDANameIndex;
 import org.incendo.cloud.discord.legacy.parser.DiscordParserMode;
+import org.incendo.cloud.discord.legacy.prefix.GuildPrefixStore;
+import org.incendo.cloud.discord.metrics.CommandTimings;
+import org.incendo.cloud.discord.metrics.DiscordMetrics;
+import org.incendo.cloud.discord.ratelimit.RateLimitExceededHandler;
+import org.incendo.cloud.discord.ratelimit.RateLimiter;
 import org.incendo.cloud.execution.ExecutionCoordinator;
 import org.incendo.cloud.internal.CommandRegistrationHandler;
 import org.slf4j.Logger;
@@ -66,6 +76,8 @@ public class JDACommandManager<C> extends CommandManager<C> implements SenderMap
 
     private static final Logger LOGGER = LoggerFactory.getLogger(JDACommandManager.class);
 
+    static final String METRICS_PLATFORM = "jda";
+
     private final JDA jda;
     private final long botId;
 
@@ -73,6 +85,14 @@ public class JDACommandManager<C> extends CommandManager<C> implements SenderMap
     private final Function<@NonNull C, @NonNull List<String>> auxiliaryPrefixMapper;
     private final BiFunction<@NonNull C, @NonNull String, @NonNull Boolean> permissionMapper;
     private final SenderMapper<MessageReceivedEvent, C> senderMapper;
+    private final RateLimiter<C> rateLimiter;
+    private final JDAMemberLoader memberLoader = new JDAMemberLoader();
+
+    private DiscordMetrics metrics = DiscordMetrics.noop();
+    private volatile @Nullable PrefixMatcher prefixMatcher;
+    private volatile @Nullable GuildPrefixStore prefixStore;
+    private volatile @Nullable JDANameIndex nameIndex;
+    private volatile @Nullable Executor parsingExecutor;
 
     /**
      * Construct a new JDA Command Manager
@@ -154,6 +174,21 @@ public class JDACommandManager<C> extends CommandManager<C> implements SenderMap
         this.registerCommandPostProcessor(new BotPermissionPostProcessor<>());
         this.registerCommandPostProcessor(new UserPermissionPostProcessor<>());
 
+        /* Register the timing and rate limiting processors */
+        CommandTimings.install(this);
+        this.rateLimiter = RateLimiter.create(
+                context -> senderMapper.reverse(context.sender()).getAuthor().getIdLong(),
+                context -> {
+                    final MessageReceivedEvent event = senderMapper.reverse(context.sender());
+                    return event.isFromGuild() ? event.getGuild().getIdLong() : 0L;
+                },
+                (context, rateLimit, retryAfter) -> senderMapper.reverse(context.sender())
+                        .getChannel()
+                        .sendMessage(RateLimitExceededHandler.defaultMessage(retryAfter))
+                        .queue()
+        );
+        this.rateLimiter.install(this);
+
         /* Register JDA Parsers */
         this.parserRegistry().registerParserSupplier(TypeToken.get(User.class), parserParameters ->
                 new UserParser<>(
@@ -206,6 +241,113 @@ public class JDACommandManager<C> extends CommandManager<C> implements SenderMap
         return this.auxiliaryPrefixMapper;
     }
 
+    /**
+     * Declare every prefix that the prefix mapper and the auxiliary prefix mapper may return
+     * <p>
+     * Messages that do not start with one of these prefixes, or with a mention of the bot, are then rejected before the
+     * sender mapper and the prefix mappers are invoked. Messages that do are still checked against the prefixes that the
+     * prefix mappers return for the sender.
+     *
+     * @param prefixes All possible prefixes
+     */
+    public final void possiblePrefixes(final @NonNull Collection<@NonNull String> prefixes) {
+        Objects.requireNonNull(prefixes, "prefixes");
+        this.prefixMatcher = PrefixMatcher.withMentions(prefixes, this.botId);
+    }
+
+    /**
+     * Get the matcher for the {@link #possiblePrefixes(Collection) possible prefixes}
+     *
+     * @return Prefix matcher, or {@code null} if the possible prefixes have not been declared
+     */
+    final @Nullable PrefixMatcher prefixMatcher() {
+        return this.prefixMatcher;
+    }
+
+    /**
+     * Get the store that provides the primary prefix of each guild
+     *
+     * @return Prefix store, or {@code null} if the prefix mapper provides the primary prefix
+     */
+    public final @Nullable GuildPrefixStore prefixStore() {
+        return this.prefixStore;
+    }
+
+    /**
+     * Set the store that provides the primary prefix of each guild
+     * <p>
+     * When a store is set, the primary prefix is looked up by the ID of the guild that the message was sent in, and the
+     * prefix mapper is no longer invoked. Private messages use the default prefix of the store. Messages that start
+     * with neither the prefix of the store nor a mention of the bot are rejected before the sender mapper is invoked,
+     * and the auxiliary prefix mapper is not consulted.
+     *
+     * @param prefixStore Prefix store, or {@code null} to use the prefix mapper
+     */
+    public final void prefixStore(final @Nullable GuildPrefixStore prefixStore) {
+        this.prefixStore = prefixStore;
+    }
+
+    /**
+     * Index the names of the members, roles and text channels of every guild
+     * <p>
+     * The member, user, role and channel parsers then look up names in the index instead of scanning the guild. The
+     * index is kept up to date using JDA events, so the corresponding caches and gateway intents should be enabled.
+     * Members that the {@link #memberLoader() member loader} retrieves are indexed as well. Calling this method again
+     * returns the existing index.
+     *
+     * @return Name index
+     */
+    public final synchronized @NonNull JDANameIndex indexNames() {
+        JDANameIndex nameIndex = this.nameIndex;
+        if (nameIndex == null) {
+            nameIndex = JDANameIndex.install(this.jda);
+            this.nameIndex = nameIndex;
+            this.memberLoader.nameIndex(nameIndex);
+        }
+        return nameIndex;
+    }
+
+    /**
+     * Get the name index
+     *
+     * @return Name index, or {@code null} if names are not {@link #indexNames() indexed}
+     */
+    public final @Nullable JDANameIndex nameIndex() {
+        return this.nameIndex;
+    }
+
+    /**
+     * Get the loader that the member and user parsers use to retrieve members and users that are not cached
+     *
+     * @return Member loader
+     */
+    public final @NonNull JDAMemberLoader memberLoader() {
+        return this.memberLoader;
+    }
+
+    /**
+     * Get the executor that the member and user parsers continue on once a member or user has been retrieved
+     *
+     * @return Parsing executor, or {@code null} to use the default asynchronous executor of
+     *         {@link java.util.concurrent.CompletableFuture}
+     */
+    public final @Nullable Executor parsingExecutor() {
+        return this.parsingExecutor;
+    }
+
+    /**
+     * Set the executor that the member and user parsers continue on once a member or user has been retrieved
+     * <p>
+     * This should be the parsing executor of the execution coordinator, so that parsing does not continue on the threads
+     * that complete the requests of JDA.
+     *
+     * @param parsingExecutor Parsing executor, or {@code null} to use the default asynchronous executor of
+     *                        {@link java.util.concurrent.CompletableFuture}
+     */
+    public final void parsingExecutor(final @Nullable Executor parsingExecutor) {
+        this.parsingExecutor = parsingExecutor;
+    }
+
     /**
      * Get the bots discord id
      *
@@ -215,6 +357,33 @@ public class JDACommandManager<C> extends CommandManager<C> implements SenderMap
         return this.botId;
     }
 
+    /**
+     * Get the rate limiter that enforces the rate limits of the commands
+     *
+     * @return Rate limiter
+     */
+    public final @NonNull RateLimiter<C> rateLimiter() {
+        return this.rateLimiter;
+    }
+
+    /**
+     * Get the metrics that the command manager records to
+     *
+     * @return Metrics
+     */
+    public final @NonNull DiscordMetrics metrics() {
+        return this.metrics;
+    }
+
+    /**
+     * Set the metrics that the command manager records to. Measurements are tagged with the {@code jda} platform
+     *
+     * @param metrics Metrics
+     */
+    public final void metrics(final @NonNull DiscordMetrics metrics) {
+        this.metrics = Objects.requireNonNull(metrics, "metrics");
+    }
+
     @Override
     public final boolean hasPermission(final @NonNull C sender, final @NonNull String permission) {
         if (permission.isEmpty()) {
@@ -23,10 +23,13 @@
 //
 package org.incendo.cloud.discord.jda;
 
+import java.util.concurrent.Executor;
 import net.dv8tion.jda.api.entities.ChannelType;
 import net.dv8tion.jda.api.entities.Guild;
 import net.dv8tion.jda.api.events.message.MessageReceivedEvent;
 import org.checkerframework.checker.nullness.qual.NonNull;
+import org.incendo.cloud.discord.jda.repository.JDANameIndex;
+import org.incendo.cloud.discord.legacy.parser.MentionableDiscordParser;
 import org.incendo.cloud.execution.preprocessor.CommandPreprocessingContext;
 import org.incendo.cloud.execution.preprocessor.CommandPreprocessor;
 
@@ -61,10 +64,26 @@ final class JDACommandPreprocessor<C> implements CommandPreprocessor<C> {
      * <p>
      * If the message was sent in a DM instead of in a guild, the {@link net.dv8tion.jda.api.entities.PrivateChannel} will be
      * stored in the context with the key "PrivateChannel".
+     * <p>
+     * If names are indexed, the {@link org.incendo.cloud.discord.jda.repository.JDANameIndex} will be stored in the context
+     * with the key "JDANameIndex". The {@link org.incendo.cloud.discord.jda.repository.JDAMemberLoader} is stored in the context
+     * with the key "JDAMemberLoader". If a parsing executor is set, it is stored in the context with the key
+     * {@link MentionableDiscordParser#CONTEXT_PARSING_EXECUTOR}.
      */
     @Override
     public void accept(final @NonNull CommandPreprocessingContext<C> context) {
         context.commandContext().store("JDA", this.mgr.getJDA());
+        context.commandContext().store("JDAMemberLoader", this.mgr.memberLoader());
+
+        final JDANameIndex nameIndex = this.mgr.nameIndex();
+        if (nameIndex != null) {
+            context.commandContext().store("JDANameIndex", nameIndex);
+        }
+
+        final Executor parsingExecutor = this.mgr.parsingExecutor();
+        if (parsingExecutor != null) {
+            context.commandContext().store(MentionableDiscordParser.CONTEXT_PARSING_EXECUTOR, parsingExecutor);
+        }
 
         MessageReceivedEvent event;
         try {
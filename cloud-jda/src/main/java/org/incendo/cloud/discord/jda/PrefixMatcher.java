@@ -0,0 +1,157 @@
+//
+// MIT License
+//
+// Copyright (c) 2024 Incendo
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+// SOFTWARE.
+//
+package org.incendo.cloud.discord.jda;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.List;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * Matcher that checks whether a message starts with any of a fixed set of prefixes, without allocating
+ *
+ * <p>The first character of the message is checked against a bitmap of the first characters of all prefixes, and the
+ * remaining characters are matched against a trie of the prefixes</p>
+ */
+final class PrefixMatcher {
+
+    private final BitSet firstCharacters = new BitSet();
+    private final Node root = new Node();
+
+    /**
+     * Construct a new prefix matcher
+     *
+     * @param prefixes Prefixes to match
+     */
+    PrefixMatcher(final @NonNull Collection<@NonNull String> prefixes) {
+        for (final String prefix : prefixes) {
+            this.add(prefix);
+        }
+        this.root.compact();
+    }
+
+    /**
+     * Create a matcher for the given prefixes, as well as for mentions of the bot with the given id
+     *
+     * @param prefixes Prefixes to match
+     * @param botId    Bot id
+     * @return Prefix matcher
+     */
+    static @NonNull PrefixMatcher withMentions(final @NonNull Collection<@NonNull String> prefixes, final long botId) {
+        final List<String> allPrefixes = new ArrayList<>(prefixes);
+        allPrefixes.add("<@" + botId + ">");
+        allPrefixes.add("<@!" + botId + ">");
+        return new PrefixMatcher(allPrefixes);
+    }
+
+    /**
+     * Get the length of the longest prefix that the content starts with
+     *
+     * @param content Content to match
+     * @return Length of the longest matching prefix, or {@code -1} if the content does not start with any prefix
+     */
+    int longestMatch(final @NonNull CharSequence content) {
+        int match = this.root.terminal ? 0 : -1;
+        if (content.length() == 0 || !this.firstCharacters.get(content.charAt(0))) {
+            return match;
+        }
+
+        Node node = this.root;
+        for (int i = 0; i < content.length(); i++) {
+            node = node.child(content.charAt(i));
+            if (node == null) {
+                break;
+            }
+            if (node.terminal) {
+                match = i + 1;
+            }
+        }
+        return match;
+    }
+
+    /**
+     * Check whether the content starts with any of the prefixes
+     *
+     * @param content Content to match
+     * @return {@code true} if the content starts with a prefix, else {@code false}
+     */
+    boolean matches(final @NonNull CharSequence content) {
+        return this.longestMatch(content) != -1;
+    }
+
+    private void add(final @NonNull String prefix) {
+        if (!prefix.isEmpty()) {
+            this.firstCharacters.set(prefix.charAt(0));
+        }
+        Node node = this.root;
+        for (int i = 0; i < prefix.length(); i++) {
+            node = node.getOrCreateChild(prefix.charAt(i));
+        }
+        node.terminal = true;
+    }
+
+    private static final class Node {
+
+        private char[] keys = new char[0];
+        private Node[] children = new Node[0];
+        private int size;
+        private boolean terminal;
+
+        private @Nullable Node child(final char key) {
+            for (int i = 0; i < this.size; i++) {
+                if (this.keys[i] == key) {
+                    return this.children[i];
+                }
+            }
+            return null;
+        }
+
+        private @NonNull Node getOrCreateChild(final char key) {
+            final Node existing = this.child(key);
+            if (existing != null) {
+                return existing;
+            }
+            if (this.size == this.keys.length) {
+                final int capacity = Math.max(2, this.size * 2);
+                this.keys = Arrays.copyOf(this.keys, capacity);
+                this.children = Arrays.copyOf(this.children, capacity);
+            }
+            final Node child = new Node();
+            this.keys[this.size] = key;
+            this.children[this.size++] = child;
+            return child;
+        }
+
+        private void compact() {
+            this.keys = Arrays.copyOf(this.keys, this.size);
+            this.children = Arrays.copyOf(this.children, this.size);
+            for (final Node child : this.children) {
+                child.compact();
+            }
+        }
+    }
+}
@@ -104,6 +104,6 @@ public final class ChannelParser<C> extends DiscordChannelParser<C, Guild, Messa
     @Override
     protected @NonNull DiscordRepository<Guild, MessageChannel> repository(final @NonNull CommandContext<C> context) {
         final MessageReceivedEvent event = context.get("MessageReceivedEvent");
-        return new JDAChannelRepository(event.getGuild());
+        return new JDAChannelRepository(event.getGuild(), context.getOrDefault("JDANameIndex", null));
     }
 }
@@ -88,7 +88,11 @@ public final class MemberParser<C> extends DiscordMemberParser<C, Guild, Member>
     @Override
     protected @NonNull DiscordRepository<Guild, Member> repository(final @NonNull CommandContext<C> context) {
         final MessageReceivedEvent event = context.get("MessageReceivedEvent");
-        return new JDAMemberRepository(event.getGuild());
+        return new JDAMemberRepository(
+                event.getGuild(),
+                context.getOrDefault("JDANameIndex", null),
+                context.getOrDefault("JDAMemberLoader", null)
+        );
     }
 
     @Override
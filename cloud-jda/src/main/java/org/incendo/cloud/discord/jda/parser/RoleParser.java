@@ -100,6 +100,6 @@ public final class RoleParser<C> extends DiscordRoleParser<C, Guild, Role> {
     @Override
     protected @NonNull DiscordRepository<Guild, Role> repository(final @NonNull CommandContext<C> context) {
         final MessageReceivedEvent event = context.get("MessageReceivedEvent");
-        return new JDARoleRepository(event.getGuild());
+        return new JDARoleRepository(event.getGuild(), context.getOrDefault("JDANameIndex", null));
     }
 }
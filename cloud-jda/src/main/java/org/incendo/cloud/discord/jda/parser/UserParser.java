@@ -99,7 +99,12 @@ public final class UserParser<C> extends DiscordUserParser<C, Guild, User> {
     @Override
     protected @NonNull DiscordRepository<Guild, User> repository(final @NonNull CommandContext<C> context) {
         final MessageReceivedEvent event = context.get("MessageReceivedEvent");
-        return new JDAUserRepository(event.getGuild(), this.isolation());
+        return new JDAUserRepository(
+                event.getGuild(),
+                this.isolation(),
+                context.getOrDefault("JDANameIndex", null),
+                context.getOrDefault("JDAMemberLoader", null)
+        );
     }
 
     @Override
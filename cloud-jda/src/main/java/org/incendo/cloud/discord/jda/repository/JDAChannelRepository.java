@@ -33,8 +33,10 @@ import net.dv8tion.jda.api.exceptions.ErrorResponseException;
 import net.dv8tion.jda.api.requests.ErrorResponse;
 import org.apiguardian.api.API;
 import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
 import org.incendo.cloud.discord.legacy.parser.DiscordChannelParser;
 import org.incendo.cloud.discord.legacy.repository.DiscordRepository;
+import org.incendo.cloud.discord.legacy.repository.NameIndex;
 
 /**
  * Repository for JDA {@link MessageChannel message channels}.
@@ -43,6 +45,7 @@ import org.incendo.cloud.discord.legacy.repository.DiscordRepository;
 public final class JDAChannelRepository implements DiscordRepository<Guild, MessageChannel> {
 
     private final Guild guild;
+    private final @Nullable JDANameIndex nameIndex;
 
     /**
      * Creates a new channel repository.
@@ -50,7 +53,19 @@ public final class JDAChannelRepository implements DiscordRepository<Guild, Mess
      * @param guild guild to retrieve channels from
      */
     public JDAChannelRepository(final @NonNull Guild guild) {
+        this(guild, null);
+    }
+
+    /**
+     * Creates a new channel repository that looks up channels by name using the given {@code nameIndex}, if the guild
+     * has been indexed.
+     *
+     * @param guild     guild to retrieve channels from
+     * @param nameIndex name index, or {@code null} to scan the channels of the guild
+     */
+    public JDAChannelRepository(final @NonNull Guild guild, final @Nullable JDANameIndex nameIndex) {
         this.guild = Objects.requireNonNull(guild, "guild");
+        this.nameIndex = nameIndex;
     }
 
     @Override
@@ -75,6 +90,10 @@ public final class JDAChannelRepository implements DiscordRepository<Guild, Mess
 
     @Override
     public @NonNull Collection<@NonNull TextChannel> getByName(final @NonNull String name) {
+        final NameIndex textChannels = this.nameIndex == null ? null : this.nameIndex.textChannels(this.guild.getIdLong());
+        if (textChannels != null) {
+            return JDANameIndex.resolve(textChannels.named(name), this.guild::getTextChannelById);
+        }
         return this.guild.getTextChannelsByName(name, true);
     }
 }
@@ -0,0 +1,227 @@
+//
+// MIT License
+//
+// Copyright (c) 2024 Incendo
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+// SOFTWARE.
+//
+package org.incendo.cloud.discord.jda.repository;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import net.dv8tion.jda.api.JDA;
+import net.dv8tion.jda.api.entities.Guild;
+import net.dv8tion.jda.api.entities.Member;
+import net.dv8tion.jda.api.entities.User;
+import org.apiguardian.api.API;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * Retrieves members and users that are not cached without blocking.
+ *
+ * <p>Members are requested in batches per guild. The first member that is not cached is requested immediately, and the
+ * members that are requested while that request is in flight are combined into the next request. Concurrent requests
+ * for the same member or user share the same future. The batch of a guild is removed once it has no more members to
+ * request.</p>
+ *
+ * @since 1.0.0
+ */
+@API(status = API.Status.INTERNAL, since = "1.0.0")
+public final class JDAMemberLoader {
+
+    /**
+     * The maximum number of members that Discord returns for a single request.
+     */
+    private static final int MAX_BATCH_SIZE = 100;
+
+    private final Map<Long, GuildBatch> batches = new ConcurrentHashMap<>();
+    private final Map<Long, CompletableFuture<User>> users = new ConcurrentHashMap<>();
+
+    private volatile @Nullable JDANameIndex nameIndex;
+
+    /**
+     * Sets the name index that the members are added to once they have been retrieved.
+     *
+     * @param nameIndex name index, or {@code null} to not index the retrieved members
+     */
+    public void nameIndex(final @Nullable JDANameIndex nameIndex) {
+        this.nameIndex = nameIndex;
+    }
+
+    /**
+     * Returns the member with the given {@code id} in the given {@code guild}.
+     *
+     * @param guild guild to retrieve the member from
+     * @param id    member ID
+     * @return future that completes with the member, or {@code null} if the member does not exist
+     */
+    public @NonNull CompletableFuture<@Nullable Member> member(final @NonNull Guild guild, final long id) {
+        final Member cached = guild.getMemberById(id);
+        if (cached != null) {
+            return CompletableFuture.completedFuture(cached);
+        }
+
+        while (true) {
+            final GuildBatch batch = this.batches.computeIfAbsent(guild.getIdLong(), guildId -> new GuildBatch());
+            final CompletableFuture<Member> future;
+            synchronized (batch) {
+                if (batch.removed) {
+                    // The batch went idle and was removed after it was looked up.
+                    continue;
+                }
+                CompletableFuture<Member> existing = batch.inFlight.get(id);
+                if (existing == null) {
+                    existing = batch.pending.get(id);
+                }
+                if (existing != null) {
+                    return existing;
+                }
+                future = new CompletableFuture<>();
+                batch.pending.put(id, future);
+                if (batch.requesting) {
+                    return future;
+                }
+                batch.requesting = true;
+            }
+            this.request(guild, batch);
+            return future;
+        }
+    }
+
+    /**
+     * Returns the user with the given {@code id}.
+     *
+     * @param jda JDA instance
+     * @param id  user ID
+     * @return future that completes with the user
+     */
+    public @NonNull CompletableFuture<@Nullable User> user(final @NonNull JDA jda, final long id) {
+        final User cached = jda.getUserById(id);
+        if (cached != null) {
+            return CompletableFuture.completedFuture(cached);
+        }
+
+        final CompletableFuture<User> future = new CompletableFuture<>();
+        final CompletableFuture<User> existing = this.users.putIfAbsent(id, future);
+        if (existing != null) {
+            return existing;
+        }
+        future.whenComplete((user, throwable) -> this.users.remove(id, future));
+        jda.retrieveUserById(id).queue(future::complete, future::completeExceptionally);
+        return future;
+    }
+
+    private void request(final @NonNull Guild guild, final @NonNull GuildBatch batch) {
+        final Map<Long, CompletableFuture<Member>> request = new HashMap<>();
+        synchronized (batch) {
+            final Iterator<Map.Entry<Long, CompletableFuture<Member>>> iterator = batch.pending.entrySet().iterator();
+            while (iterator.hasNext() && request.size() < MAX_BATCH_SIZE) {
+                final Map.Entry<Long, CompletableFuture<Member>> entry = iterator.next();
+                iterator.remove();
+                request.put(entry.getKey(), entry.getValue());
+            }
+            if (request.isEmpty()) {
+                batch.requesting = false;
+                batch.removed = true;
+                this.batches.remove(guild.getIdLong(), batch);
+                return;
+            }
+            batch.inFlight.putAll(request);
+        }
+
+        final long[] ids = request.keySet().stream().mapToLong(Long::longValue).toArray();
+        try {
+            guild.retrieveMembersByIds(ids)
+                    .onSuccess(members -> {
+                        final Map<Long, Member> found = new HashMap<>();
+                        members.forEach(member -> found.put(member.getIdLong(), member));
+                        this.complete(guild, batch, request, found, null);
+                    })
+                    .onError(throwable -> this.complete(guild, batch, request, null, throwable));
+        } catch (final RuntimeException e) {
+            // The members cannot be requested over the gateway, for example because the GUILD_MEMBERS intent is
+            // disabled. Fall back to requesting them one by one.
+            this.completeIndividually(guild, batch, request);
+        }
+    }
+
+    private void complete(
+            final @NonNull Guild guild,
+            final @NonNull GuildBatch batch,
+            final @NonNull Map<Long, CompletableFuture<Member>> request,
+            final @Nullable Map<Long, Member> found,
+            final @Nullable Throwable throwable
+    ) {
+        synchronized (batch) {
+            batch.inFlight.keySet().removeAll(request.keySet());
+        }
+        request.forEach((id, future) -> {
+            if (throwable != null) {
+                future.completeExceptionally(throwable);
+            } else {
+                future.complete(this.indexed(found.get(id)));
+            }
+        });
+        this.request(guild, batch);
+    }
+
+    private void completeIndividually(
+            final @NonNull Guild guild,
+            final @NonNull GuildBatch batch,
+            final @NonNull Map<Long, CompletableFuture<Member>> request
+    ) {
+        final CompletableFuture<?>[] futures = request.entrySet()
+                .stream()
+                .map(entry -> guild.retrieveMemberById(entry.getKey()).submit().whenComplete((member, throwable) -> {
+                    if (throwable != null) {
+                        entry.getValue().completeExceptionally(throwable);
+                    } else {
+                        entry.getValue().complete(this.indexed(member));
+                    }
+                }))
+                .toArray(CompletableFuture[]::new);
+        CompletableFuture.allOf(futures).whenComplete((result, throwable) -> {
+            synchronized (batch) {
+                batch.inFlight.keySet().removeAll(request.keySet());
+            }
+            this.request(guild, batch);
+        });
+    }
+
+    private @Nullable Member indexed(final @Nullable Member member) {
+        final JDANameIndex nameIndex = this.nameIndex;
+        if (member != null && nameIndex != null) {
+            nameIndex.index(member);
+        }
+        return member;
+    }
+
+    private static final class GuildBatch {
+
+        private final Map<Long, CompletableFuture<Member>> pending = new LinkedHashMap<>();
+        private final Map<Long, CompletableFuture<Member>> inFlight = new HashMap<>();
+        private boolean requesting;
+        private boolean removed;
+    }
+}
@@ -25,6 +25,7 @@ package org.incendo.cloud.discord.jda.repository;
 
 import java.util.Collection;
 import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionException;
 import java.util.stream.Collectors;
 import net.dv8tion.jda.api.entities.Guild;
@@ -33,6 +34,7 @@ import net.dv8tion.jda.api.exceptions.ErrorResponseException;
 import net.dv8tion.jda.api.requests.ErrorResponse;
 import org.apiguardian.api.API;
 import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
 import org.incendo.cloud.discord.legacy.parser.DiscordMemberParser;
 import org.incendo.cloud.discord.legacy.repository.DiscordRepository;
 
@@ -43,6 +45,8 @@ import org.incendo.cloud.discord.legacy.repository.DiscordRepository;
 public final class JDAMemberRepository implements DiscordRepository<Guild, Member> {
 
     private final Guild guild;
+    private final @Nullable JDANameIndex nameIndex;
+    private final @Nullable JDAMemberLoader memberLoader;
 
     /**
      * Creates a new member repository.
@@ -50,7 +54,36 @@ public final class JDAMemberRepository implements DiscordRepository<Guild, Membe
      * @param guild guild to retrieve members from
      */
     public JDAMemberRepository(final @NonNull Guild guild) {
+        this(guild, null);
+    }
+
+    /**
+     * Creates a new member repository that looks up members by name using the given {@code nameIndex}, if the guild
+     * has been indexed.
+     *
+     * @param guild     guild to retrieve members from
+     * @param nameIndex name index, or {@code null} to scan the members of the guild
+     */
+    public JDAMemberRepository(final @NonNull Guild guild, final @Nullable JDANameIndex nameIndex) {
+        this(guild, nameIndex, null);
+    }
+
+    /**
+     * Creates a new member repository that looks up members by name using the given {@code nameIndex}, and retrieves
+     * members that are not cached using the given {@code memberLoader}.
+     *
+     * @param guild        guild to retrieve members from
+     * @param nameIndex    name index, or {@code null} to scan the members of the guild
+     * @param memberLoader member loader, or {@code null} to request each member separately
+     */
+    public JDAMemberRepository(
+            final @NonNull Guild guild,
+            final @Nullable JDANameIndex nameIndex,
+            final @Nullable JDAMemberLoader memberLoader
+    ) {
         this.guild = Objects.requireNonNull(guild, "guild");
+        this.nameIndex = nameIndex;
+        this.memberLoader = memberLoader;
     }
 
     @Override
@@ -77,8 +110,33 @@ public final class JDAMemberRepository implements DiscordRepository<Guild, Membe
         }
     }
 
+    @Override
+    public @NonNull CompletableFuture<@Nullable Member> retrieveById(final long id) {
+        final CompletableFuture<Member> member;
+        if (this.memberLoader != null) {
+            member = this.memberLoader.member(this.guild, id);
+        } else {
+            final Member cached = this.guild.getMemberById(id);
+            member = cached == null ? this.guild.retrieveMemberById(id).submit() : CompletableFuture.completedFuture(cached);
+        }
+        return member.handle((result, throwable) -> {
+            if (throwable == null && result != null) {
+                return result;
+            }
+            final Throwable cause = throwable instanceof CompletionException ? throwable.getCause() : throwable;
+            if (cause == null || (cause instanceof ErrorResponseException
+                    && ((ErrorResponseException) cause).getErrorResponse() == ErrorResponse.UNKNOWN_MEMBER)) {
+                throw new DiscordMemberParser.MemberNotFoundParseException(Long.toString(id));
+            }
+            throw new CompletionException(cause);
+        });
+    }
+
     @Override
     public @NonNull Collection<? extends @NonNull Member> getByName(final @NonNull String name) {
+        if (this.nameIndex != null) {
+            return this.nameIndex.membersStartingWith(this.guild, name);
+        }
         return this.guild.getMembers()
                 .stream()
                 .filter(member -> member.getEffectiveName().toLowerCase().startsWith(name))
@@ -0,0 +1,280 @@
+//
+// MIT License
+//
+// Copyright (c) 2024 Incendo
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+// SOFTWARE.
+//
+package org.incendo.cloud.discord.jda.repository;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongFunction;
+import java.util.stream.Collectors;
+import net.dv8tion.jda.api.JDA;
+import net.dv8tion.jda.api.entities.Guild;
+import net.dv8tion.jda.api.entities.Member;
+import net.dv8tion.jda.api.entities.Role;
+import net.dv8tion.jda.api.entities.TextChannel;
+import net.dv8tion.jda.api.events.channel.text.TextChannelCreateEvent;
+import net.dv8tion.jda.api.events.channel.text.TextChannelDeleteEvent;
+import net.dv8tion.jda.api.events.channel.text.update.TextChannelUpdateNameEvent;
+import net.dv8tion.jda.api.events.guild.GuildJoinEvent;
+import net.dv8tion.jda.api.events.guild.GuildLeaveEvent;
+import net.dv8tion.jda.api.events.guild.GuildReadyEvent;
+import net.dv8tion.jda.api.events.guild.member.GuildMemberJoinEvent;
+import net.dv8tion.jda.api.events.guild.member.GuildMemberRemoveEvent;
+import net.dv8tion.jda.api.events.guild.member.update.GuildMemberUpdateNicknameEvent;
+import net.dv8tion.jda.api.events.role.RoleCreateEvent;
+import net.dv8tion.jda.api.events.role.RoleDeleteEvent;
+import net.dv8tion.jda.api.events.role.update.RoleUpdateNameEvent;
+import net.dv8tion.jda.api.events.user.update.UserUpdateNameEvent;
+import net.dv8tion.jda.api.hooks.ListenerAdapter;
+import org.apiguardian.api.API;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.incendo.cloud.discord.legacy.repository.NameIndex;
+
+/**
+ * Per-guild {@link NameIndex name indexes} of the cached members, roles and text channels.
+ *
+ * <p>Guilds are indexed when they become ready or are joined, and the indexes are then kept up to date using the member,
+ * role and channel events. The members are indexed by their effective name. Members that are not cached are not
+ * indexed. The members that the {@link JDAMemberLoader} retrieves are indexed as they are loaded, and other code
+ * that loads members can index them using {@link #index(Member)}.</p>
+ *
+ * @since 1.0.0
+ */
+@API(status = API.Status.STABLE, since = "1.0.0")
+public final class JDANameIndex extends ListenerAdapter {
+
+    private final Map<Long, GuildIndex> guilds = new ConcurrentHashMap<>();
+
+    private JDANameIndex() {
+    }
+
+    /**
+     * Creates a new index that indexes the guilds that are already cached by the given {@code jda} instance, and
+     * registers it as an event listener.
+     *
+     * @param jda JDA instance
+     * @return the index
+     */
+    public static @NonNull JDANameIndex install(final @NonNull JDA jda) {
+        Objects.requireNonNull(jda, "jda");
+        final JDANameIndex index = new JDANameIndex();
+        jda.addEventListener(index);
+        jda.getGuilds().forEach(index::index);
+        return index;
+    }
+
+    /**
+     * Indexes the cached members, roles and text channels of the given {@code guild}, replacing its previous indexes.
+     *
+     * @param guild guild to index
+     */
+    public void index(final @NonNull Guild guild) {
+        final GuildIndex index = new GuildIndex();
+        guild.getMemberCache().forEach(member -> index.members.put(member.getIdLong(), member.getEffectiveName()));
+        guild.getRoleCache().forEach(role -> index.roles.put(role.getIdLong(), role.getName()));
+        guild.getTextChannelCache().forEach(channel -> index.textChannels.put(channel.getIdLong(), channel.getName()));
+        this.guilds.put(guild.getIdLong(), index);
+    }
+
+    /**
+     * Returns the index of the members of the guild with the given {@code guildId}.
+     *
+     * @param guildId guild ID
+     * @return the index, or {@code null} if the guild has not been indexed
+     */
+    public @Nullable NameIndex members(final long guildId) {
+        final GuildIndex index = this.guilds.get(guildId);
+        return index == null ? null : index.members;
+    }
+
+    /**
+     * Indexes the given {@code member}, if its guild has been indexed.
+     *
+     * @param member member to index
+     */
+    public void index(final @NonNull Member member) {
+        final NameIndex members = this.members(member.getGuild().getIdLong());
+        if (members != null) {
+            members.put(member.getIdLong(), member.getEffectiveName());
+        }
+    }
+
+    /**
+     * Returns the cached members of the given {@code guild} whose effective name starts with the given {@code name}.
+     *
+     * <p>Guilds that have not been indexed are scanned.</p>
+     *
+     * @param guild guild to look up members in
+     * @param name  name prefix
+     * @return the members
+     */
+    public @NonNull List<@NonNull Member> membersStartingWith(final @NonNull Guild guild, final @NonNull String name) {
+        final NameIndex members = this.members(guild.getIdLong());
+        if (members != null) {
+            return resolve(members.startingWith(name), guild::getMemberById);
+        }
+        final String normalized = NameIndex.normalize(name);
+        return guild.getMemberCache()
+                .stream()
+                .filter(member -> NameIndex.normalize(member.getEffectiveName()).startsWith(normalized))
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Returns the index of the roles of the guild with the given {@code guildId}.
+     *
+     * @param guildId guild ID
+     * @return the index, or {@code null} if the guild has not been indexed
+     */
+    public @Nullable NameIndex roles(final long guildId) {
+        final GuildIndex index = this.guilds.get(guildId);
+        return index == null ? null : index.roles;
+    }
+
+    /**
+     * Returns the index of the text channels of the guild with the given {@code guildId}.
+     *
+     * @param guildId guild ID
+     * @return the index, or {@code null} if the guild has not been indexed
+     */
+    public @Nullable NameIndex textChannels(final long guildId) {
+        final GuildIndex index = this.guilds.get(guildId);
+        return index == null ? null : index.textChannels;
+    }
+
+    @Override
+    public void onGuildReady(final @NonNull GuildReadyEvent event) {
+        this.index(event.getGuild());
+    }
+
+    @Override
+    public void onGuildJoin(final @NonNull GuildJoinEvent event) {
+        this.index(event.getGuild());
+    }
+
+    @Override
+    public void onGuildLeave(final @NonNull GuildLeaveEvent event) {
+        this.guilds.remove(event.getGuild().getIdLong());
+    }
+
+    @Override
+    public void onGuildMemberJoin(final @NonNull GuildMemberJoinEvent event) {
+        this.index(event.getMember());
+    }
+
+    @Override
+    public void onGuildMemberRemove(final @NonNull GuildMemberRemoveEvent event) {
+        final NameIndex members = this.members(event.getGuild().getIdLong());
+        if (members != null) {
+            members.remove(event.getUser().getIdLong());
+        }
+    }
+
+    @Override
+    public void onGuildMemberUpdateNickname(final @NonNull GuildMemberUpdateNicknameEvent event) {
+        this.index(event.getMember());
+    }
+
+    @Override
+    public void onUserUpdateName(final @NonNull UserUpdateNameEvent event) {
+        // The effective name only changes in the guilds in which the member has no nickname.
+        for (final Guild guild : event.getUser().getMutualGuilds()) {
+            final Member member = guild.getMember(event.getUser());
+            if (member != null && member.getNickname() == null) {
+                this.index(member);
+            }
+        }
+    }
+
+    @Override
+    public void onRoleCreate(final @NonNull RoleCreateEvent event) {
+        this.putRole(event.getRole());
+    }
+
+    @Override
+    public void onRoleDelete(final @NonNull RoleDeleteEvent event) {
+        final NameIndex roles = this.roles(event.getGuild().getIdLong());
+        if (roles != null) {
+            roles.remove(event.getRole().getIdLong());
+        }
+    }
+
+    @Override
+    public void onRoleUpdateName(final @NonNull RoleUpdateNameEvent event) {
+        this.putRole(event.getRole());
+    }
+
+    @Override
+    public void onTextChannelCreate(final @NonNull TextChannelCreateEvent event) {
+        this.putTextChannel(event.getChannel());
+    }
+
+    @Override
+    public void onTextChannelDelete(final @NonNull TextChannelDeleteEvent event) {
+        final NameIndex textChannels = this.textChannels(event.getGuild().getIdLong());
+        if (textChannels != null) {
+            textChannels.remove(event.getChannel().getIdLong());
+        }
+    }
+
+    @Override
+    public void onTextChannelUpdateName(final @NonNull TextChannelUpdateNameEvent event) {
+        this.putTextChannel(event.getChannel());
+    }
+
+    static <T> @NonNull List<@NonNull T> resolve(final long @NonNull[] ids, final @NonNull LongFunction<@Nullable T> lookup) {
+        final List<T> objects = new ArrayList<>(ids.length);
+        for (final long id : ids) {
+            final T object = lookup.apply(id);
+            if (object != null) {
+                objects.add(object);
+            }
+        }
+        return objects;
+    }
+
+    private void putRole(final @NonNull Role role) {
+        final NameIndex roles = this.roles(role.getGuild().getIdLong());
+        if (roles != null) {
+            roles.put(role.getIdLong(), role.getName());
+        }
+    }
+
+    private void putTextChannel(final @NonNull TextChannel channel) {
+        final NameIndex textChannels = this.textChannels(channel.getGuild().getIdLong());
+        if (textChannels != null) {
+            textChannels.put(channel.getIdLong(), channel.getName());
+        }
+    }
+
+    private static final class GuildIndex {
+
+        private final NameIndex members = NameIndex.create();
+        private final NameIndex roles = NameIndex.create();
+        private final NameIndex textChannels = NameIndex.create();
+    }
+}
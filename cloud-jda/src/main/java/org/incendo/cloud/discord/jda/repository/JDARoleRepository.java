@@ -32,8 +32,10 @@ import net.dv8tion.jda.api.exceptions.ErrorResponseException;
 import net.dv8tion.jda.api.requests.ErrorResponse;
 import org.apiguardian.api.API;
 import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
 import org.incendo.cloud.discord.legacy.parser.DiscordRoleParser;
 import org.incendo.cloud.discord.legacy.repository.DiscordRepository;
+import org.incendo.cloud.discord.legacy.repository.NameIndex;
 
 /**
  * Repository for JDA {@link Role roles}.
@@ -42,6 +44,7 @@ import org.incendo.cloud.discord.legacy.repository.DiscordRepository;
 public final class JDARoleRepository implements DiscordRepository<Guild, Role> {
 
     private final Guild guild;
+    private final @Nullable JDANameIndex nameIndex;
 
     /**
      * Creates a new role repository.
@@ -49,7 +52,19 @@ public final class JDARoleRepository implements DiscordRepository<Guild, Role> {
      * @param guild guild to retrieve roles from
      */
     public JDARoleRepository(final @NonNull Guild guild) {
+        this(guild, null);
+    }
+
+    /**
+     * Creates a new role repository that looks up roles by name using the given {@code nameIndex}, if the guild
+     * has been indexed.
+     *
+     * @param guild     guild to retrieve roles from
+     * @param nameIndex name index, or {@code null} to scan the roles of the guild
+     */
+    public JDARoleRepository(final @NonNull Guild guild, final @Nullable JDANameIndex nameIndex) {
         this.guild = Objects.requireNonNull(guild, "guild");
+        this.nameIndex = nameIndex;
     }
 
     @Override
@@ -74,6 +89,10 @@ public final class JDARoleRepository implements DiscordRepository<Guild, Role> {
 
     @Override
     public @NonNull Collection<? extends @NonNull Role> getByName(final @NonNull String name) {
+        final NameIndex roles = this.nameIndex == null ? null : this.nameIndex.roles(this.guild.getIdLong());
+        if (roles != null) {
+            return JDANameIndex.resolve(roles.named(name), this.guild::getRoleById);
+        }
         return this.guild.getRolesByName(name, true);
     }
 }
@@ -25,6 +25,7 @@ package org.incendo.cloud.discord.jda.repository;
 
 import java.util.Collection;
 import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionException;
 import java.util.stream.Collectors;
 import net.dv8tion.jda.api.entities.Guild;
@@ -34,6 +35,7 @@ import net.dv8tion.jda.api.exceptions.ErrorResponseException;
 import net.dv8tion.jda.api.requests.ErrorResponse;
 import org.apiguardian.api.API;
 import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
 import org.incendo.cloud.discord.legacy.parser.DiscordUserParser;
 import org.incendo.cloud.discord.legacy.repository.DiscordRepository;
 
@@ -45,6 +47,8 @@ public final class JDAUserRepository implements DiscordRepository<Guild, User> {
 
     private final Guild guild;
     private final DiscordUserParser.Isolation isolation;
+    private final @Nullable JDANameIndex nameIndex;
+    private final @Nullable JDAMemberLoader memberLoader;
 
     /**
      * Creates a new User repository.
@@ -55,9 +59,45 @@ public final class JDAUserRepository implements DiscordRepository<Guild, User> {
     public JDAUserRepository(
             final @NonNull Guild guild,
             final DiscordUserParser.@NonNull Isolation isolation
+    ) {
+        this(guild, isolation, null);
+    }
+
+    /**
+     * Creates a new User repository that looks up guild members by name using the given {@code nameIndex}, if the guild
+     * has been indexed.
+     *
+     * @param guild     guild to retrieve users from
+     * @param isolation isolation
+     * @param nameIndex name index, or {@code null} to scan the members of the guild
+     */
+    public JDAUserRepository(
+            final @NonNull Guild guild,
+            final DiscordUserParser.@NonNull Isolation isolation,
+            final @Nullable JDANameIndex nameIndex
+    ) {
+        this(guild, isolation, nameIndex, null);
+    }
+
+    /**
+     * Creates a new User repository that looks up guild members by name using the given {@code nameIndex}, and
+     * retrieves users and members that are not cached using the given {@code memberLoader}.
+     *
+     * @param guild        guild to retrieve users from
+     * @param isolation    isolation
+     * @param nameIndex    name index, or {@code null} to scan the members of the guild
+     * @param memberLoader member loader, or {@code null} to request each user separately
+     */
+    public JDAUserRepository(
+            final @NonNull Guild guild,
+            final DiscordUserParser.@NonNull Isolation isolation,
+            final @Nullable JDANameIndex nameIndex,
+            final @Nullable JDAMemberLoader memberLoader
     ) {
         this.guild = Objects.requireNonNull(guild, "guild");
         this.isolation = Objects.requireNonNull(isolation, "isolation");
+        this.nameIndex = nameIndex;
+        this.memberLoader = memberLoader;
     }
 
     @Override
@@ -97,12 +137,53 @@ public final class JDAUserRepository implements DiscordRepository<Guild, User> {
         return user;
     }
 
+    @Override
+    public @NonNull CompletableFuture<@Nullable User> retrieveById(final long id) {
+        final CompletableFuture<User> user;
+        if (this.isolation == DiscordUserParser.Isolation.GLOBAL) {
+            if (this.memberLoader != null) {
+                user = this.memberLoader.user(this.guild.getJDA(), id);
+            } else {
+                final User cached = this.guild.getJDA().getUserById(id);
+                user = cached == null ? this.guild.getJDA().retrieveUserById(id).submit() : CompletableFuture.completedFuture(cached);
+            }
+        } else {
+            final CompletableFuture<Member> member;
+            if (this.memberLoader != null) {
+                member = this.memberLoader.member(this.guild, id);
+            } else {
+                final Member cached = this.guild.getMemberById(id);
+                member = cached == null ? this.guild.retrieveMemberById(id).submit() : CompletableFuture.completedFuture(cached);
+            }
+            user = member.thenApply(result -> result == null ? null : result.getUser());
+        }
+        return user.handle((result, throwable) -> {
+            if (throwable == null && result != null) {
+                return result;
+            }
+            final Throwable cause = throwable instanceof CompletionException ? throwable.getCause() : throwable;
+            if (cause == null || (cause instanceof ErrorResponseException
+                    && (((ErrorResponseException) cause).getErrorResponse() == ErrorResponse.UNKNOWN_USER
+                    || ((ErrorResponseException) cause).getErrorResponse() == ErrorResponse.UNKNOWN_MEMBER))) {
+                throw new DiscordUserParser.UserNotFoundParseException(Long.toString(id));
+            }
+            throw new CompletionException(cause);
+        });
+    }
+
     @Override
     public @NonNull Collection<? extends @NonNull User> getByName(final @NonNull String name) {
         if (this.isolation == DiscordUserParser.Isolation.GLOBAL) {
             return this.guild.getJDA().getUsersByName(name, true);
         }
 
+        if (this.nameIndex != null) {
+            return this.nameIndex.membersStartingWith(this.guild, name)
+                    .stream()
+                    .map(Member::getUser)
+                    .collect(Collectors.toList());
+        }
+
         return this.guild.getMembers()
                 .stream()
                 .filter(member -> member.getEffectiveName().toLowerCase().startsWith(name))
@@ -0,0 +1,91 @@
+//
+// MIT License
+//
+// Copyright (c) 2024 Incendo
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+// SOFTWARE.
+//
+package org.incendo.cloud.discord.jda;
+
+import java.util.Arrays;
+import java.util.Collections;
+import org.junit.jupiter.api.Test;
+
+import static com.google.common.truth.Truth.assertThat;
+
+class PrefixMatcherTest {
+
+    @Test
+    void testLongestOverlappingPrefixIsMatched() {
+        // Arrange
+        final PrefixMatcher matcher = new PrefixMatcher(Arrays.asList("!", "!!", "!!!", "?"));
+
+        // Act & Assert
+        assertThat(matcher.longestMatch("!command")).isEqualTo(1);
+        assertThat(matcher.longestMatch("!!command")).isEqualTo(2);
+        assertThat(matcher.longestMatch("!!!!command")).isEqualTo(3);
+        assertThat(matcher.longestMatch("?command")).isEqualTo(1);
+    }
+
+    @Test
+    void testPrefixThatIsOnlyPartiallyPresentIsNotMatched() {
+        // Arrange
+        final PrefixMatcher matcher = new PrefixMatcher(Collections.singletonList("cmd!"));
+
+        // Act & Assert
+        assertThat(matcher.longestMatch("cmd")).isEqualTo(-1);
+        assertThat(matcher.longestMatch("cmd?")).isEqualTo(-1);
+        assertThat(matcher.longestMatch("cmd!")).isEqualTo(4);
+    }
+
+    @Test
+    void testEmptyPrefixMatchesEverything() {
+        // Arrange
+        final PrefixMatcher matcher = new PrefixMatcher(Arrays.asList("", "!"));
+
+        // Act & Assert
+        assertThat(matcher.longestMatch("command")).isEqualTo(0);
+        assertThat(matcher.longestMatch("")).isEqualTo(0);
+        assertThat(matcher.longestMatch("!command")).isEqualTo(1);
+        assertThat(matcher.matches("command")).isTrue();
+    }
+
+    @Test
+    void testBothMentionFormsAreMatched() {
+        // Arrange
+        final PrefixMatcher matcher = PrefixMatcher.withMentions(Collections.singletonList("!"), 1234L);
+
+        // Act & Assert
+        assertThat(matcher.longestMatch("<@1234> command")).isEqualTo(7);
+        assertThat(matcher.longestMatch("<@!1234> command")).isEqualTo(8);
+        assertThat(matcher.longestMatch("<@4321> command")).isEqualTo(-1);
+        assertThat(matcher.longestMatch("!command")).isEqualTo(1);
+    }
+
+    @Test
+    void testNonMatchingFirstCharacterIsRejected() {
+        // Arrange
+        final PrefixMatcher matcher = new PrefixMatcher(Arrays.asList("!", "<@1>"));
+
+        // Act & Assert
+        assertThat(matcher.longestMatch("command")).isEqualTo(-1);
+        assertThat(matcher.longestMatch("")).isEqualTo(-1);
+        assertThat(matcher.matches("?command")).isFalse();
+    }
+}
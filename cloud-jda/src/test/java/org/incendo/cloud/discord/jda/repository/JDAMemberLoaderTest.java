@@ -0,0 +1,265 @@
+//
+// MIT License
+//
+// Copyright (c) 2024 Incendo
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+// SOFTWARE.
+//
+package org.incendo.cloud.discord.jda.repository;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+import net.dv8tion.jda.api.JDA;
+import net.dv8tion.jda.api.entities.Guild;
+import net.dv8tion.jda.api.entities.Member;
+import net.dv8tion.jda.api.requests.RestAction;
+import net.dv8tion.jda.api.utils.concurrent.Task;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Answers;
+import org.mockito.ArgumentMatchers;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class JDAMemberLoaderTest {
+
+    private final List<MemberRequest> requests = new ArrayList<>();
+
+    private JDAMemberLoader memberLoader;
+    private Guild guild;
+
+    @BeforeEach
+    void setup() {
+        this.memberLoader = new JDAMemberLoader();
+        this.guild = mock(Guild.class);
+        this.stubRequests(this.guild);
+    }
+
+    @Test
+    void testCachedMembersAreNotRequested() {
+        // Arrange
+        final Member member = member(1L);
+        when(this.guild.getMemberById(1L)).thenReturn(member);
+
+        // Act
+        final CompletableFuture<Member> result = this.memberLoader.member(this.guild, 1L);
+
+        // Assert
+        assertThat(result.getNow(null)).isSameInstanceAs(member);
+        assertThat(this.requests).isEmpty();
+    }
+
+    @Test
+    void testMembersRequestedWhileInFlightAreCoalesced() {
+        // Arrange
+        final CompletableFuture<Member> first = this.memberLoader.member(this.guild, 1L);
+
+        // Act
+        final CompletableFuture<Member> second = this.memberLoader.member(this.guild, 2L);
+        final CompletableFuture<Member> third = this.memberLoader.member(this.guild, 3L);
+
+        // Assert
+        assertThat(this.requests).hasSize(1);
+        assertThat(this.requests.get(0).ids()).containsExactly(1L);
+
+        this.requests.get(0).succeed(member(1L));
+        assertThat(first.getNow(null).getIdLong()).isEqualTo(1L);
+        assertThat(this.requests).hasSize(2);
+        assertThat(this.requests.get(1).ids()).containsExactly(2L, 3L);
+
+        this.requests.get(1).succeed(member(2L), member(3L));
+        assertThat(second.getNow(null).getIdLong()).isEqualTo(2L);
+        assertThat(third.getNow(null).getIdLong()).isEqualTo(3L);
+        assertThat(this.requests).hasSize(2);
+    }
+
+    @Test
+    void testRequestsForTheSameMemberShareTheFuture() {
+        // Arrange
+        final CompletableFuture<Member> inFlight = this.memberLoader.member(this.guild, 1L);
+        final CompletableFuture<Member> pending = this.memberLoader.member(this.guild, 2L);
+
+        // Act & Assert
+        assertThat(this.memberLoader.member(this.guild, 1L)).isSameInstanceAs(inFlight);
+        assertThat(this.memberLoader.member(this.guild, 2L)).isSameInstanceAs(pending);
+
+        this.requests.get(0).succeed(member(1L));
+        assertThat(this.requests).hasSize(2);
+        assertThat(this.requests.get(1).ids()).containsExactly(2L);
+    }
+
+    @Test
+    void testRequestsAboveTheBatchSizeAreSplit() {
+        // Arrange
+        this.memberLoader.member(this.guild, 0L);
+        final List<CompletableFuture<Member>> futures = LongStream.rangeClosed(1L, 150L)
+                .mapToObj(id -> this.memberLoader.member(this.guild, id))
+                .collect(Collectors.toList());
+
+        // Act
+        this.requests.get(0).succeed();
+        this.requests.get(1).succeed();
+        this.requests.get(2).succeed();
+
+        // Assert
+        assertThat(this.requests).hasSize(3);
+        assertThat(this.requests.get(1).ids()).hasSize(100);
+        assertThat(this.requests.get(2).ids()).hasSize(50);
+        for (final CompletableFuture<Member> future : futures) {
+            assertThat(future.isDone()).isTrue();
+            assertThat(future.getNow(null)).isNull();
+        }
+    }
+
+    @Test
+    void testFailedRequestsCompleteExceptionally() {
+        // Arrange
+        final CompletableFuture<Member> first = this.memberLoader.member(this.guild, 1L);
+        final CompletableFuture<Member> second = this.memberLoader.member(this.guild, 2L);
+        final RuntimeException failure = new RuntimeException("failure");
+
+        // Act
+        this.requests.get(0).fail(failure);
+        this.requests.get(1).fail(failure);
+
+        // Assert
+        assertThat(first.isCompletedExceptionally()).isTrue();
+        assertThat(second.isCompletedExceptionally()).isTrue();
+        assertThat(this.requests).hasSize(2);
+    }
+
+    @Test
+    void testIdleGuildsAreRequestedAgain() {
+        // Arrange
+        this.memberLoader.member(this.guild, 1L);
+        this.requests.get(0).succeed(member(1L));
+
+        // Act
+        final CompletableFuture<Member> result = this.memberLoader.member(this.guild, 1L);
+
+        // Assert
+        assertThat(result.isDone()).isFalse();
+        assertThat(this.requests).hasSize(2);
+        assertThat(this.requests.get(1).ids()).containsExactly(1L);
+    }
+
+    @Test
+    void testLoadedMembersAreIndexed() {
+        // Arrange
+        final Guild guild = mock(Guild.class, Answers.RETURNS_DEEP_STUBS);
+        when(guild.getIdLong()).thenReturn(10L);
+        when(guild.getMemberById(anyLong())).thenReturn(null);
+        this.stubRequests(guild);
+        final JDA jda = mock(JDA.class);
+        when(jda.getGuilds()).thenReturn(Collections.singletonList(guild));
+        final JDANameIndex nameIndex = JDANameIndex.install(jda);
+        this.memberLoader.nameIndex(nameIndex);
+
+        final Member member = member(1L);
+        when(member.getGuild()).thenReturn(guild);
+        when(member.getEffectiveName()).thenReturn("Member");
+
+        // Act
+        this.memberLoader.member(guild, 1L);
+        this.requests.get(0).succeed(member);
+
+        // Assert
+        assertThat(nameIndex.members(10L).named("member")).asList().containsExactly(1L);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testMembersAreRequestedIndividuallyWhenBatchingIsUnavailable() {
+        // Arrange
+        final Guild guild = mock(Guild.class);
+        when(guild.retrieveMembersByIds(ArgumentMatchers.<long[]>any())).thenThrow(new IllegalStateException("intent"));
+        final Member member = member(1L);
+        final RestAction<Member> action = mock(RestAction.class);
+        when(action.submit()).thenReturn(CompletableFuture.completedFuture(member));
+        when(guild.retrieveMemberById(anyLong())).thenReturn(action);
+
+        // Act
+        final CompletableFuture<Member> result = this.memberLoader.member(guild, 1L);
+
+        // Assert
+        assertThat(result.getNow(null)).isSameInstanceAs(member);
+        verify(guild).retrieveMemberById(1L);
+        verify(this.guild, never()).retrieveMembersByIds(ArgumentMatchers.<long[]>any());
+    }
+
+    private void stubRequests(final Guild guild) {
+        when(guild.retrieveMembersByIds(ArgumentMatchers.<long[]>any())).thenAnswer(invocation -> {
+            final MemberRequest request = new MemberRequest((long[]) invocation.getRawArguments()[0]);
+            this.requests.add(request);
+            return request.task;
+        });
+    }
+
+    private static Member member(final long id) {
+        final Member member = mock(Member.class);
+        when(member.getIdLong()).thenReturn(id);
+        return member;
+    }
+
+    private static final class MemberRequest {
+
+        private final long[] ids;
+        private final Task<List<Member>> task;
+        private Consumer<? super List<Member>> success;
+        private Consumer<? super Throwable> error;
+
+        @SuppressWarnings("unchecked")
+        private MemberRequest(final long[] ids) {
+            this.ids = ids.clone();
+            this.task = mock(Task.class);
+            when(this.task.onSuccess(any())).thenAnswer(invocation -> {
+                this.success = invocation.getArgument(0);
+                return this.task;
+            });
+            when(this.task.onError(any())).thenAnswer(invocation -> {
+                this.error = invocation.getArgument(0);
+                return this.task;
+            });
+        }
+
+        private List<Long> ids() {
+            return Arrays.stream(this.ids).sorted().boxed().collect(Collectors.toList());
+        }
+
+        private void succeed(final Member... members) {
+            this.success.accept(members.length == 0 ? Collections.emptyList() : Arrays.asList(members));
+        }
+
+        private void fail(final Throwable throwable) {
+            this.error.accept(throwable);
+        }
+    }
+}
@@ -23,8 +23,14 @@
 //
 package org.incendo.cloud.discord.jda5;
 
+import java.util.Collections;
+import java.util.List;
 import java.util.Objects;
-import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.stream.Collectors;
 import net.dv8tion.jda.api.events.guild.GuildReadyEvent;
 import net.dv8tion.jda.api.events.interaction.command.CommandAutoCompleteInteractionEvent;
@@ -38,10 +44,15 @@ import org.checkerframework.checker.nullness.qual.NonNull;
 import org.incendo.cloud.context.CommandContext;
 import org.incendo.cloud.context.CommandContextFactory;
 import org.incendo.cloud.context.StandardCommandContextFactory;
+import org.incendo.cloud.discord.execution.FairExecutionCoordinator;
+import org.incendo.cloud.discord.metrics.CommandTimings;
+import org.incendo.cloud.discord.metrics.DiscordMetrics;
+import org.incendo.cloud.discord.metrics.DiscordTimer;
 import org.incendo.cloud.discord.slash.DiscordSetting;
+import org.incendo.cloud.discord.slash.DiscordSuggestions;
+import org.incendo.cloud.discord.slash.RegistrationScheduler;
 import org.incendo.cloud.suggestion.Suggestion;
 import org.incendo.cloud.suggestion.Suggestions;
-import org.incendo.cloud.util.StringUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -49,6 +60,11 @@ import org.slf4j.LoggerFactory;
 final class CommandListener<C> extends ListenerAdapter {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(CommandListener.class);
+    private static final ScheduledExecutorService DEADLINE_EXECUTOR = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        final Thread thread = new Thread(runnable, "cloud-jda5-autocomplete-deadline");
+        thread.setDaemon(true);
+        return thread;
+    });
 
     private final JDA5CommandManager<C> commandManager;
     private final CommandContextFactory<C> contextFactory;
@@ -64,8 +80,11 @@ final class CommandListener<C> extends ListenerAdapter {
             return;
         }
 
-        LOGGER.debug("Registering guild commands for guild: {}", event.getGuild());
-        this.commandManager.registerGuildCommands(event.getGuild());
+        LOGGER.debug("Scheduling guild command registration for guild: {}", event.getGuild());
+        this.commandManager.registrationScheduler().schedule(
+                event.getGuild().getIdLong(),
+                () -> this.commandManager.registerGuildCommandsAsync(event.getGuild())
+        );
     }
 
     @Override
@@ -74,12 +93,20 @@ final class CommandListener<C> extends ListenerAdapter {
             return;
         }
 
-        LOGGER.debug("Registering global commands");
-        this.commandManager.registerGlobalCommands(event.getJDA());
+        LOGGER.debug("Scheduling global command registration for {}", event.getJDA().getShardInfo());
+        this.commandManager.registrationScheduler().schedule(
+                RegistrationScheduler.GLOBAL_KEY,
+                () -> this.commandManager.registerGlobalCommandsIfChanged(event.getJDA())
+        );
     }
 
     @Override
     public void onSlashCommandInteraction(final @NonNull SlashCommandInteractionEvent event) {
+        final CommandTimings timings = CommandTimings.start(
+                this.commandManager.metrics(),
+                JDA5CommandManager.METRICS_PLATFORM,
+                event.getName()
+        );
         final JDAInteraction interaction = JDAInteraction.builder()
                 .user(event.getUser())
                 .guild(event.getGuild())
@@ -90,12 +117,18 @@ final class CommandListener<C> extends ListenerAdapter {
         this.commandManager.commandExecutor().executeCommand(
                 this.commandManager.senderMapper().map(interaction),
                 this.extractCommandName(event),
-                context -> context.store(JDA5CommandManager.CONTEXT_JDA_INTERACTION, interaction)
-        );
+                context -> {
+                    context.store(JDA5CommandManager.CONTEXT_JDA_INTERACTION, interaction);
+                    context.store(FairExecutionCoordinator.CONTEXT_QUEUE_KEY, queueKey(interaction));
+                    timings.attach(context);
+                }
+        ).whenComplete((result, throwable) -> timings.completed());
     }
 
     @Override
     public void onCommandAutoCompleteInteraction(final @NonNull CommandAutoCompleteInteractionEvent event) {
+        final DiscordMetrics metrics = this.commandManager.metrics();
+        final long receivedAt = metrics.startTimer();
         String commandName = this.extractCommandName(event);
 
         final String value = event.getFocusedOption().getValue();
@@ -116,45 +149,67 @@ final class CommandListener<C> extends ListenerAdapter {
                 this.commandManager.senderMapper().map(interaction)
         );
         context.store(JDA5CommandManager.CONTEXT_JDA_INTERACTION, interaction);
+        context.store(FairExecutionCoordinator.CONTEXT_QUEUE_KEY, queueKey(interaction));
+
+        final String input = commandName;
+        final AtomicBoolean replied = new AtomicBoolean();
+        final ScheduledFuture<?> deadline = DEADLINE_EXECUTOR.schedule(() -> {
+            if (replied.compareAndSet(false, true)) {
+                this.commandManager.recordAutocompleteTimeout();
+                LOGGER.debug("Suggestions for '{}' did not complete in time", input);
+                event.replyChoices(Collections.emptyList()).queue();
+            }
+        }, this.commandManager.autocompleteTimeout().toNanos(), TimeUnit.NANOSECONDS);
+
+        this.commandManager.suggestionFactory().suggest(context, commandName).whenComplete((suggestions, throwable) -> {
+            deadline.cancel(false);
+            metrics.recordSince(DiscordTimer.AUTOCOMPLETE, JDA5CommandManager.METRICS_PLATFORM, event.getName(), receivedAt);
+            if (!replied.compareAndSet(false, true)) {
+                this.commandManager.recordLateAutocompleteCompletion();
+                return;
+            }
 
-        try {
-            final Suggestions<C, ? extends Suggestion> suggestions = this.commandManager.suggestionFactory()
-                    .suggest(context, commandName)
-                    .join();
-            event.replyChoices(suggestions.list()
-                            .stream()
-                            .map(suggestion -> {
-                                if (suggestion.suggestion().contains(" ")) {
-                                    return suggestion.withSuggestion(StringUtils.trimBeforeLastSpace(
-                                            suggestion.suggestion(),
-                                            suggestions.commandInput()
-                                    ));
-                                }
-                                return suggestion;
-                            })
-                            .filter(suggestion -> !suggestion.suggestion().isEmpty())
-                            .map(suggestion -> {
-                                switch (event.getFocusedOption().getType()) {
-                                    case INTEGER:
-                                        return new Command.Choice(suggestion.suggestion(), Integer.parseInt(suggestion.suggestion()));
-                                    case NUMBER:
-                                        return new Command.Choice(suggestion.suggestion(),
-                                                Double.parseDouble(suggestion.suggestion()));
-                                    default:
-                                        return new Command.Choice(suggestion.suggestion(), suggestion.suggestion());
-                                }
-
-                            })
-                            .collect(Collectors.toList())
-            ).queue();
-        } catch (final CompletionException completionException) {
-            final Throwable cause = completionException.getCause();
-            // We unwrap if we can, otherwise we don't. There's no point in wrapping again.
-            if (cause instanceof RuntimeException) {
-                throw ((RuntimeException) cause);
+            List<Command.Choice> choices = Collections.emptyList();
+            if (throwable != null) {
+                LOGGER.error("Failed to provide suggestions for '{}'", input, throwable);
+            } else {
+                try {
+                    choices = this.createChoices(event, suggestions);
+                } catch (final RuntimeException exception) {
+                    LOGGER.error("Failed to map suggestions for '{}'", input, exception);
+                }
             }
-            throw completionException;
-        }
+            final long repliedAt = metrics.startTimer();
+            event.replyChoices(choices).queue(success -> metrics.recordSince(
+                    DiscordTimer.ACKNOWLEDGEMENT,
+                    JDA5CommandManager.METRICS_PLATFORM,
+                    event.getName(),
+                    repliedAt
+            ));
+        });
+    }
+
+    private @NonNull List<Command.@NonNull Choice> createChoices(
+            final @NonNull CommandAutoCompleteInteractionEvent event,
+            final @NonNull Suggestions<C, ? extends Suggestion> suggestions
+    ) {
+        return DiscordSuggestions.values(suggestions)
+                .stream()
+                .map(value -> {
+                    switch (event.getFocusedOption().getType()) {
+                        case INTEGER:
+                            return new Command.Choice(value, Integer.parseInt(value));
+                        case NUMBER:
+                            return new Command.Choice(value, Double.parseDouble(value));
+                        default:
+                            return new Command.Choice(value, value);
+                    }
+                })
+                .collect(Collectors.toList());
+    }
+
+    private static long queueKey(final @NonNull JDAInteraction interaction) {
+        return interaction.guild() == null ? interaction.user().getIdLong() : interaction.guild().getIdLong();
     }
 
     private @NonNull String extractCommandName(final @NonNull CommandInteractionPayload payload) {
@@ -0,0 +1,304 @@
+//
+// MIT License
+//
+// Copyright (c) 2024 Incendo
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+// SOFTWARE.
+//
+package org.incendo.cloud.discord.jda5;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import net.dv8tion.jda.api.JDA;
+import net.dv8tion.jda.api.entities.Guild;
+import net.dv8tion.jda.api.interactions.commands.Command;
+import net.dv8tion.jda.api.interactions.commands.build.CommandData;
+import net.dv8tion.jda.api.requests.RestAction;
+import net.dv8tion.jda.api.requests.restaction.CommandListUpdateAction;
+import net.dv8tion.jda.api.utils.data.DataArray;
+import net.dv8tion.jda.api.utils.data.DataObject;
+import org.apiguardian.api.API;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Synchronizes generated commands with the commands that are registered to Discord, by only sending the
+ * commands that have changed.
+ *
+ * <p>A single changed or removed command is sent as a targeted upsert or delete. Larger changes are sent as a
+ * single bulk overwrite, and no write request is made if nothing has changed.</p>
+ */
+@API(status = API.Status.INTERNAL, since = "1.0.0")
+final class CommandSynchronizer {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(CommandSynchronizer.class);
+
+    /**
+     * Only applies to global commands, and is not returned for commands that are registered to guilds.
+     */
+    private static final String KEY_DM_PERMISSION = "dm_permission";
+
+    private final AtomicLong avoidedRequests = new AtomicLong();
+
+    /**
+     * Returns the number of write requests that have been avoided because the registered commands were up-to-date.
+     *
+     * @return number of avoided requests
+     */
+    long avoidedRequests() {
+        return this.avoidedRequests.get();
+    }
+
+    /**
+     * Synchronizes the global commands of the given {@code jda} instance.
+     *
+     * @param jda      JDA instance
+     * @param commands generated commands
+     * @return future that completes when the commands have been synchronized
+     */
+    @NonNull CompletableFuture<Void> synchronize(final @NonNull JDA jda, final @NonNull Collection<@NonNull CommandData> commands) {
+        return this.synchronize(new Target() {
+            @Override
+            public @NonNull RestAction<List<Command>> retrieveCommands() {
+                return jda.retrieveCommands();
+            }
+
+            @Override
+            public @NonNull CommandListUpdateAction updateCommands() {
+                return jda.updateCommands();
+            }
+
+            @Override
+            public @NonNull RestAction<Command> upsertCommand(final @NonNull CommandData command) {
+                return jda.upsertCommand(command);
+            }
+
+            @Override
+            public @NonNull RestAction<Void> deleteCommand(final long id) {
+                return jda.deleteCommandById(id);
+            }
+
+            @Override
+            public boolean guild() {
+                return false;
+            }
+
+            @Override
+            public String toString() {
+                return "global";
+            }
+        }, commands);
+    }
+
+    /**
+     * Synchronizes the commands of the given {@code guild}.
+     *
+     * @param guild    guild
+     * @param commands generated commands
+     * @return future that completes when the commands have been synchronized
+     */
+    @NonNull CompletableFuture<Void> synchronize(
+            final @NonNull Guild guild,
+            final @NonNull Collection<@NonNull CommandData> commands
+    ) {
+        return this.synchronize(new Target() {
+            @Override
+            public @NonNull RestAction<List<Command>> retrieveCommands() {
+                return guild.retrieveCommands();
+            }
+
+            @Override
+            public @NonNull CommandListUpdateAction updateCommands() {
+                return guild.updateCommands();
+            }
+
+            @Override
+            public @NonNull RestAction<Command> upsertCommand(final @NonNull CommandData command) {
+                return guild.upsertCommand(command);
+            }
+
+            @Override
+            public @NonNull RestAction<Void> deleteCommand(final long id) {
+                return guild.deleteCommandById(id);
+            }
+
+            @Override
+            public boolean guild() {
+                return true;
+            }
+
+            @Override
+            public String toString() {
+                return guild.toString();
+            }
+        }, commands);
+    }
+
+    private @NonNull CompletableFuture<Void> synchronize(
+            final @NonNull Target target,
+            final @NonNull Collection<@NonNull CommandData> commands
+    ) {
+        return target.retrieveCommands().submit().handle((registered, throwable) -> {
+            if (throwable != null) {
+                LOGGER.warn("Failed to retrieve the registered commands for {}, overwriting them", target, throwable);
+                return submit(target.updateCommands().addCommands(commands));
+            }
+            return this.synchronize(target, registered, commands);
+        }).thenCompose(Function.identity());
+    }
+
+    private @NonNull CompletableFuture<Void> synchronize(
+            final @NonNull Target target,
+            final @NonNull List<@NonNull Command> registered,
+            final @NonNull Collection<@NonNull CommandData> commands
+    ) {
+        final Map<String, Command> removed = new HashMap<>();
+        for (final Command command : registered) {
+            removed.put(key(command.getType(), command.getName()), command);
+        }
+
+        final List<CommandData> changed = new ArrayList<>();
+        for (final CommandData command : commands) {
+            final Command registeredCommand = removed.remove(key(command.getType(), command.getName()));
+            if (registeredCommand == null || !this.matches(target, registeredCommand, command)) {
+                changed.add(command);
+            }
+        }
+
+        final int changes = changed.size() + removed.size();
+        if (changes == 0) {
+            final long avoidedRequests = this.avoidedRequests.incrementAndGet();
+            LOGGER.debug("Commands for {} are up-to-date, skipping update ({} requests avoided)", target, avoidedRequests);
+            return CompletableFuture.completedFuture(null);
+        } else if (changes == 1 && changed.size() == 1) {
+            LOGGER.debug("Upserting command {} for {}", changed.get(0).getName(), target);
+            return submit(target.upsertCommand(changed.get(0)));
+        } else if (changes == 1) {
+            final Command command = removed.values().iterator().next();
+            LOGGER.debug("Deleting command {} for {}", command.getName(), target);
+            return submit(target.deleteCommand(command.getIdLong()));
+        }
+        LOGGER.debug("Overwriting commands for {} ({} changed, {} removed)", target, changed.size(), removed.size());
+        return submit(target.updateCommands().addCommands(commands));
+    }
+
+    /**
+     * Submits the given {@code action} and discards its result.
+     *
+     * @param action action to submit
+     * @return future that completes when the action has completed
+     */
+    static @NonNull CompletableFuture<Void> submit(final @NonNull RestAction<?> action) {
+        return action.submit().thenAccept(result -> {
+        });
+    }
+
+    private boolean matches(
+            final @NonNull Target target,
+            final @NonNull Command registered,
+            final @NonNull CommandData command
+    ) {
+        return matches(target.guild(), CommandData.fromCommand(registered).toData(), command.toData());
+    }
+
+    /**
+     * Returns whether the {@code registered} command data is equivalent to the {@code generated} command data.
+     *
+     * @param guild      whether the commands are registered to a guild
+     * @param registered data of the command that is registered to Discord
+     * @param generated  data of the generated command
+     * @return whether the commands are equivalent
+     */
+    static boolean matches(
+            final boolean guild,
+            final @NonNull DataObject registered,
+            final @NonNull DataObject generated
+    ) {
+        final Map<String, Object> registeredData = normalize(registered);
+        final Map<String, Object> commandData = normalize(generated);
+        if (guild) {
+            registeredData.remove(KEY_DM_PERMISSION);
+            commandData.remove(KEY_DM_PERMISSION);
+        }
+        return registeredData.equals(commandData);
+    }
+
+    private static @NonNull String key(final Command.@NonNull Type type, final @NonNull String name) {
+        return type.name() + ':' + name;
+    }
+
+    private static @NonNull Map<String, Object> normalize(final @NonNull DataObject data) {
+        return normalizeMap(data.toMap());
+    }
+
+    private static @NonNull Map<String, Object> normalizeMap(final @NonNull Map<?, ?> map) {
+        final Map<String, Object> normalized = new TreeMap<>();
+        for (final Map.Entry<?, ?> entry : map.entrySet()) {
+            final Object value = normalizeValue(entry.getValue());
+            if (value != null) {
+                normalized.put(Objects.toString(entry.getKey()), value);
+            }
+        }
+        return normalized;
+    }
+
+    private static @Nullable Object normalizeValue(final @Nullable Object value) {
+        if (value instanceof DataObject) {
+            return normalizeMap(((DataObject) value).toMap());
+        } else if (value instanceof DataArray) {
+            return normalizeValue(((DataArray) value).toList());
+        } else if (value instanceof Map) {
+            return normalizeMap((Map<?, ?>) value);
+        } else if (value instanceof Collection) {
+            final List<Object> normalized = new ArrayList<>();
+            for (final Object element : (Collection<?>) value) {
+                normalized.add(normalizeValue(element));
+            }
+            return normalized;
+        } else if (value instanceof Number) {
+            // Discord returns integer bounds of number options as decimals, and vice versa.
+            return new BigDecimal(value.toString()).stripTrailingZeros();
+        }
+        return value;
+    }
+
+    private interface Target {
+
+        @NonNull RestAction<List<Command>> retrieveCommands();
+
+        @NonNull CommandListUpdateAction updateCommands();
+
+        @NonNull RestAction<Command> upsertCommand(@NonNull CommandData command);
+
+        @NonNull RestAction<Void> deleteCommand(long id);
+
+        boolean guild();
+    }
+}
@@ -24,7 +24,12 @@
 package org.incendo.cloud.discord.jda5;
 
 import io.leangen.geantyref.TypeToken;
+import java.time.Duration;
+import java.util.Collection;
 import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.BiConsumer;
 import java.util.function.BiPredicate;
 import net.dv8tion.jda.api.JDA;
@@ -34,14 +39,25 @@ import net.dv8tion.jda.api.entities.User;
 import net.dv8tion.jda.api.entities.channel.Channel;
 import net.dv8tion.jda.api.events.interaction.command.GenericCommandInteractionEvent;
 import net.dv8tion.jda.api.hooks.EventListener;
+import net.dv8tion.jda.api.interactions.callbacks.IReplyCallback;
+import net.dv8tion.jda.api.interactions.commands.build.CommandData;
+import net.dv8tion.jda.api.sharding.ShardManager;
+import net.dv8tion.jda.api.utils.data.DataArray;
 import org.apiguardian.api.API;
 import org.checkerframework.checker.nullness.qual.NonNull;
 import org.incendo.cloud.CommandManager;
 import org.incendo.cloud.context.CommandContext;
+import org.incendo.cloud.discord.metrics.CommandTimings;
+import org.incendo.cloud.discord.metrics.DiscordMetrics;
+import org.incendo.cloud.discord.metrics.DiscordTimer;
+import org.incendo.cloud.discord.ratelimit.RateLimit;
+import org.incendo.cloud.discord.ratelimit.RateLimitExceededHandler;
+import org.incendo.cloud.discord.ratelimit.RateLimiter;
 import org.incendo.cloud.discord.slash.CommandScope;
 import org.incendo.cloud.discord.slash.DiscordSetting;
+import org.incendo.cloud.discord.slash.ListenableRegistrationHandler;
+import org.incendo.cloud.discord.slash.RegistrationScheduler;
 import org.incendo.cloud.execution.ExecutionCoordinator;
-import org.incendo.cloud.internal.CommandRegistrationHandler;
 import org.incendo.cloud.key.CloudKey;
 import org.incendo.cloud.setting.Configurable;
 import org.slf4j.Logger;
@@ -68,8 +84,36 @@ public class JDA5CommandManager<C> extends CommandManager<C> {
             }
     );
 
+    /**
+     * Discord requires autocomplete interactions to be answered within three seconds.
+     */
+    public static final Duration DEFAULT_AUTOCOMPLETE_TIMEOUT = Duration.ofMillis(2000);
+
+    static final String METRICS_PLATFORM = "jda5";
+
     private final JDAInteraction.InteractionMapper<C> senderMapper;
     private final Configurable<DiscordSetting> discordSettings;
+    private final CommandSynchronizer commandSynchronizer = new CommandSynchronizer();
+    private final AtomicLong autocompleteTimeouts = new AtomicLong();
+    private final AtomicLong lateAutocompleteCompletions = new AtomicLong();
+    private final AtomicReference<String> registeredGlobalCommands = new AtomicReference<>();
+    private final RateLimiter<C> rateLimiter = RateLimiter.create(
+            context -> context.get(CONTEXT_JDA_INTERACTION).user().getIdLong(),
+            context -> {
+                final Guild guild = context.get(CONTEXT_JDA_INTERACTION).guild();
+                return guild == null ? 0L : guild.getIdLong();
+            },
+            (context, rateLimit, retryAfter) -> {
+                final IReplyCallback callback = context.get(CONTEXT_JDA_INTERACTION).replyCallback();
+                if (callback != null) {
+                    callback.reply(RateLimitExceededHandler.defaultMessage(retryAfter)).setEphemeral(true).queue();
+                }
+            }
+    );
+
+    private RegistrationScheduler registrationScheduler = RegistrationScheduler.create();
+    private Duration autocompleteTimeout = DEFAULT_AUTOCOMPLETE_TIMEOUT;
+    private DiscordMetrics metrics = DiscordMetrics.noop();
 
     private BiPredicate<C, String> permissionPredicate;
     private JDACommandFactory<C> commandFactory;
@@ -84,12 +128,14 @@ public class JDA5CommandManager<C> extends CommandManager<C> {
             final @NonNull ExecutionCoordinator<C> executionCoordinator,
             final JDAInteraction.@NonNull InteractionMapper<C> senderMapper
     ) {
-        super(executionCoordinator, CommandRegistrationHandler.nullCommandRegistrationHandler());
-        this.commandFactory = new StandardJDACommandFactory<>(this.commandTree());
+        super(executionCoordinator, new ListenableRegistrationHandler<>());
+        this.commandFactory = new StandardJDACommandFactory<>(this);
         this.discordSettings = Configurable.enumConfigurable(DiscordSetting.class);
         this.permissionPredicate = (sender, permission) -> true;
         this.senderMapper = Objects.requireNonNull(senderMapper, "senderMapper");
         this.registerCommandPostProcessor(new ReplyCommandPostprocessor<>(this));
+        CommandTimings.install(this);
+        this.rateLimiter.install(this);
 
         this.discordSettings.set(DiscordSetting.AUTO_REGISTER_SLASH_COMMANDS, true);
         this.registerDefaultExceptionHandlers();
@@ -177,6 +223,9 @@ public class JDA5CommandManager<C> extends CommandManager<C> {
     /**
      * Creates an event listener.
      *
+     * <p>When using a {@link ShardManager}, a single listener should be shared by all shards. Global commands are
+     * only registered by the first shard that becomes ready, and again when they change.</p>
+     *
      * @return the listener
      */
     public final @NonNull EventListener createListener() {
@@ -201,28 +250,269 @@ public class JDA5CommandManager<C> extends CommandManager<C> {
         this.permissionPredicate = Objects.requireNonNull(permissionPredicate, "permissionPredicate");
     }
 
+    /**
+     * Returns the scheduler that paces the automatic registration of slash commands.
+     *
+     * <p>Every manager has its own scheduler. The default scheduler runs on the daemon thread that is shared by all
+     * default schedulers, so it does not have to be shut down.</p>
+     *
+     * @return the registration scheduler
+     */
+    public final @NonNull RegistrationScheduler registrationScheduler() {
+        return this.registrationScheduler;
+    }
+
+    /**
+     * Sets the scheduler that paces the automatic registration of slash commands.
+     *
+     * @param registrationScheduler registration scheduler
+     */
+    public final void registrationScheduler(final @NonNull RegistrationScheduler registrationScheduler) {
+        this.registrationScheduler = Objects.requireNonNull(registrationScheduler, "registrationScheduler");
+    }
+
+    /**
+     * Returns the time that suggestion providers have to complete before an autocomplete interaction is answered
+     * with an empty list.
+     *
+     * @return the autocomplete timeout
+     */
+    public final @NonNull Duration autocompleteTimeout() {
+        return this.autocompleteTimeout;
+    }
+
+    /**
+     * Sets the time that suggestion providers have to complete before an autocomplete interaction is answered
+     * with an empty list.
+     *
+     * <p>Discord requires autocomplete interactions to be answered within three seconds, so the timeout should
+     * leave enough room for the reply to reach Discord.</p>
+     *
+     * @param autocompleteTimeout autocomplete timeout
+     */
+    public final void autocompleteTimeout(final @NonNull Duration autocompleteTimeout) {
+        Objects.requireNonNull(autocompleteTimeout, "autocompleteTimeout");
+        if (autocompleteTimeout.isNegative() || autocompleteTimeout.isZero()) {
+            throw new IllegalArgumentException("autocompleteTimeout must be positive");
+        }
+        this.autocompleteTimeout = autocompleteTimeout;
+    }
+
+    /**
+     * Returns the number of autocomplete interactions that were answered with an empty list because the
+     * suggestions did not complete in time.
+     *
+     * @return the number of timed out autocomplete interactions
+     */
+    public final long autocompleteTimeouts() {
+        return this.autocompleteTimeouts.get();
+    }
+
+    /**
+     * Returns the number of suggestion requests that completed after their autocomplete interaction had timed out.
+     *
+     * @return the number of late completions
+     */
+    public final long lateAutocompleteCompletions() {
+        return this.lateAutocompleteCompletions.get();
+    }
+
+    /**
+     * Returns the rate limiter that enforces the {@link RateLimit rate limits} of the commands.
+     *
+     * @return the rate limiter
+     */
+    public final @NonNull RateLimiter<C> rateLimiter() {
+        return this.rateLimiter;
+    }
+
+    /**
+     * Returns the metrics that the command manager records to.
+     *
+     * @return the metrics
+     */
+    public final @NonNull DiscordMetrics metrics() {
+        return this.metrics;
+    }
+
+    /**
+     * Sets the metrics that the command manager records to. Measurements are tagged with the {@code jda5} platform.
+     *
+     * @param metrics metrics
+     */
+    public final void metrics(final @NonNull DiscordMetrics metrics) {
+        this.metrics = Objects.requireNonNull(metrics, "metrics");
+    }
+
     /**
      * Registers global commands.
      *
+     * <p>Failures are logged. Use {@link #registerGlobalCommandsAsync(JDA)} to be notified when the registration
+     * completes.</p>
+     *
      * @param jda JDA instance
      */
     public void registerGlobalCommands(final @NonNull JDA jda) {
+        this.registerGlobalCommandsAsync(jda);
+    }
+
+    /**
+     * Registers global commands.
+     *
+     * @param jda JDA instance
+     * @return future that completes when the commands have been registered
+     */
+    public @NonNull CompletableFuture<Void> registerGlobalCommandsAsync(final @NonNull JDA jda) {
         Objects.requireNonNull(jda, "jda");
-        jda.updateCommands()
-                .addCommands(this.commandFactory.createCommands(CommandScope.global()))
-                .queue();
+        final Collection<CommandData> commands = this.commandFactory.createCommands(CommandScope.global());
+        final String payload = payload(commands);
+        return this.registerGlobalCommands(jda, commands).thenRun(() -> this.registeredGlobalCommands.set(payload));
+    }
+
+    /**
+     * Registers global commands using any of the shards of the given {@code shardManager}.
+     *
+     * <p>Global commands belong to the application rather than to a shard, so they only have to be registered
+     * once.</p>
+     *
+     * @param shardManager shard manager
+     * @return future that completes when the commands have been registered
+     * @throws IllegalStateException if the shard manager has no shards
+     */
+    public @NonNull CompletableFuture<Void> registerGlobalCommandsAsync(final @NonNull ShardManager shardManager) {
+        Objects.requireNonNull(shardManager, "shardManager");
+        final JDA jda = shardManager.getShardCache().stream()
+                .findFirst()
+                .orElseThrow(() -> new IllegalStateException("The shard manager has no shards"));
+        return this.registerGlobalCommandsAsync(jda);
+    }
+
+    /**
+     * Registers global commands unless the same commands have already been registered by this command manager.
+     *
+     * <p>This is invoked by the listener whenever a shard becomes ready. Only the first shard registers the
+     * commands, and the other shards (as well as reconnecting shards) skip the registration until the commands
+     * change.</p>
+     *
+     * @param jda JDA instance
+     * @return future that completes when the commands have been registered, or immediately if they were up-to-date
+     */
+    @NonNull CompletableFuture<Void> registerGlobalCommandsIfChanged(final @NonNull JDA jda) {
+        final Collection<CommandData> commands = this.commandFactory.createCommands(CommandScope.global());
+        final String payload = payload(commands);
+        while (true) {
+            final String registered = this.registeredGlobalCommands.get();
+            if (payload.equals(registered)) {
+                LOGGER.debug("Global commands are up-to-date, skipping registration for {}", jda.getShardInfo());
+                return CompletableFuture.completedFuture(null);
+            }
+            if (this.registeredGlobalCommands.compareAndSet(registered, payload)) {
+                break;
+            }
+        }
+
+        // The payload is claimed before the registration completes so that shards that become ready concurrently
+        // skip the registration. It is released if the registration fails, so that the next shard tries again.
+        return this.registerGlobalCommands(jda, commands).whenComplete((result, throwable) -> {
+            if (throwable != null) {
+                this.registeredGlobalCommands.compareAndSet(payload, null);
+            }
+        });
+    }
+
+    /**
+     * Registers guild commands to the guild with the given {@code guildId}, using the shard that owns the guild.
+     *
+     * @param shardManager shard manager
+     * @param guildId      ID of the guild to register commands to
+     * @return future that completes when the commands have been registered
+     * @throws IllegalArgumentException if none of the shards have access to the guild
+     */
+    public @NonNull CompletableFuture<Void> registerGuildCommandsAsync(
+            final @NonNull ShardManager shardManager,
+            final long guildId
+    ) {
+        Objects.requireNonNull(shardManager, "shardManager");
+        final Guild guild = shardManager.getGuildById(guildId);
+        if (guild == null) {
+            throw new IllegalArgumentException(String.format("Unknown guild: %d", guildId));
+        }
+        return this.registerGuildCommandsAsync(guild);
     }
 
     /**
      * Registers guild commands.
      *
+     * <p>Failures are logged. Use {@link #registerGuildCommandsAsync(Guild)} to be notified when the registration
+     * completes.</p>
+     *
      * @param guild guild to register commands to
      */
     public void registerGuildCommands(final @NonNull Guild guild) {
+        this.registerGuildCommandsAsync(guild);
+    }
+
+    /**
+     * Registers guild commands.
+     *
+     * @param guild guild to register commands to
+     * @return future that completes when the commands have been registered
+     */
+    public @NonNull CompletableFuture<Void> registerGuildCommandsAsync(final @NonNull Guild guild) {
         Objects.requireNonNull(guild, "guild");
-        guild.updateCommands()
-                .addCommands(this.commandFactory.createCommands(CommandScope.guilds(-1, guild.getIdLong())))
-                .queue();
+        return this.metrics.time(DiscordTimer.REGISTRATION, METRICS_PLATFORM, DiscordMetrics.ALL_COMMANDS, () -> {
+            final Collection<CommandData> commands = this.commandFactory.createCommands(CommandScope.guilds(-1, guild.getIdLong()));
+            if (this.discordSettings.get(DiscordSetting.DIFF_SLASH_COMMANDS)) {
+                return this.commandSynchronizer.synchronize(guild, commands);
+            }
+            return CommandSynchronizer.submit(guild.updateCommands().addCommands(commands));
+        }).whenComplete((result, throwable) -> {
+            if (throwable != null) {
+                LOGGER.error("Failed to register guild commands for guild {}", guild, throwable);
+            }
+        });
+    }
+
+    /**
+     * Returns the number of command update requests that have been skipped because the registered commands were
+     * already up-to-date.
+     *
+     * <p>This is only tracked when {@link DiscordSetting#DIFF_SLASH_COMMANDS} is enabled.</p>
+     *
+     * @return number of avoided requests
+     */
+    public final long avoidedCommandUpdateRequests() {
+        return this.commandSynchronizer.avoidedRequests();
+    }
+
+    private @NonNull CompletableFuture<Void> registerGlobalCommands(
+            final @NonNull JDA jda,
+            final @NonNull Collection<@NonNull CommandData> commands
+    ) {
+        return this.metrics.time(DiscordTimer.REGISTRATION, METRICS_PLATFORM, DiscordMetrics.ALL_COMMANDS, () -> {
+            if (this.discordSettings.get(DiscordSetting.DIFF_SLASH_COMMANDS)) {
+                return this.commandSynchronizer.synchronize(jda, commands);
+            }
+            return CommandSynchronizer.submit(jda.updateCommands().addCommands(commands));
+        }).whenComplete((result, throwable) -> {
+            if (throwable != null) {
+                LOGGER.error("Failed to register global commands", throwable);
+            }
+        });
+    }
+
+    private static @NonNull String payload(final @NonNull Collection<@NonNull CommandData> commands) {
+        final DataArray payload = DataArray.empty();
+        commands.forEach(command -> payload.add(command.toData()));
+        return payload.toString();
+    }
+
+    void recordAutocompleteTimeout() {
+        this.autocompleteTimeouts.incrementAndGet();
+    }
+
+    void recordLateAutocompleteCompletion() {
+        this.lateAutocompleteCompletions.incrementAndGet();
     }
 
     @SuppressWarnings("unchecked")
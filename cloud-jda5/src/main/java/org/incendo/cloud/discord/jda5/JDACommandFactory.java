@@ -36,6 +36,9 @@ public interface JDACommandFactory<C> {
     /**
      * Creates the JDA commands.
      *
+     * <p>The returned commands may be shared between scopes that resolve to the same commands, such as guilds
+     * that see the same set of commands, and must not be mutated.</p>
+     *
      * @param scope current scope
      * @return created commands
      */
@@ -27,6 +27,8 @@ import java.util.Objects;
 import net.dv8tion.jda.api.interactions.callbacks.IReplyCallback;
 import org.apiguardian.api.API;
 import org.checkerframework.checker.nullness.qual.NonNull;
+import org.incendo.cloud.discord.metrics.DiscordMetrics;
+import org.incendo.cloud.discord.metrics.DiscordTimer;
 import org.incendo.cloud.discord.slash.DiscordSetting;
 import org.incendo.cloud.execution.postprocessor.CommandPostprocessingContext;
 import org.incendo.cloud.execution.postprocessor.CommandPostprocessor;
@@ -69,7 +71,14 @@ final class ReplyCommandPostprocessor<C> implements CommandPostprocessor<C> {
                 fallbackSetting
         );
         if (replySetting.defer()) {
-            callback.deferReply(replySetting.ephemeral()).queue();
+            final DiscordMetrics metrics = this.commandManager.metrics();
+            final long deferredAt = metrics.startTimer();
+            callback.deferReply(replySetting.ephemeral()).queue(hook -> metrics.recordSince(
+                    DiscordTimer.ACKNOWLEDGEMENT,
+                    JDA5CommandManager.METRICS_PLATFORM,
+                    context.command().rootComponent().name(),
+                    deferredAt
+            ));
         }
         // This way we can keep track of whether we deferred or not.
         context.commandContext().store(JDA5CommandManager.META_REPLY_SETTING, replySetting);
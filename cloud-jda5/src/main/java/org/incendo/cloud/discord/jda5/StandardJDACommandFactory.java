@@ -27,6 +27,7 @@ import io.leangen.geantyref.TypeToken;
 import java.lang.reflect.Type;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
@@ -42,7 +43,8 @@ import net.dv8tion.jda.api.interactions.commands.build.SubcommandData;
 import net.dv8tion.jda.api.interactions.commands.build.SubcommandGroupData;
 import org.apiguardian.api.API;
 import org.checkerframework.checker.nullness.qual.NonNull;
-import org.incendo.cloud.CommandTree;
+import org.incendo.cloud.CommandManager;
+import org.incendo.cloud.discord.slash.CommandPayloadCache;
 import org.incendo.cloud.discord.slash.CommandScope;
 import org.incendo.cloud.discord.slash.CommandScopePredicate;
 import org.incendo.cloud.discord.slash.DiscordCommand;
@@ -67,19 +69,19 @@ import org.incendo.cloud.permission.Permission;
 @API(status = API.Status.INTERNAL, since = "1.0.0")
 final class StandardJDACommandFactory<C> implements JDACommandFactory<C> {
 
-    private final CommandTree<C> commandTree;
     private final DiscordCommandFactory<C> discordCommandFactory;
     private final NodeProcessor<C> nodeProcessor;
+    private final CommandPayloadCache<C, Collection<CommandData>> payloadCache;
 
     private CommandScopePredicate<C> commandScopePredicate = CommandScopePredicate.alwaysTrue();
 
     /**
      * Creates a new command factory.
      *
-     * @param commandTree command tree to retrieve commands from
+     * @param commandManager command manager to retrieve commands from
      */
-    StandardJDACommandFactory(final @NonNull CommandTree<C> commandTree) {
-        this.commandTree = Objects.requireNonNull(commandTree, "commandTree");
+    StandardJDACommandFactory(final @NonNull CommandManager<C> commandManager) {
+        Objects.requireNonNull(commandManager, "commandManager");
 
         final OptionRegistry<C> optionRegistry = new StandardOptionRegistry<>();
         optionRegistry
@@ -89,31 +91,37 @@ final class StandardJDACommandFactory<C> implements JDACommandFactory<C> {
                 .registerMapping(JDAOptionType.MENTIONABLE, JDAParser.mentionableParser())
                 .registerMapping(JDAOptionType.ATTACHMENT, JDAParser.attachmentParser());
 
-        this.discordCommandFactory = new StandardDiscordCommandFactory<>(optionRegistry);
-
-        this.nodeProcessor = new NodeProcessor<>(this.commandTree);
+        this.nodeProcessor = new NodeProcessor<>(commandManager);
+        this.discordCommandFactory = new StandardDiscordCommandFactory<>(optionRegistry, this.nodeProcessor);
+        this.payloadCache = new CommandPayloadCache<>(this.nodeProcessor, this.discordCommandFactory::revision);
     }
 
     @Override
     public void commandScopePredicate(final @NonNull CommandScopePredicate<C> predicate) {
         this.commandScopePredicate = Objects.requireNonNull(predicate, "predicate");
+        this.payloadCache.invalidate();
     }
 
     @Override
-    @SuppressWarnings("unchecked")
     public @NonNull Collection<@NonNull CommandData> createCommands(final @NonNull CommandScope<C> scope) {
         this.nodeProcessor.prepareTree();
 
-        final List<CommandData> commands = new ArrayList<>();
-        for (final CommandNode<C> rootNode : this.commandTree.rootNodes()) {
-            final CommandScope<C> rootScope = (CommandScope<C>) rootNode.nodeMeta().get(NodeProcessor.NODE_META_SCOPE);
-            if (!rootScope.overlaps(scope)) {
-                continue;
+        final List<CommandNode<C>> rootNodes = new ArrayList<>();
+        for (final CommandNode<C> rootNode : this.nodeProcessor.rootNodes(scope)) {
+            if (this.commandScopePredicate.test(rootNode, scope)) {
+                rootNodes.add(rootNode);
             }
+        }
 
-            if (!this.commandScopePredicate.test(rootNode, scope)) {
-                continue;
-            }
+        // Guilds that see the same root nodes share the same payload.
+        return this.payloadCache.payload(rootNodes, this::createCommands);
+    }
+
+    @SuppressWarnings("unchecked")
+    private @NonNull Collection<@NonNull CommandData> createCommands(final @NonNull List<@NonNull CommandNode<C>> rootNodes) {
+        final List<CommandData> commands = new ArrayList<>();
+        for (final CommandNode<C> rootNode : rootNodes) {
+            final CommandScope<C> rootScope = (CommandScope<C>) rootNode.nodeMeta().get(NodeProcessor.NODE_META_SCOPE);
 
             final DiscordCommand<C> command = this.discordCommandFactory.create(rootNode);
             SlashCommandData data = Commands.slash(command.name(), command.description());
@@ -145,7 +153,7 @@ final class StandardJDACommandFactory<C> implements JDACommandFactory<C> {
 
             commands.add(data);
         }
-        return commands;
+        return Collections.unmodifiableList(commands);
     }
 
     private @NonNull SubcommandData createSubCommand(final DiscordOption.@NonNull SubCommand<C> option) {
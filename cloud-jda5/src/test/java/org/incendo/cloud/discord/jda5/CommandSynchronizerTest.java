@@ -0,0 +1,152 @@
+//
+// MIT License
+//
+// Copyright (c) 2024 Incendo
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+// SOFTWARE.
+//
+package org.incendo.cloud.discord.jda5;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import net.dv8tion.jda.api.JDA;
+import net.dv8tion.jda.api.interactions.commands.Command;
+import net.dv8tion.jda.api.interactions.commands.OptionType;
+import net.dv8tion.jda.api.interactions.commands.build.CommandData;
+import net.dv8tion.jda.api.interactions.commands.build.Commands;
+import net.dv8tion.jda.api.interactions.commands.build.OptionData;
+import net.dv8tion.jda.api.requests.RestAction;
+import net.dv8tion.jda.api.requests.restaction.CommandCreateAction;
+import net.dv8tion.jda.api.utils.data.DataObject;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class CommandSynchronizerTest {
+
+    private CommandSynchronizer commandSynchronizer;
+    private DataObject generated;
+
+    @BeforeEach
+    void setup() {
+        this.commandSynchronizer = new CommandSynchronizer();
+        this.generated = Commands.slash("command", "Command description")
+                .addOptions(new OptionData(OptionType.INTEGER, "value", "Value", true).setRequiredRange(1, 10))
+                .toData();
+    }
+
+    @Test
+    void testIdenticalCommandsMatch() {
+        // Arrange
+        final DataObject registered = DataObject.fromJson(this.generated.toJson());
+
+        // Act & Assert
+        assertThat(CommandSynchronizer.matches(true, registered, this.generated)).isTrue();
+        assertThat(CommandSynchronizer.matches(false, registered, this.generated)).isTrue();
+    }
+
+    @Test
+    void testNumbersInOtherRepresentationMatch() {
+        // Arrange
+        final DataObject registered = DataObject.fromJson(this.generated.toJson());
+        final DataObject option = registered.getArray("options").getObject(0);
+        option.put("min_value", 1.0D);
+        option.put("max_value", 10.0D);
+
+        // Act & Assert
+        assertThat(CommandSynchronizer.matches(false, registered, this.generated)).isTrue();
+    }
+
+    @Test
+    void testNullValuesAreIgnored() {
+        // Arrange
+        final DataObject registered = DataObject.fromJson(this.generated.toJson());
+        registered.putNull("absent");
+
+        // Act & Assert
+        assertThat(CommandSynchronizer.matches(false, registered, this.generated)).isTrue();
+    }
+
+    @Test
+    void testDmPermissionIsOnlyComparedForGlobalCommands() {
+        // Arrange
+        final DataObject registered = DataObject.fromJson(this.generated.toJson());
+        registered.put("dm_permission", !this.generated.getBoolean("dm_permission", true));
+
+        // Act & Assert
+        assertThat(CommandSynchronizer.matches(true, registered, this.generated)).isTrue();
+        assertThat(CommandSynchronizer.matches(false, registered, this.generated)).isFalse();
+    }
+
+    @Test
+    void testChangedCommandsDoNotMatch() {
+        // Arrange
+        final DataObject registered = DataObject.fromJson(this.generated.toJson());
+        registered.getArray("options").getObject(0).put("description", "Other value");
+
+        // Act & Assert
+        assertThat(CommandSynchronizer.matches(true, registered, this.generated)).isFalse();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testUpToDateCommandsAreNotWritten() {
+        // Arrange
+        final JDA jda = mock(JDA.class);
+        final RestAction<List<Command>> retrieveAction = mock(RestAction.class);
+        when(jda.retrieveCommands()).thenReturn(retrieveAction);
+        when(retrieveAction.submit()).thenReturn(CompletableFuture.completedFuture(Collections.emptyList()));
+
+        // Act
+        this.commandSynchronizer.synchronize(jda, Collections.emptyList()).join();
+
+        // Assert
+        verify(jda, never()).updateCommands();
+        assertThat(this.commandSynchronizer.avoidedRequests()).isEqualTo(1);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testSingleNewCommandIsUpserted() {
+        // Arrange
+        final JDA jda = mock(JDA.class);
+        final RestAction<List<Command>> retrieveAction = mock(RestAction.class);
+        final CommandCreateAction upsertAction = mock(CommandCreateAction.class);
+        when(jda.retrieveCommands()).thenReturn(retrieveAction);
+        when(retrieveAction.submit()).thenReturn(CompletableFuture.completedFuture(Collections.emptyList()));
+        when(jda.upsertCommand(any(CommandData.class))).thenReturn(upsertAction);
+        when(upsertAction.submit()).thenReturn(CompletableFuture.completedFuture(null));
+        final CommandData command = Commands.slash("command", "Command description");
+
+        // Act
+        this.commandSynchronizer.synchronize(jda, Collections.singletonList(command)).join();
+
+        // Assert
+        verify(jda).upsertCommand(command);
+        verify(jda, never()).updateCommands();
+        assertThat(this.commandSynchronizer.avoidedRequests()).isEqualTo(0);
+    }
+}
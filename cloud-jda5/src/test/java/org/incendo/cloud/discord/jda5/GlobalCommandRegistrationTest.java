@@ -0,0 +1,103 @@
+//
+// MIT License
+//
+// Copyright (c) 2024 Incendo
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+// SOFTWARE.
+//
+package org.incendo.cloud.discord.jda5;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.concurrent.CompletableFuture;
+import net.dv8tion.jda.api.JDA;
+import net.dv8tion.jda.api.requests.restaction.CommandListUpdateAction;
+import org.incendo.cloud.execution.ExecutionCoordinator;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class GlobalCommandRegistrationTest {
+
+    private JDA5CommandManager<JDAInteraction> commandManager;
+    private JDA jda;
+    private CommandListUpdateAction updateAction;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setup() {
+        this.commandManager = new JDA5CommandManager<>(
+                ExecutionCoordinator.simpleCoordinator(),
+                JDAInteraction.InteractionMapper.identity()
+        );
+        this.commandManager.command(this.commandManager.commandBuilder("command"));
+
+        this.jda = mock(JDA.class);
+        this.updateAction = mock(CommandListUpdateAction.class);
+        when(this.jda.updateCommands()).thenReturn(this.updateAction);
+        when(this.updateAction.addCommands(any(Collection.class))).thenReturn(this.updateAction);
+        when(this.updateAction.submit()).thenReturn(CompletableFuture.completedFuture(Collections.emptyList()));
+    }
+
+    @Test
+    void testGlobalCommandsAreRegisteredOnce() {
+        // Act
+        this.commandManager.registerGlobalCommandsIfChanged(this.jda).join();
+        this.commandManager.registerGlobalCommandsIfChanged(this.jda).join();
+        this.commandManager.registerGlobalCommandsIfChanged(mock(JDA.class)).join();
+
+        // Assert
+        verify(this.jda, times(1)).updateCommands();
+    }
+
+    @Test
+    void testChangedGlobalCommandsAreRegisteredAgain() {
+        // Arrange
+        this.commandManager.registerGlobalCommandsIfChanged(this.jda).join();
+        this.commandManager.command(this.commandManager.commandBuilder("other"));
+
+        // Act
+        this.commandManager.registerGlobalCommandsIfChanged(this.jda).join();
+
+        // Assert
+        verify(this.jda, times(2)).updateCommands();
+    }
+
+    @Test
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    void testFailedRegistrationIsRetried() {
+        // Arrange
+        final CompletableFuture<Object> failed = new CompletableFuture<>();
+        failed.completeExceptionally(new RuntimeException());
+        when(this.updateAction.submit()).thenReturn((CompletableFuture) failed)
+                .thenReturn(CompletableFuture.completedFuture(Collections.emptyList()));
+        this.commandManager.registerGlobalCommandsIfChanged(this.jda).exceptionally(throwable -> null).join();
+
+        // Act
+        this.commandManager.registerGlobalCommandsIfChanged(this.jda).join();
+
+        // Assert
+        verify(this.jda, times(2)).updateCommands();
+    }
+}
@@ -115,4 +115,21 @@ class StandardJDACommandFactoryTest {
         assertThat(fooOptions.get(1).isRequired()).isFalse();
         assertThat(fooOptions.get(1).isAutoComplete()).isFalse();
     }
+
+    @Test
+    void testPayloadIsSharedBetweenGuilds() {
+        // Arrange
+        this.commandManager.command(this.commandManager.commandBuilder("command").apply(CommandScope.guilds()));
+
+        // Act
+        final Collection<CommandData> first = this.commandFactory.createCommands(CommandScope.guilds(-1, 1));
+        final Collection<CommandData> second = this.commandFactory.createCommands(CommandScope.guilds(-1, 2));
+        this.commandManager.command(this.commandManager.commandBuilder("other").apply(CommandScope.guilds()));
+        final Collection<CommandData> third = this.commandFactory.createCommands(CommandScope.guilds(-1, 1));
+
+        // Assert
+        assertThat(second).isSameInstanceAs(first);
+        assertThat(third).isNotSameInstanceAs(first);
+        assertThat(third).hasSize(2);
+    }
 }
@@ -43,7 +43,7 @@ public interface KordCommandFactory<C> {
     public var commandScopePredicate: CommandScopePredicate<C>
 
     /**
-     * Creates the commands for the given [guild].
+     * Creates the commands for the given [guild], overwriting the existing commands in a single request.
      */
     public suspend fun createGuildCommands(guild: Guild)
 
@@ -53,7 +53,7 @@ public interface KordCommandFactory<C> {
     public suspend fun deleteGuildCommands(guild: Guild)
 
     /**
-     * Creates global commands using the given [kord] instance.
+     * Creates global commands using the given [kord] instance, overwriting the existing commands in a single request.
      */
     public suspend fun createGlobalCommands(kord: Kord)
 
@@ -61,4 +61,22 @@ public interface KordCommandFactory<C> {
      * Deletes global commands from the given [kord] instance.
      */
     public suspend fun deleteGlobalCommands(kord: Kord)
+
+    /**
+     * Overwrites the commands of the given [guild] if they differ from the generated commands.
+     *
+     * The default implementation always overwrites the commands.
+     */
+    public suspend fun synchronizeGuildCommands(guild: Guild) {
+        createGuildCommands(guild)
+    }
+
+    /**
+     * Overwrites the global commands of the given [kord] instance if they differ from the generated commands.
+     *
+     * The default implementation always overwrites the commands.
+     */
+    public suspend fun synchronizeGlobalCommands(kord: Kord) {
+        createGlobalCommands(kord)
+    }
 }
@@ -27,11 +27,20 @@ import dev.kord.core.Kord
 import dev.kord.core.entity.Member
 import dev.kord.core.entity.User
 import dev.kord.core.entity.interaction.GuildInteraction
-import kotlinx.coroutines.runBlocking
+import kotlinx.coroutines.CancellationException
+import kotlinx.coroutines.launch
 import org.apiguardian.api.API
 import org.incendo.cloud.CommandManager
+import org.incendo.cloud.discord.metrics.CommandTimings
+import org.incendo.cloud.discord.metrics.DiscordMetrics
+import org.incendo.cloud.discord.ratelimit.RateLimitExceededHandler
+import org.incendo.cloud.discord.ratelimit.RateLimiter
+import org.incendo.cloud.discord.slash.DiscordSetting
+import org.incendo.cloud.discord.slash.ListenableRegistrationHandler
+import org.incendo.cloud.discord.slash.NodeProcessor
+import org.incendo.cloud.discord.slash.RegistrationScheduler
+import org.incendo.cloud.exception.handling.ExceptionContext
 import org.incendo.cloud.execution.ExecutionCoordinator
-import org.incendo.cloud.internal.CommandRegistrationHandler
 import org.incendo.cloud.key.CloudKey
 import org.incendo.cloud.setting.Configurable
 import org.slf4j.Logger
@@ -49,12 +58,14 @@ public class KordCommandManager<C : Any>(
     public val senderMapper: (KordInteraction) -> C
 ) : CommandManager<C>(
     executionCoordinator,
-    CommandRegistrationHandler.nullCommandRegistrationHandler()
+    ListenableRegistrationHandler()
 ) {
 
     public companion object {
         private val LOGGER: Logger = LoggerFactory.getLogger(KordCommandManager::class.java)
 
+        internal const val METRICS_PLATFORM: String = "kord"
+
         /**
          * Stores the interaction. This should be accessed using [cloud.commandframework.context.CommandContext.interaction].
          */
@@ -69,10 +80,51 @@ public class KordCommandManager<C : Any>(
      */
     public val kordSettings: Configurable<KordSetting> = Configurable.enumConfigurable(KordSetting::class.java)
 
+    /**
+     * Discord settings that are shared with the other platforms. [DiscordSetting.DIFF_SLASH_COMMANDS] replaces
+     * deleting every command before registering the commands again.
+     */
+    public val discordSettings: Configurable<DiscordSetting> = Configurable.enumConfigurable(DiscordSetting::class.java)
+
     /**
      * Factory that creates Kord commands from Cloud commands.
      */
-    public var commandFactory: KordCommandFactory<C> = StandardKordCommandFactory<C>(this.commandTree())
+    public var commandFactory: KordCommandFactory<C> = StandardKordCommandFactory<C>(
+        this.commandTree(),
+        nodeProcessor = NodeProcessor(this)
+    )
+
+    /**
+     * Scheduler that paces the automatic registration of slash commands.
+     *
+     * Every manager has its own scheduler. The default scheduler runs on the daemon thread that is shared by all
+     * default schedulers, so it does not have to be shut down.
+     */
+    public var registrationScheduler: RegistrationScheduler = RegistrationScheduler.create()
+
+    /**
+     * Metrics that the command manager records to. Measurements are tagged with the `kord` platform.
+     */
+    public var metrics: DiscordMetrics = DiscordMetrics.noop()
+
+    /**
+     * Rate limiter that enforces the rate limits of the commands.
+     */
+    public val rateLimiter: RateLimiter<C> = RateLimiter.create(
+        { context -> context.interaction.interactionEvent.interaction.user.id.value.toLong() },
+        { context -> (context.interaction.interactionEvent.interaction as? GuildInteraction)?.guildId?.value?.toLong() ?: 0L },
+        { context, _, retryAfter ->
+            val interaction = context.interaction
+            // Only command interactions can be responded to with a message.
+            if (interaction.commandEvent != null) {
+                launchResponse(interaction) {
+                    interaction.respondEphemeral {
+                        content = RateLimitExceededHandler.defaultMessage(retryAfter)
+                    }
+                }
+            }
+        }
+    )
 
     /**
      * Predicate used to evaluate sender permissions.
@@ -106,6 +158,8 @@ public class KordCommandManager<C : Any>(
         }
 
         registerDefaultExceptionHandlers()
+        CommandTimings.install(this)
+        rateLimiter.install(this)
     }
 
     /**
@@ -117,12 +171,52 @@ public class KordCommandManager<C : Any>(
 
     override fun hasPermission(sender: C, permission: String): Boolean = permissionPredicate(sender, permission)
 
+    /**
+     * Registers an exception handler for exceptions of type [T] that may suspend.
+     *
+     * The [handler] is launched in the scope of the Kord instance that received the interaction, so the thread that
+     * executes the command is not blocked while the handler responds to the interaction. Exceptions thrown by the
+     * [handler] are logged.
+     */
+    public inline fun <reified T : Throwable> registerSuspendingExceptionHandler(
+        noinline handler: suspend (ExceptionContext<C, T>) -> Unit
+    ) {
+        exceptionController().registerHandler(T::class.java) { context ->
+            launchResponse(context.context().interaction) {
+                handler(context)
+            }
+        }
+    }
+
+    /**
+     * Launches the [response] in the scope of the Kord instance that received the [interaction], logging the exceptions
+     * that it throws.
+     */
+    @PublishedApi
+    internal fun launchResponse(interaction: KordInteraction, response: suspend () -> Unit) {
+        interaction.interactionEvent.kord.launch {
+            try {
+                response()
+            } catch (exception: CancellationException) {
+                throw exception
+            } catch (exception: Exception) {
+                LOGGER.error("Failed to respond to the interaction", exception)
+            }
+        }
+    }
+
     private fun registerDefaultExceptionHandlers() {
         registerDefaultExceptionHandlers(
             {
-                runBlocking {
-                    it.first().interaction.respondEphemeral {
-                        content = it.first().formatCaption(it.second(), it.third())
+                val context = it.first()
+                // Only command interactions can be responded to with a message.
+                val commandEvent = context.interaction.commandEvent
+                if (commandEvent != null) {
+                    val message = context.formatCaption(it.second(), it.third())
+                    launchResponse(context.interaction) {
+                        commandEvent.interaction.respondEphemeral {
+                            content = message
+                        }
                     }
                 }
             },
@@ -0,0 +1,107 @@
+//
+// MIT License
+//
+// Copyright (c) 2024 Incendo
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+// SOFTWARE.
+//
+package org.incendo.cloud.discord.kord
+
+import dev.kord.common.entity.ApplicationCommandOption
+import dev.kord.common.entity.ApplicationCommandType
+import dev.kord.common.entity.DiscordApplicationCommand
+import dev.kord.common.entity.Permissions
+import dev.kord.common.entity.optional.Optional
+import dev.kord.common.entity.optional.OptionalBoolean
+import dev.kord.rest.json.request.ApplicationCommandCreateRequest
+import org.apiguardian.api.API
+
+/**
+ * Compares the commands that are registered to Discord with generated commands.
+ *
+ * Discord omits default values and may return numbers in a different representation than they were sent in,
+ * so both sides are reduced to the properties that cloud generates before they are compared.
+ */
+@API(status = API.Status.INTERNAL, since = "1.0.0")
+internal object KordCommandSynchronizer {
+
+    /**
+     * Returns whether the [registered] commands are equivalent to the [generated] commands.
+     */
+    fun matches(registered: List<DiscordApplicationCommand>, generated: List<ApplicationCommandCreateRequest>): Boolean =
+        registered.map { it.shape() }.toSet() == generated.map { it.shape() }.toSet()
+
+    private fun DiscordApplicationCommand.shape(): CommandShape = CommandShape(
+        name = name,
+        type = type.unwrap<ApplicationCommandType>()?.value,
+        description = description.unwrap<String>().orEmpty(),
+        options = options.value.orEmpty().map { it.shape() },
+        defaultMemberPermissions = defaultMemberPermissions.unwrap()
+    )
+
+    private fun ApplicationCommandCreateRequest.shape(): CommandShape = CommandShape(
+        name = name,
+        type = type.unwrap<ApplicationCommandType>()?.value,
+        description = description.unwrap<String>().orEmpty(),
+        options = options.value.orEmpty().map { it.shape() },
+        defaultMemberPermissions = defaultMemberPermissions.unwrap()
+    )
+
+    private fun ApplicationCommandOption.shape(): OptionShape = OptionShape(
+        type = type.type,
+        name = name,
+        description = description,
+        required = required.orFalse(),
+        autocomplete = autocomplete.orFalse(),
+        choices = choices.value.orEmpty().map { it.name to normalize(it.value.toString()) },
+        channelTypes = channelTypes.value.orEmpty().map { it.value }.toSet(),
+        minValue = minValue.value?.let { normalize(it.toString()) },
+        maxValue = maxValue.value?.let { normalize(it.toString()) },
+        options = options.value.orEmpty().map { it.shape() }
+    )
+
+    private fun OptionalBoolean.orFalse(): Boolean = (this as? OptionalBoolean.Value)?.value ?: false
+
+    @Suppress("UNCHECKED_CAST")
+    private fun <T> Any?.unwrap(): T? = if (this is Optional<*>) value as T? else this as T?
+
+    private fun normalize(number: String): String =
+        number.toBigDecimalOrNull()?.stripTrailingZeros()?.toPlainString() ?: number
+
+    private data class CommandShape(
+        val name: String,
+        val type: Int?,
+        val description: String,
+        val options: List<OptionShape>,
+        val defaultMemberPermissions: Permissions?
+    )
+
+    private data class OptionShape(
+        val type: Int,
+        val name: String,
+        val description: String,
+        val required: Boolean,
+        val autocomplete: Boolean,
+        val choices: List<Pair<String, String>>,
+        val channelTypes: Set<Int>,
+        val minValue: String?,
+        val maxValue: String?,
+        val options: List<OptionShape>
+    )
+}
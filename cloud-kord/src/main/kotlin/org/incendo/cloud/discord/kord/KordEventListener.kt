@@ -29,6 +29,7 @@ import dev.kord.core.behavior.interaction.suggestInteger
 import dev.kord.core.behavior.interaction.suggestNumber
 import dev.kord.core.behavior.interaction.suggestString
 import dev.kord.core.entity.interaction.GroupCommand
+import dev.kord.core.entity.interaction.GuildInteraction
 import dev.kord.core.entity.interaction.IntegerOptionValue
 import dev.kord.core.entity.interaction.InteractionCommand
 import dev.kord.core.entity.interaction.NumberOptionValue
@@ -38,12 +39,20 @@ import dev.kord.core.event.gateway.ReadyEvent
 import dev.kord.core.event.guild.GuildCreateEvent
 import dev.kord.core.event.interaction.AutoCompleteInteractionCreateEvent
 import dev.kord.core.event.interaction.ChatInputCommandInteractionCreateEvent
+import dev.kord.core.event.interaction.InteractionCreateEvent
 import dev.kord.core.on
 import kotlinx.coroutines.future.await
+import kotlinx.coroutines.future.future
 import org.apiguardian.api.API
 import org.incendo.cloud.context.CommandContextFactory
 import org.incendo.cloud.context.StandardCommandContextFactory
-import org.incendo.cloud.util.StringUtils
+import org.incendo.cloud.discord.execution.FairExecutionCoordinator
+import org.incendo.cloud.discord.metrics.CommandTimings
+import org.incendo.cloud.discord.metrics.DiscordMetrics
+import org.incendo.cloud.discord.metrics.DiscordTimer
+import org.incendo.cloud.discord.slash.DiscordSetting
+import org.incendo.cloud.discord.slash.DiscordSuggestions
+import org.incendo.cloud.discord.slash.RegistrationScheduler
 
 /**
  * Kord event listener which handles command registration, execution and autocompletion.
@@ -72,25 +81,65 @@ internal class KordEventListener<C : Any>(private val commandManager: KordComman
     }
 
     private suspend fun ReadyEvent.listen() {
-        if (commandManager.kordSettings[KordSetting.CLEAR_EXISTING]) {
-            commandManager.commandFactory.deleteGlobalCommands(kord)
-        }
-        if (commandManager.kordSettings[KordSetting.AUTO_REGISTER_GLOBAL]) {
-            commandManager.commandFactory.createGlobalCommands(kord)
+        val synchronize = commandManager.discordSettings[DiscordSetting.DIFF_SLASH_COMMANDS]
+        val clearExisting = !synchronize && commandManager.kordSettings[KordSetting.CLEAR_EXISTING]
+        val register = commandManager.kordSettings[KordSetting.AUTO_REGISTER_GLOBAL]
+        if (!clearExisting && !register) {
+            return
         }
+
+        commandManager.registrationScheduler.schedule(RegistrationScheduler.GLOBAL_KEY) {
+            commandManager.metrics.time(
+                DiscordTimer.REGISTRATION,
+                KordCommandManager.METRICS_PLATFORM,
+                DiscordMetrics.ALL_COMMANDS
+            ) {
+                kord.future {
+                    if (clearExisting) {
+                        commandManager.commandFactory.deleteGlobalCommands(kord)
+                    }
+                    if (register && synchronize) {
+                        commandManager.commandFactory.synchronizeGlobalCommands(kord)
+                    } else if (register) {
+                        commandManager.commandFactory.createGlobalCommands(kord)
+                    }
+                }
+            }
+        }.await()
     }
 
     private suspend fun GuildCreateEvent.listen() {
-        if (commandManager.kordSettings[KordSetting.CLEAR_EXISTING]) {
-            commandManager.commandFactory.deleteGuildCommands(guild)
-        }
-        if (commandManager.kordSettings[KordSetting.AUTO_REGISTER_GUILD]) {
-            commandManager.commandFactory.createGuildCommands(guild)
+        val synchronize = commandManager.discordSettings[DiscordSetting.DIFF_SLASH_COMMANDS]
+        val clearExisting = !synchronize && commandManager.kordSettings[KordSetting.CLEAR_EXISTING]
+        val register = commandManager.kordSettings[KordSetting.AUTO_REGISTER_GUILD]
+        if (!clearExisting && !register) {
+            return
         }
+
+        val guild = guild
+        commandManager.registrationScheduler.schedule(guild.id.value.toLong()) {
+            commandManager.metrics.time(
+                DiscordTimer.REGISTRATION,
+                KordCommandManager.METRICS_PLATFORM,
+                DiscordMetrics.ALL_COMMANDS
+            ) {
+                kord.future {
+                    if (clearExisting) {
+                        commandManager.commandFactory.deleteGuildCommands(guild)
+                    }
+                    if (register && synchronize) {
+                        commandManager.commandFactory.synchronizeGuildCommands(guild)
+                    } else if (register) {
+                        commandManager.commandFactory.createGuildCommands(guild)
+                    }
+                }
+            }
+        }.await()
     }
 
     private suspend fun ChatInputCommandInteractionCreateEvent.listen() {
         val command = interaction.command
+        val timings = CommandTimings.start(commandManager.metrics, KordCommandManager.METRICS_PLATFORM, command.rootName)
         val fullCommand = command.buildCommand()
 
         val kordInteraction = KordInteraction(command, this)
@@ -99,13 +148,21 @@ internal class KordEventListener<C : Any>(private val commandManager: KordComman
             commandManager.commandExecutor().executeCommand(
                 commandManager.senderMapper(kordInteraction),
                 fullCommand,
-            ) { context -> context[KordCommandManager.CONTEXT_INTERACTION] = kordInteraction }.await()
+            ) { context ->
+                context[KordCommandManager.CONTEXT_INTERACTION] = kordInteraction
+                context[FairExecutionCoordinator.CONTEXT_QUEUE_KEY] = queueKey()
+                timings.attach(context)
+            }.await()
         } catch (_: Exception) {
             // Exceptions are handled by the exception controller.
+        } finally {
+            timings.completed()
         }
     }
 
     private suspend fun AutoCompleteInteractionCreateEvent.listen() {
+        val metrics = commandManager.metrics
+        val receivedAt = metrics.startTimer()
         val command = interaction.command
 
         var fullCommand = command.buildCommand()
@@ -120,31 +177,21 @@ internal class KordEventListener<C : Any>(private val commandManager: KordComman
             commandManager.senderMapper(kordInteraction)
         )
         commandContext[KordCommandManager.CONTEXT_INTERACTION] = kordInteraction
+        commandContext[FairExecutionCoordinator.CONTEXT_QUEUE_KEY] = queueKey()
 
         val type = command.options.values.first(OptionValue<*>::focused)
 
-        val suggestions = commandManager.suggestionFactory().suggest(commandContext, fullCommand).await().let { suggestions ->
-            suggestions.list()
-                .asSequence()
-                .map { suggestion ->
-                    if (" " in suggestion.suggestion()) {
-                        suggestion.withSuggestion(
-                            StringUtils.trimBeforeLastSpace(
-                                suggestion.suggestion(),
-                                suggestions.commandInput()
-                            )!!
-                        )
-                    } else {
-                        suggestion
-                    }
-                }.filterNot { it.suggestion().isEmpty() }
-        }
+        val suggestions = DiscordSuggestions.values(
+            commandManager.suggestionFactory().suggest(commandContext, fullCommand).await()
+        )
+        metrics.recordSince(DiscordTimer.AUTOCOMPLETE, KordCommandManager.METRICS_PLATFORM, command.rootName, receivedAt)
 
+        val repliedAt = metrics.startTimer()
         when (type) {
             is IntegerOptionValue -> {
                 interaction.suggestInteger {
                     suggestions.forEach {
-                        choice(it.suggestion(), it.suggestion().toLong()) {
+                        choice(it, it.toLong()) {
                         }
                     }
                 }
@@ -152,7 +199,7 @@ internal class KordEventListener<C : Any>(private val commandManager: KordComman
             is NumberOptionValue -> {
                 interaction.suggestNumber {
                     suggestions.forEach {
-                        choice(it.suggestion(), it.suggestion().toDouble()) {
+                        choice(it, it.toDouble()) {
                         }
                     }
                 }
@@ -160,12 +207,18 @@ internal class KordEventListener<C : Any>(private val commandManager: KordComman
             else -> {
                 interaction.suggestString {
                     suggestions.forEach {
-                        choice(it.suggestion(), it.suggestion()) {
+                        choice(it, it) {
                         }
                     }
                 }
             }
         }
+        metrics.recordSince(DiscordTimer.ACKNOWLEDGEMENT, KordCommandManager.METRICS_PLATFORM, command.rootName, repliedAt)
+    }
+
+    private fun InteractionCreateEvent.queueKey(): Long = when (val interaction = interaction) {
+        is GuildInteraction -> interaction.guildId.value.toLong()
+        else -> interaction.user.id.value.toLong()
     }
 
     private fun InteractionCommand.buildCommand(): String = buildString {
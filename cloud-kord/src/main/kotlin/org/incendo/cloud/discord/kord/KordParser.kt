@@ -29,8 +29,6 @@ import dev.kord.core.entity.Role
 import dev.kord.core.entity.User
 import dev.kord.core.entity.channel.Channel
 import dev.kord.core.entity.interaction.InteractionCommand
-import kotlinx.coroutines.GlobalScope
-import kotlinx.coroutines.future.future
 import org.apiguardian.api.API
 import org.incendo.cloud.context.CommandContext
 import org.incendo.cloud.context.CommandInput
@@ -42,16 +40,15 @@ import java.util.concurrent.CompletableFuture
 /**
  * A parser which wraps a Kord option value.
  *
+ * Option values are already resolved on the [InteractionCommand], so they are extracted synchronously.
+ *
  * @param C command sender type
  * @param T kord type
  * @since 1.0.0
  */
 @API(status = API.Status.STABLE, since = "1.0.0")
 public data class KordParser<C : Any, T : Any> internal constructor(
-    private val extract: suspend (
-        name: String,
-        command: InteractionCommand
-    ) -> ArgumentParseResult<T>?
+    private val extract: (name: String, command: InteractionCommand) -> ArgumentParseResult<T>?
 ) : NullableParser<C, T>() {
 
     public companion object {
@@ -100,14 +97,13 @@ public data class KordParser<C : Any, T : Any> internal constructor(
             createParser<C, Attachment> { name, command -> command.attachments[name]?.let { ArgumentParseResult.success(it) } }
 
         private inline fun <C : Any, reified T : Any> createParser(
-            noinline extract: suspend (name: String, command: InteractionCommand) -> ArgumentParseResult<T>?
+            noinline extract: (name: String, command: InteractionCommand) -> ArgumentParseResult<T>?
         ): ParserDescriptor<C, T> = ParserDescriptor.of(KordParser(extract), T::class.java)
     }
 
     override fun parseNullable(
         commandContext: CommandContext<C>,
         commandInput: CommandInput
-    ): CompletableFuture<ArgumentParseResult<T>?> = GlobalScope.future {
-        extract(commandInput.readString(), commandContext.interaction.command)
-    }
+    ): CompletableFuture<ArgumentParseResult<T>?> =
+        CompletableFuture.completedFuture(extract(commandInput.readString(), commandContext.interaction.command))
 }
@@ -43,6 +43,8 @@ public enum class KordSetting : Setting {
 
     /**
      * Whether existing commands should be cleared. Defaults to `true`.
+     *
+     * This is ignored if [org.incendo.cloud.discord.slash.DiscordSetting.DIFF_SLASH_COMMANDS] is enabled.
      */
     CLEAR_EXISTING
 }
@@ -24,6 +24,7 @@
 package org.incendo.cloud.discord.kord
 
 import dev.kord.common.DiscordBitSet
+import dev.kord.common.entity.Permissions
 import dev.kord.common.entity.Permissions.Builder
 import dev.kord.core.Kord
 import dev.kord.core.behavior.createApplicationCommands
@@ -31,6 +32,8 @@ import dev.kord.core.entity.Guild
 import dev.kord.rest.builder.interaction.BaseChoiceBuilder
 import dev.kord.rest.builder.interaction.BaseInputChatBuilder
 import dev.kord.rest.builder.interaction.ChatInputCreateBuilder
+import dev.kord.rest.builder.interaction.GlobalMultiApplicationCommandBuilder
+import dev.kord.rest.builder.interaction.GuildMultiApplicationCommandBuilder
 import dev.kord.rest.builder.interaction.MultiApplicationCommandBuilder
 import dev.kord.rest.builder.interaction.NumericOptionBuilder
 import dev.kord.rest.builder.interaction.OptionsBuilder
@@ -49,6 +52,7 @@ import dev.kord.rest.builder.interaction.subCommand
 import dev.kord.rest.builder.interaction.user
 import org.apiguardian.api.API
 import org.incendo.cloud.CommandTree
+import org.incendo.cloud.discord.slash.CommandPayloadCache
 import org.incendo.cloud.discord.slash.CommandScope
 import org.incendo.cloud.discord.slash.CommandScopePredicate
 import org.incendo.cloud.discord.slash.DiscordCommand
@@ -68,11 +72,19 @@ import org.incendo.cloud.internal.CommandNode
 internal class StandardKordCommandFactory<C : Any>(
     private val commandTree: CommandTree<C>,
     private val optionRegistry: OptionRegistry<C> = StandardOptionRegistry(),
-    private val discordCommandFactory: DiscordCommandFactory<C> = StandardDiscordCommandFactory(optionRegistry),
     private val nodeProcessor: NodeProcessor<C> = NodeProcessor(commandTree),
-    override var commandScopePredicate: CommandScopePredicate<C> = CommandScopePredicate.alwaysTrue()
+    private val discordCommandFactory: DiscordCommandFactory<C> = StandardDiscordCommandFactory(optionRegistry, nodeProcessor),
+    commandScopePredicate: CommandScopePredicate<C> = CommandScopePredicate.alwaysTrue()
 ) : KordCommandFactory<C> {
 
+    private val payloadCache = CommandPayloadCache<C, List<CompiledCommand<C>>>(nodeProcessor, discordCommandFactory::revision)
+
+    override var commandScopePredicate: CommandScopePredicate<C> = commandScopePredicate
+        set(value) {
+            field = value
+            payloadCache.invalidate()
+        }
+
     init {
         optionRegistry
             .registerMapping(KordOptionType.USER, KordParser.userParser())
@@ -106,38 +118,56 @@ internal class StandardKordCommandFactory<C : Any>(
         }
     }
 
+    override suspend fun synchronizeGuildCommands(guild: Guild) {
+        val generated = GuildMultiApplicationCommandBuilder()
+            .apply { createCommands(CommandScope.guilds(-1, guild.id.value.toLong())) }
+            .commands.map { it.toRequest() }
+        val registered = guild.kord.rest.interaction.getGuildApplicationCommands(guild.kord.resources.applicationId, guild.id)
+        if (!KordCommandSynchronizer.matches(registered, generated)) {
+            createGuildCommands(guild)
+        }
+    }
+
+    override suspend fun synchronizeGlobalCommands(kord: Kord) {
+        val generated = GlobalMultiApplicationCommandBuilder()
+            .apply { createCommands(CommandScope.global()) }
+            .commands.map { it.toRequest() }
+        val registered = kord.rest.interaction.getGlobalApplicationCommands(kord.resources.applicationId)
+        if (!KordCommandSynchronizer.matches(registered, generated)) {
+            createGlobalCommands(kord)
+        }
+    }
+
     private fun MultiApplicationCommandBuilder.createCommands(scope: CommandScope<C>) {
         nodeProcessor.prepareTree()
 
-        commandTree.rootNodes().forEach { rootNode ->
-            val rootScope = rootNode.nodeMeta().get(NodeProcessor.NODE_META_SCOPE) as CommandScope<C>
-            if (!rootScope.overlaps(scope)) {
-                return@forEach
-            }
-
-            if (!commandScopePredicate.test(rootNode, scope)) {
-                return@forEach
-            }
+        val rootNodes = nodeProcessor.rootNodes(scope).filter { rootNode -> commandScopePredicate.test(rootNode, scope) }
 
-            val discordCommand = discordCommandFactory.create(rootNode)
+        // Guilds that see the same root nodes share the same compiled commands.
+        payloadCache.payload(rootNodes) { nodes -> nodes.map(::compileCommand) }.forEach { compiledCommand ->
+            val discordCommand = compiledCommand.discordCommand
             input(discordCommand.name(), discordCommand.description()) {
                 createCommand(discordCommand)
-
-                // It's the best we've got
-                val accessMap = rootNode.nodeMeta().getOrNull(CommandNode.META_KEY_ACCESS)
-                val senderType = rootNode.command().senderType().map { v -> v.type }.orElse(null)
-
-                accessMap?.get(senderType)
-                    ?.let { it as? DiscordPermission }
-                    ?.permissionString()
-                    ?.let { DiscordBitSet(it) }
-                    ?.let(::Builder)
-                    ?.let(Builder::build)
-                    ?.apply(this@input::defaultMemberPermissions::set)
+                compiledCommand.defaultMemberPermissions?.let { defaultMemberPermissions = it }
             }
         }
     }
 
+    private fun compileCommand(rootNode: CommandNode<C>): CompiledCommand<C> {
+        // It's the best we've got
+        val accessMap = rootNode.nodeMeta().getOrNull(CommandNode.META_KEY_ACCESS)
+        val senderType = rootNode.command().senderType().map { v -> v.type }.orElse(null)
+
+        val defaultMemberPermissions = accessMap?.get(senderType)
+            ?.let { it as? DiscordPermission }
+            ?.permissionString()
+            ?.let { DiscordBitSet(it) }
+            ?.let(::Builder)
+            ?.let(Builder::build)
+
+        return CompiledCommand(discordCommandFactory.create(rootNode), defaultMemberPermissions)
+    }
+
     private fun ChatInputCreateBuilder.createCommand(discordCommand: DiscordCommand<C>) {
         discordCommand.options().forEach { option ->
             createOption(option)
@@ -254,3 +284,8 @@ internal class StandardKordCommandFactory<C : Any>(
         required = variable.required()
     }
 }
+
+private class CompiledCommand<C>(
+    val discordCommand: DiscordCommand<C>,
+    val defaultMemberPermissions: Permissions?
+)
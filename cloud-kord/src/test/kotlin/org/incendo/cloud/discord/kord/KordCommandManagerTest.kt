@@ -0,0 +1,93 @@
+//
+// MIT License
+//
+// Copyright (c) 2024 Incendo
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+// SOFTWARE.
+//
+package org.incendo.cloud.discord.kord
+
+import com.google.common.truth.Truth.assertThat
+import dev.kord.core.Kord
+import dev.kord.core.event.interaction.InteractionCreateEvent
+import kotlinx.coroutines.CoroutineExceptionHandler
+import kotlinx.coroutines.Dispatchers
+import org.incendo.cloud.context.CommandContext
+import org.incendo.cloud.exception.handling.ExceptionContext
+import org.incendo.cloud.execution.ExecutionCoordinator
+import org.junit.jupiter.api.BeforeEach
+import org.junit.jupiter.api.Test
+import org.mockito.kotlin.doReturn
+import org.mockito.kotlin.mock
+
+class KordCommandManagerTest {
+
+    private lateinit var commandManager: KordCommandManager<KordInteraction>
+    private lateinit var commandContext: CommandContext<KordInteraction>
+    private val uncaught = mutableListOf<Throwable>()
+
+    @BeforeEach
+    fun setup() {
+        val kord = mock<Kord> {
+            on { coroutineContext } doReturn Dispatchers.Unconfined + CoroutineExceptionHandler { _, throwable ->
+                uncaught += throwable
+            }
+        }
+        val event = mock<InteractionCreateEvent> {
+            on { this.kord } doReturn kord
+        }
+        val interaction = mock<KordInteraction> {
+            on { interactionEvent } doReturn event
+        }
+
+        commandManager = KordCommandManager(ExecutionCoordinator.simpleCoordinator()) { it }
+        commandContext = CommandContext(interaction, commandManager)
+        commandContext.store(KordCommandManager.CONTEXT_INTERACTION, interaction)
+    }
+
+    @Test
+    fun testSuspendingExceptionHandlerIsInvoked() {
+        // Arrange
+        val handled = mutableListOf<ExceptionContext<KordInteraction, IllegalStateException>>()
+        commandManager.registerSuspendingExceptionHandler<IllegalStateException> { handled += it }
+        val exception = IllegalStateException("failure")
+
+        // Act
+        commandManager.exceptionController().handleException(commandContext, exception)
+
+        // Assert
+        assertThat(handled).hasSize(1)
+        assertThat(handled[0].exception()).isSameInstanceAs(exception)
+        assertThat(handled[0].context()).isSameInstanceAs(commandContext)
+    }
+
+    @Test
+    fun testSuspendingExceptionHandlerFailuresAreCaught() {
+        // Arrange
+        commandManager.registerSuspendingExceptionHandler<IllegalStateException> {
+            throw IllegalArgumentException("handler failure")
+        }
+
+        // Act
+        commandManager.exceptionController().handleException(commandContext, IllegalStateException("failure"))
+
+        // Assert
+        assertThat(uncaught).isEmpty()
+    }
+}
@@ -0,0 +1,126 @@
+//
+// MIT License
+//
+// Copyright (c) 2024 Incendo
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+// SOFTWARE.
+//
+package org.incendo.cloud.discord.kord
+
+import com.google.common.truth.Truth.assertThat
+import dev.kord.common.entity.DiscordApplicationCommand
+import dev.kord.rest.json.request.ApplicationCommandCreateRequest
+import kotlinx.serialization.json.Json
+import org.junit.jupiter.api.Test
+
+class KordCommandSynchronizerTest {
+
+    private val json = Json { ignoreUnknownKeys = true }
+
+    @Test
+    fun testEquivalentCommandsMatch() {
+        // Arrange
+        val registered = registered(option("""{"type": 4, "name": "value", "description": "Value", "min_value": 1.0}"""))
+        val generated = generated(
+            option("""{"type": 4, "name": "value", "description": "Value", "required": false, "min_value": 1}""")
+        )
+
+        // Act & Assert
+        assertThat(KordCommandSynchronizer.matches(registered, generated)).isTrue()
+    }
+
+    @Test
+    fun testCommandOrderIsIgnored() {
+        // Arrange
+        val registered = registered("") + registered("", name = "other")
+        val generated = generated("", name = "other") + generated("")
+
+        // Act & Assert
+        assertThat(KordCommandSynchronizer.matches(registered, generated)).isTrue()
+    }
+
+    @Test
+    fun testChangedCommandsDoNotMatch() {
+        // Arrange
+        val registered = registered(option("""{"type": 3, "name": "value", "description": "Value"}"""))
+        val generated = generated(option("""{"type": 3, "name": "value", "description": "Other value"}"""))
+
+        // Act & Assert
+        assertThat(KordCommandSynchronizer.matches(registered, generated)).isFalse()
+    }
+
+    @Test
+    fun testChoicesAreCompared() {
+        // Arrange
+        val registered = registered(
+            option("""{"type": 4, "name": "value", "description": "Value", "choices": [{"name": "one", "value": 1}]}""")
+        )
+        val generated = generated(
+            option("""{"type": 4, "name": "value", "description": "Value", "choices": [{"name": "one", "value": 2}]}""")
+        )
+
+        // Act & Assert
+        assertThat(KordCommandSynchronizer.matches(registered, generated)).isFalse()
+    }
+
+    @Test
+    fun testRemovedCommandsDoNotMatch() {
+        // Arrange
+        val registered = registered("") + registered("", name = "other")
+        val generated = generated("")
+
+        // Act & Assert
+        assertThat(KordCommandSynchronizer.matches(registered, generated)).isFalse()
+    }
+
+    private fun option(option: String): String = """"options": [$option],"""
+
+    private fun registered(options: String, name: String = "command"): List<DiscordApplicationCommand> = listOf(
+        json.decodeFromString<DiscordApplicationCommand>(
+            """
+            {
+                "id": "1",
+                "type": 1,
+                "application_id": "2",
+                "name": "$name",
+                "description": "Command description",
+                $options
+                "default_member_permissions": null,
+                "dm_permission": true,
+                "nsfw": false,
+                "version": "3"
+            }
+            """
+        )
+    )
+
+    private fun generated(options: String, name: String = "command"): List<ApplicationCommandCreateRequest> = listOf(
+        json.decodeFromString<ApplicationCommandCreateRequest>(
+            """
+            {
+                "name": "$name",
+                "type": 1,
+                "description": "Command description",
+                $options
+                "default_member_permissions": null
+            }
+            """
+        )
+    )
+}
@@ -38,6 +38,8 @@ include(":cloud-jda")
 include(":cloud-jda5")
 include(":cloud-kord")
 
+include(":cloud-discord-benchmarks")
+
 include("examples/example-discord4j")
 findProject(":examples/example-discord4j")?.name = "example-discord4j"
 include("examples/example-jda5")